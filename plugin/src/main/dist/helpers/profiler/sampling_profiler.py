@@ -0,0 +1,173 @@
+"""Runs a script while a helper thread samples stacks of all its threads at a fixed interval.
+
+Usage: sampling_profiler.py host port interval_ms file [args]
+
+Nothing is installed into the profiled threads, so the overhead is only the time the sampler holds the GIL, which is reported
+back together with the samples. Samples are aggregated and sent over the socket about once a second as tab separated lines:
+
+    F <id> <file> <function> <first line>       a function seen for the first time
+    S <thread> <count> <id>:<line>,...          a stack, outermost frame first, seen count times since the previous batch
+    T <samples> <seconds>                       number of samples taken so far and the time spent taking them
+"""
+
+import os
+import runpy
+import sys
+import threading
+import time
+import traceback
+from socket import AF_INET
+from socket import SOCK_STREAM
+from socket import socket
+
+try:
+    _timer = time.perf_counter
+except AttributeError:
+    _timer = time.time
+
+FLUSH_INTERVAL = 1.0
+
+# frames of these modules start the stacks of the profiled threads, they aren't interesting
+_IGNORED_MODULES = ('sampling_profiler', 'runpy', 'threading')
+
+
+def _is_ignored(filename):
+    if filename.startswith('<frozen '):
+        filename = filename[len('<frozen '):-1]
+    return os.path.splitext(os.path.basename(filename))[0] in _IGNORED_MODULES
+
+
+def _clean(text):
+    return str(text).replace('\t', ' ').replace('\n', ' ')
+
+
+def start_client(host, port):
+    s = socket(AF_INET, SOCK_STREAM)
+    for _ in range(100):
+        try:
+            s.connect((host, port))
+            return s
+        except:
+            time.sleep(0.2)
+    raise IOError("Could not connect to %s: %s" % (host, port))
+
+
+class SamplingProfiler(threading.Thread):
+
+    def __init__(self, sock, interval):
+        threading.Thread.__init__(self, name='Sampling profiler')
+        self.daemon = True
+        self.sock = sock
+        self.interval = interval
+        self.functions = {}
+        self.new_functions = []
+        self.ignored_functions = set()
+        self.stacks = {}
+        self.thread_names = {}
+        self.samples = 0
+        self.sampling_time = 0.0
+        self.lock = threading.Lock()
+        self.stopped = threading.Event()
+
+    def run(self):
+        next_flush = _timer() + FLUSH_INTERVAL
+        while not self.stopped.is_set():
+            started = _timer()
+            self.take_sample()
+            finished = _timer()
+            self.sampling_time += finished - started
+            if finished >= next_flush:
+                self.flush()
+                next_flush = finished + FLUSH_INTERVAL
+            time.sleep(self.interval)
+
+    def take_sample(self):
+        own_ident = threading.current_thread().ident
+        frames = sys._current_frames()
+        with self.lock:
+            for ident, frame in frames.items():
+                if ident == own_ident:
+                    continue
+                stack = []
+                while frame is not None:
+                    code = frame.f_code
+                    function_id = self.functions.get(code)
+                    if function_id is None:
+                        function_id = self.functions[code] = len(self.functions)
+                        self.new_functions.append((function_id, code))
+                        if _is_ignored(code.co_filename):
+                            self.ignored_functions.add(function_id)
+                    stack.append((function_id, frame.f_lineno))
+                    frame = frame.f_back
+                stack.reverse()
+                start = 0
+                while start < len(stack) - 1 and stack[start][0] in self.ignored_functions:
+                    start += 1
+                key = (self.thread_name(ident), tuple(stack[start:]))
+                self.stacks[key] = self.stacks.get(key, 0) + 1
+            self.samples += 1
+
+    def thread_name(self, ident):
+        name = self.thread_names.get(ident)
+        if name is None:
+            for thread in threading.enumerate():
+                self.thread_names[thread.ident] = _clean(thread.name)
+            name = self.thread_names.setdefault(ident, 'Thread-%s' % ident)
+        return name
+
+    def flush(self):
+        with self.lock:
+            functions, self.new_functions = self.new_functions, []
+            stacks, self.stacks = self.stacks, {}
+            samples, sampling_time = self.samples, self.sampling_time
+        lines = []
+        for function_id, code in functions:
+            lines.append('F\t%d\t%s\t%s\t%d' % (function_id, _clean(code.co_filename), _clean(code.co_name), code.co_firstlineno))
+        for (thread_name, stack), count in stacks.items():
+            frames = ','.join('%d:%d' % frame for frame in stack)
+            lines.append('S\t%s\t%d\t%s' % (thread_name, count, frames))
+        lines.append('T\t%d\t%f' % (samples, sampling_time))
+        text = '\n'.join(lines) + '\n'
+        if not isinstance(text, bytes):
+            text = text.encode('utf-8')
+        try:
+            self.sock.sendall(text)
+        except:
+            # the IDE went away, keep running the script without profiling it
+            self.stopped.set()
+
+    def stop(self):
+        self.stopped.set()
+        if self.is_alive():
+            self.join()
+        self.flush()
+        try:
+            self.sock.close()
+        except:
+            pass
+
+
+def run_script(args):
+    sys.argv = args
+    sys.path.insert(0, os.path.split(args[0])[0])
+    runpy.run_path(args[0], run_name='__main__')
+
+
+if __name__ == '__main__':
+    host = sys.argv[1]
+    port = int(sys.argv[2])
+    interval = int(sys.argv[3]) / 1000.0
+    args = sys.argv[4:]
+
+    try:
+        sock = start_client(host, port)
+    except:
+        traceback.print_exc()
+        sys.exit(1)
+
+    profiler = SamplingProfiler(sock, interval)
+    profiler.start()
+    try:
+        run_script(args)
+    finally:
+        profiler.stop()
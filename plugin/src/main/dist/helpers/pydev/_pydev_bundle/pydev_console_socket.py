@@ -0,0 +1,189 @@
+'''
+Persistent socket channel between the console and the IDE, used instead of the two XML-RPC servers when the console
+is started with the --socket option.
+
+Every message is a 4-byte big-endian length followed by a UTF-8 encoded JSON object:
+
+    {"id": 1, "method": "getFrame", "args": []}     request, the peer answers with a response carrying the same id
+    {"id": 1, "result": "<xml>...</xml>"}            response
+    {"id": 1, "error": "message"}                    failed request
+    {"method": "VariablesChanged", "args": []}       notification, no response expected
+
+Both sides may send requests at any time and may have several requests in flight, responses can come in any order.
+The console keeps listening after the IDE disconnects, so the IDE can connect again; calls in flight then fail.
+'''
+import json
+import struct
+import sys
+import traceback
+
+from _pydev_imps._pydev_saved_modules import socket, threading, thread
+
+_HEADER = struct.Struct('>I')
+
+
+class _PendingCall:
+    def __init__(self):
+        self.event = threading.Event()
+        self.result = None
+        self.error = None
+
+
+class ConsoleSocketChannel:
+    '''
+        Serves requests of the IDE with the functions registered in the channel and lets the console call the IDE back:
+        channel.RequestInput() blocks until the IDE answers, channel.notify('VariablesChanged') returns immediately.
+    '''
+
+    def __init__(self, server_socket):
+        self._server_socket = server_socket
+        self._socket = None
+        self._functions = {}
+        self._write_lock = threading.Lock()
+        self._pending_lock = threading.Lock()
+        self._pending = {}
+        self._next_id = 0
+
+    def accept(self):
+        '''
+            Waits for the IDE to connect, the new connection replaces the one that was dropped.
+        '''
+        sock, _ = self._server_socket.accept()
+        sock.setsockopt(socket.IPPROTO_TCP, socket.TCP_NODELAY, 1)
+        with self._write_lock:
+            self._socket = sock
+
+    def register_function(self, function, name=None):
+        self._functions[name or function.__name__] = function
+
+    def notify(self, method, *args):
+        self._send({'method': method, 'args': list(args)})
+
+    def call(self, method, *args):
+        pending = _PendingCall()
+        with self._pending_lock:
+            self._next_id += 1
+            call_id = self._next_id
+            self._pending[call_id] = pending
+        try:
+            self._send({'id': call_id, 'method': method, 'args': list(args)})
+        except:
+            with self._pending_lock:
+                self._pending.pop(call_id, None)
+            raise
+        while not pending.event.is_set():
+            pending.event.wait(0.5)
+        if pending.error is not None:
+            raise Exception(pending.error)
+        return pending.result
+
+    def __getattr__(self, name):
+        # Lets the channel be used in place of xmlrpclib.Server: server.NotifyFinished(more)
+        if name.startswith('_'):
+            raise AttributeError(name)
+        return lambda *args: self.call(name, *args)
+
+    def serve_forever(self):
+        try:
+            while True:
+                self._serve_connection(self._socket)
+                self.accept()
+        finally:
+            self._server_socket.close()
+
+    def _serve_connection(self, sock):
+        try:
+            while True:
+                message = self._read_message(sock)
+                if message is None:
+                    break
+                if 'method' in message:
+                    # Requests may block (e.g. execLine waits for the main thread), so the reader never runs them
+                    thread.start_new_thread(self._dispatch, (message,))
+                else:
+                    self._complete(message)
+        except socket.error:
+            pass
+        finally:
+            with self._write_lock:
+                if self._socket is sock:
+                    self._socket = None
+            try:
+                sock.close()
+            except:
+                pass
+            self._fail_pending('Console channel is closed')
+
+    def _dispatch(self, message):
+        call_id = message.get('id')
+        try:
+            function = self._functions[message['method']]
+            response = {'id': call_id, 'result': function(*message.get('args', []))}
+        except:
+            traceback.print_exc()
+            response = {'id': call_id, 'error': str(sys.exc_info()[1])}
+        if call_id is not None:
+            try:
+                self._send(response)
+            except:
+                traceback.print_exc()
+
+    def _complete(self, message):
+        with self._pending_lock:
+            pending = self._pending.pop(message.get('id'), None)
+        if pending is not None:
+            pending.result = message.get('result')
+            pending.error = message.get('error')
+            pending.event.set()
+
+    def _fail_pending(self, error):
+        with self._pending_lock:
+            pending_calls = list(self._pending.values())
+            self._pending.clear()
+        for pending in pending_calls:
+            pending.error = error
+            pending.event.set()
+
+    def _send(self, message):
+        data = json.dumps(message).encode('utf-8')
+        with self._write_lock:
+            if self._socket is None:
+                raise IOError('Console channel is closed')
+            self._socket.sendall(_HEADER.pack(len(data)) + data)
+
+    def _read_exactly(self, sock, size):
+        chunks = []
+        while size > 0:
+            chunk = sock.recv(min(size, 65536))
+            if not chunk:
+                return None
+            chunks.append(chunk)
+            size -= len(chunk)
+        return b''.join(chunks)
+
+    def _read_message(self, sock):
+        header = self._read_exactly(sock, _HEADER.size)
+        if header is None:
+            return None
+        data = self._read_exactly(sock, _HEADER.unpack(header)[0])
+        if data is None:
+            return None
+        return json.loads(data.decode('utf-8'))
+
+
+def accept_channel(host, port):
+    '''
+        Waits for the IDE to connect to the given port and returns the channel for the connection,
+        the channel keeps listening on the port for the IDE to reconnect.
+    '''
+    server_socket = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+    server_socket.setsockopt(socket.SOL_SOCKET, socket.SO_REUSEADDR, 1)
+    server_socket.bind((host, port))
+    server_socket.listen(1)
+    channel = ConsoleSocketChannel(server_socket)
+    try:
+        channel.accept()
+    except:
+        server_socket.close()
+        raise
+    return channel
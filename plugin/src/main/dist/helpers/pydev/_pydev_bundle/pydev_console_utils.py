@@ -110,7 +110,9 @@ class StdIn(BaseStdIn):
     def readline(self, *args, **kwargs):
         # Ok, callback into the client to get the new input
         try:
-            server = xmlrpclib.Server('http://%s:%s' % (self.host, self.client_port))
+            server = getattr(self.interpreter, 'socket_channel', None)
+            if server is None:
+                server = xmlrpclib.Server('http://%s:%s' % (self.host, self.client_port))
             requested_input = server.RequestInput()
             if not requested_input:
                 return '\n'  # Yes, a readline must return something (otherwise we can get an EOFError on the input() call).
@@ -161,6 +163,90 @@ class CodeFragment:
             self.is_single_line = False
 
 
+# =======================================================================================================================
+# frame_snapshot
+# =======================================================================================================================
+_IMMUTABLE_TYPES = [type(None), bool, int, float, complex, str, bytes, type(Ellipsis)]
+try:
+    _IMMUTABLE_TYPES.extend([long, unicode])
+except NameError:
+    pass
+_IMMUTABLE_TYPES = tuple(_IMMUTABLE_TYPES)
+
+# Builtin containers are walked in Python, arrays and data frames are hashed in C, so they may be much bigger
+_MAX_FINGERPRINT_ITEMS = 1000
+_MAX_FINGERPRINT_DEPTH = 3
+_MAX_FINGERPRINT_CELLS = 1000000
+_MAX_FINGERPRINT_BYTES = 8 * 1024 * 1024
+
+
+class _NoFingerprint(Exception):
+    pass
+
+
+def _array_fingerprint(value, value_type):
+    module = getattr(value_type, '__module__', None) or ''
+    name = value_type.__name__
+    if module == 'numpy' and name == 'ndarray':
+        if value.dtype.hasobject or value.nbytes > _MAX_FINGERPRINT_BYTES:
+            raise _NoFingerprint()
+        return value_type, value.shape, value.dtype.str, hash(value.tobytes())
+    if module.startswith('pandas.') and name in ('DataFrame', 'Series'):
+        if value.size > _MAX_FINGERPRINT_CELLS:
+            raise _NoFingerprint()
+        pandas = sys.modules['pandas']
+        row_hashes = pandas.util.hash_pandas_object(value, index=True).values
+        labels = tuple(str(c) for c in value.columns) if name == 'DataFrame' else str(value.name)
+        return value_type, value.shape, labels, str(value.dtypes), hash(row_hashes.tobytes())
+    raise _NoFingerprint()
+
+
+def _fingerprint(value, budget, depth):
+    value_type = type(value)
+    if value_type in _IMMUTABLE_TYPES:
+        # The value itself, not its id: a freed value's id may be reused by the next one
+        return value_type, value
+    if value_type in (list, tuple, set, frozenset, dict):
+        budget[0] -= len(value)
+        if depth >= _MAX_FINGERPRINT_DEPTH or budget[0] < 0:
+            raise _NoFingerprint()
+        if value_type is dict:
+            items = tuple((_fingerprint(k, budget, depth + 1), _fingerprint(v, budget, depth + 1))
+                          for k, v in dict_iter_items(value))
+        elif value_type in (set, frozenset):
+            items = frozenset(_fingerprint(item, budget, depth + 1) for item in value)
+        else:
+            items = tuple(_fingerprint(item, budget, depth + 1) for item in value)
+        return value_type, items
+    return _array_fingerprint(value, value_type)
+
+
+def value_fingerprint(value):
+    '''
+        Returns what the variables view shows of the value in a comparable form: scalars and strings themselves, the type and
+        items of small builtin containers, the type, shape and a content hash of numpy arrays and pandas data frames.
+        Returns None for other objects and for too big values, they can't be checked cheaply.
+    '''
+    try:
+        return _fingerprint(value, [_MAX_FINGERPRINT_ITEMS], 0)
+    except _NoFingerprint:
+        return None
+    except Exception:
+        # Broken __len__, __iter__ or a failing hash of a user's subclass
+        return None
+
+
+def frame_snapshot(namespace):
+    '''
+        Maps variable names to fingerprints of their values to find the variables changed by a command.
+        Values without a fingerprint map to None: they may have been changed in place, so they are always reported as changed.
+    '''
+    snapshot = {}
+    for k, v in dict_iter_items(namespace):
+        snapshot[str(k)] = value_fingerprint(v)
+    return snapshot
+
+
 # =======================================================================================================================
 # BaseInterpreterInterface
 # =======================================================================================================================
@@ -412,6 +498,9 @@ class BaseInterpreterInterface:
         self.interruptable = True
 
     def get_server(self):
+        socket_channel = getattr(self, 'socket_channel', None)
+        if socket_channel is not None:
+            return socket_channel
         if getattr(self, 'host', None) is not None:
             return xmlrpclib.Server('http://%s:%s' % (self.host, self.client_port))
         else:
@@ -425,17 +514,49 @@ class BaseInterpreterInterface:
         server = self.get_server()
 
         if server is not None:
-            return server.NotifyFinished(more)
+            result = server.NotifyFinished(more)
+            socket_channel = getattr(self, 'socket_channel', None)
+            if socket_channel is not None and not more:
+                # Lets the IDE refresh the variables view without polling
+                socket_channel.notify('VariablesChanged')
+            return result
         else:
             return True
 
     def getFrame(self):
+        namespace = self.get_namespace()
+        self.frame_snapshot = frame_snapshot(namespace)
+
         xml = "<xml>"
-        xml += pydevd_xml.frame_vars_to_xml(self.get_namespace())
+        xml += pydevd_xml.frame_vars_to_xml(namespace)
         xml += "</xml>"
 
         return xml
 
+    def getFrameChanges(self):
+        '''
+            Returns [xml, removed_names]: the variables that were added or changed since the last getFrame or getFrameChanges
+            call and the names of the removed ones. All variables are reported as changed if the frame was never loaded.
+        '''
+        namespace = self.get_namespace()
+        old_snapshot = getattr(self, 'frame_snapshot', None) or {}
+        new_snapshot = frame_snapshot(namespace)
+        self.frame_snapshot = new_snapshot
+
+        changed = {}
+        for k, v in dict_iter_items(namespace):
+            name = str(k)
+            old = old_snapshot.get(name)
+            if old is None or old != new_snapshot.get(name):
+                changed[k] = v
+        removed = [name for name in old_snapshot if name not in new_snapshot]
+
+        xml = "<xml>"
+        xml += pydevd_xml.frame_vars_to_xml(changed)
+        xml += "</xml>"
+
+        return [xml, removed]
+
     def getVariable(self, attributes):
         xml = "<xml>"
         valDict = pydevd_vars.resolve_var(self.get_namespace(), attributes)
@@ -456,6 +577,11 @@ class BaseInterpreterInterface:
         array = pydevd_vars.eval_in_context(name, self.get_namespace(), self.get_namespace())
         return pydevd_vars.table_like_struct_to_xml(array, name, roffset, coffset, rows, cols, format)
 
+    def getArrayStats(self, attr, bins):
+        name = attr.split("\t")[-1]
+        array = pydevd_vars.eval_in_context(name, self.get_namespace(), self.get_namespace())
+        return pydevd_vars.table_like_struct_stats_to_xml(array, bins)
+
     def evaluate(self, expression):
         xml = "<xml>"
         result = pydevd_vars.eval_in_context(expression, self.get_namespace(), self.get_namespace())
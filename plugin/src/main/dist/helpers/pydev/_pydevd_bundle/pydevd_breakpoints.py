@@ -3,6 +3,10 @@ from _pydevd_bundle import pydevd_tracing
 import sys
 from _pydev_bundle import pydev_log
 from _pydevd_bundle import pydevd_import_class
+try:
+    from time import perf_counter as _timer
+except ImportError:
+    from time import time as _timer  # Python 2: time.clock() measures processor time on Unix
 
 _original_excepthook = None
 _handle_exceptions = None
@@ -51,6 +55,70 @@ class LineBreakpoint(object):
         self.expression = expression
         self.suspend_policy = suspend_policy
 
+        # The condition and the expression are compiled when the breakpoint is hit for the first time. Only the pure Python
+        # tracer (pydevd_frame.py) does it and counts the cost of the condition: the prebuilt Cython speedups evaluate the
+        # source text every time and report no numbers.
+        self._compiled_condition = None
+        self._compiled_expression = None
+
+        # Cost of the condition, see report_condition_stats
+        self.condition_evaluations = 0
+        self.condition_hits = 0
+        self.condition_time = 0.0
+        self.reported_evaluations = 0
+
+    def evaluate_condition(self, frame):
+        if self._compiled_condition is None:
+            self._compiled_condition = compile(self.condition, '<breakpoint condition>', 'eval')
+        start = _timer()
+        try:
+            val = eval(self._compiled_condition, frame.f_globals, frame.f_locals)
+        finally:
+            end = _timer()
+            self.condition_time += end - start
+            self.condition_evaluations += 1
+        if val:
+            self.condition_hits += 1
+        # The thread stops at the breakpoint now, so the IDE gets up-to-date numbers
+        if val or end - _last_condition_stats_report >= CONDITION_STATS_INTERVAL:
+            report_condition_stats(get_global_debugger())
+        return val
+
+    def evaluate_expression(self, frame):
+        if self._compiled_expression is None:
+            self._compiled_expression = compile(self.expression, '<breakpoint expression>', 'eval')
+        return eval(self._compiled_expression, frame.f_globals, frame.f_locals)
+
+
+#=======================================================================================================================
+# report_condition_stats
+#=======================================================================================================================
+CONDITION_STATS_INTERVAL = 1.0  # seconds
+
+_last_condition_stats_report = 0.0
+
+
+def report_condition_stats(py_db):
+    """
+    Sends the number of evaluations, the number of times the condition was true and the time spent evaluating it
+    for the conditional breakpoints evaluated since the last report.
+    """
+    global _last_condition_stats_report
+    _last_condition_stats_report = _timer()
+    if py_db is None or py_db.writer is None:
+        return
+
+    stats = []
+    for file_to_id_to_breakpoint in (py_db.file_to_id_to_line_breakpoint, py_db.file_to_id_to_plugin_breakpoint):
+        for file, id_to_breakpoint in list(file_to_id_to_breakpoint.items()):
+            for breakpoint in list(id_to_breakpoint.values()):
+                evaluations = getattr(breakpoint, 'condition_evaluations', 0)
+                if evaluations != getattr(breakpoint, 'reported_evaluations', 0):
+                    breakpoint.reported_evaluations = evaluations
+                    stats.append((file, breakpoint.line, evaluations, breakpoint.condition_hits, breakpoint.condition_time))
+    if stats:
+        py_db.writer.add_command(py_db.cmd_factory.make_breakpoint_stats_message(stats))
+
 def get_exception_full_qname(exctype):
     if not exctype:
         return None
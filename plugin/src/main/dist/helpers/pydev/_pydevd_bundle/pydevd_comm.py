@@ -58,6 +58,7 @@ each command has a format:
     * PYDB - pydevd, the python end
 '''
 
+import hashlib
 import os
 
 from _pydev_bundle.pydev_imports import _queue
@@ -146,6 +147,13 @@ CMD_INPUT_REQUESTED = 147
 CMD_GET_DESCRIPTION = 148
 
 CMD_PROCESS_CREATED = 149
+CMD_SET_SIGNATURE_BATCHING = 150
+CMD_GET_VARIABLES_PAGE = 151
+CMD_GET_ARRAY_STATS = 152
+CMD_GET_REFERRERS = 153
+CMD_REFERRERS_BATCH = 154
+CMD_CANCEL_REFERRERS = 155
+CMD_BREAKPOINT_STATS = 156
 
 CMD_VERSION = 501
 CMD_RETURN = 502
@@ -204,6 +212,13 @@ ID_TO_MEANING = {
     '148': 'CMD_GET_DESCRIPTION',
 
     '149': 'CMD_PROCESS_CREATED',
+    '150': 'CMD_SET_SIGNATURE_BATCHING',
+    '151': 'CMD_GET_VARIABLES_PAGE',
+    '152': 'CMD_GET_ARRAY_STATS',
+    '153': 'CMD_GET_REFERRERS',
+    '154': 'CMD_REFERRERS_BATCH',
+    '155': 'CMD_CANCEL_REFERRERS',
+    '156': 'CMD_BREAKPOINT_STATS',
 
     '501': 'CMD_VERSION',
     '502': 'CMD_RETURN',
@@ -407,6 +422,11 @@ class WriterThread(PyDBDaemonThread):
         self.sock = sock
         self.setName("pydevd.Writer")
         self.cmdQueue = _queue.Queue()
+        # Called from this thread whenever there's nothing to send, e.g. to send out partially collected batches
+        self.idle_callback = None
+        # The callback is called once more after the kill, what it queues then is still sent
+        self._final_idle_callback_called = False
+        self._in_final_idle_callback = False
         if pydevd_vm_type.get_vm_type() == 'python':
             self.timeout = 0
         else:
@@ -414,9 +434,17 @@ class WriterThread(PyDBDaemonThread):
 
     def add_command(self, cmd):
         """ cmd is NetCommand """
-        if not self.killReceived: #we don't take new data after everybody die
+        if not self.killReceived or self._in_final_idle_callback: #we don't take new data after everybody die
             self.cmdQueue.put(cmd)
 
+    def _call_idle_callback(self):
+        idle_callback = self.idle_callback
+        if idle_callback is not None:
+            try:
+                idle_callback()
+            except:
+                traceback.print_exc()
+
     def _on_run(self):
         """ just loop and write responses """
 
@@ -433,6 +461,15 @@ class WriterThread(PyDBDaemonThread):
                             cmd = self.cmdQueue.get(0)
                     except _queue.Empty:
                         if self.killReceived:
+                            if not self._final_idle_callback_called:
+                                self._final_idle_callback_called = True
+                                self._in_final_idle_callback = True
+                                try:
+                                    self._call_idle_callback()
+                                finally:
+                                    self._in_final_idle_callback = False
+                                continue
+
                             try:
                                 self.sock.shutdown(SHUT_WR)
                                 self.sock.close()
@@ -441,6 +478,7 @@ class WriterThread(PyDBDaemonThread):
 
                             return #break if queue is empty and killReceived
                         else:
+                            self._call_idle_callback()
                             continue
                 except:
                     #pydevd_log(0, 'Finishing debug communication...(1)')
@@ -729,12 +767,53 @@ class NetCommandFactory:
             return self.make_error_message(seq, get_exception_traceback_str())
 
 
+    def make_get_variables_page_message(self, seq, payload):
+        try:
+            return NetCommand(CMD_GET_VARIABLES_PAGE, seq, payload)
+        except Exception:
+            return self.make_error_message(seq, get_exception_traceback_str())
+
+
     def make_get_array_message(self, seq, payload):
         try:
             return NetCommand(CMD_GET_ARRAY, seq, payload)
         except Exception:
             return self.make_error_message(seq, get_exception_traceback_str())
 
+    def make_get_array_stats_message(self, seq, payload):
+        try:
+            return NetCommand(CMD_GET_ARRAY_STATS, seq, payload)
+        except Exception:
+            return self.make_error_message(seq, get_exception_traceback_str())
+
+    def make_referrers_batch_message(self, seq, payload):
+        try:
+            return NetCommand(CMD_REFERRERS_BATCH, seq, payload)
+        except Exception:
+            return self.make_error_message(seq, get_exception_traceback_str())
+
+    def make_get_referrers_message(self, seq, payload):
+        try:
+            return NetCommand(CMD_GET_REFERRERS, seq, payload)
+        except Exception:
+            return self.make_error_message(seq, get_exception_traceback_str())
+
+    def make_breakpoint_stats_message(self, stats):
+        """ stats: list of (file, line, evaluations, hits, seconds) of conditional breakpoints """
+        try:
+            cmd_text = ['<xml>']
+            append = cmd_text.append
+            for file, line, evaluations, hits, seconds in stats:
+                file = pydevd_file_utils.norm_file_to_client(file)
+                if file_system_encoding.lower() != "utf-8" and hasattr(file, "decode"):
+                    file = file.decode(file_system_encoding).encode("utf-8")
+                append('<bp file="%s" line="%s" evaluations="%s" hits="%s" time="%r" />' % (
+                    quote(file, '/>_= \t'), line, evaluations, hits, seconds))
+            append('</xml>')
+            return NetCommand(CMD_BREAKPOINT_STATS, 0, ''.join(cmd_text))
+        except:
+            return self.make_error_message(0, get_exception_traceback_str())
+
     def make_get_description_message(self, seq, payload):
         try:
             return NetCommand(CMD_GET_DESCRIPTION, seq, payload)
@@ -1017,6 +1096,68 @@ class InternalGetVariable(InternalThreadCommand):
             dbg.writer.add_command(cmd)
 
 
+def _values_page_digest(offset, next_offset, total, vars_xml):
+    content = '%s\t%s\t%s\t%s' % (offset, next_offset, total, vars_xml)
+    if not isinstance(content, bytes):
+        content = content.encode('utf-8')
+    return hashlib.sha1(content).hexdigest()
+
+
+#=======================================================================================================================
+# InternalGetVariablesPage
+#=======================================================================================================================
+class InternalGetVariablesPage(InternalThreadCommand):
+    """ gets at most limit variables of a frame or fields of a variable starting from offset
+
+    Every page carries the digest of its content. If the IDE sends the digest of the page it loaded before and the page
+    built now has the same one, only the header marked as unchanged is sent back and the IDE shows the values it has.
+    """
+    def __init__(self, seq, offset, limit, digest, thread_id, frame_id, scope, attrs):
+        self.sequence = seq
+        self.offset = int(offset)
+        self.limit = int(limit)
+        self.digest = digest if digest != '-' else None
+        self.thread_id = thread_id
+        self.frame_id = frame_id
+        self.scope = scope
+        self.attributes = attrs
+
+    def do_it(self, dbg):
+        try:
+            if self.scope == 'FRAME' and self.attributes is None:
+                frame = pydevd_vars.find_frame(self.thread_id, self.frame_id)
+                if frame is None:
+                    cmd = dbg.cmd_factory.make_error_message(self.sequence, "Frame not found: %s from thread: %s" % (self.frame_id, self.thread_id))
+                    dbg.writer.add_command(cmd)
+                    return
+                hidden_ns = pydevconsole.get_ipython_hidden_vars_dict()
+                vars_xml, next_offset, total = pydevd_xml.frame_vars_page_to_xml(frame.f_locals, self.offset, self.limit, hidden_ns)
+                del frame
+            else:
+                val_dict, next_offset, total = pydevd_vars.resolve_compound_variable_page(
+                    self.thread_id, self.frame_id, self.scope, self.attributes, self.offset, self.limit)
+
+                keys = list(val_dict.keys())
+                if IS_PY3K:
+                    keys.sort(key=cmp_to_key(compare_object_attrs))
+                else:
+                    keys.sort(compare_object_attrs)
+                vars_xml = ''.join([pydevd_xml.var_to_xml(val_dict[k], to_string(k)) for k in keys])
+
+            digest = _values_page_digest(self.offset, next_offset, total, vars_xml)
+            if digest == self.digest:
+                xml = '<xml><page offset="%s" next="%s" total="%s" digest="%s" unchanged="1"/></xml>' % (
+                    self.offset, next_offset, total, digest)
+            else:
+                xml = '<xml><page offset="%s" next="%s" total="%s" digest="%s"/>%s</xml>' % (
+                    self.offset, next_offset, total, digest, vars_xml)
+            cmd = dbg.cmd_factory.make_get_variables_page_message(self.sequence, xml)
+            dbg.writer.add_command(cmd)
+        except Exception:
+            cmd = dbg.cmd_factory.make_error_message(self.sequence, "Error resolving variables " + get_exception_traceback_str())
+            dbg.writer.add_command(cmd)
+
+
 #=======================================================================================================================
 # InternalGetArray
 #=======================================================================================================================
@@ -1045,6 +1186,93 @@ class InternalGetArray(InternalThreadCommand):
             cmd = dbg.cmd_factory.make_error_message(self.sequence, "Error resolving array: " + get_exception_traceback_str())
             dbg.writer.add_command(cmd)
 
+#=======================================================================================================================
+# InternalGetArrayStats
+#=======================================================================================================================
+class InternalGetArrayStats(InternalThreadCommand):
+    """ computes statistics of an array or a data frame, its cells are not sent """
+    def __init__(self, seq, bins, thread_id, frame_id, scope, attrs):
+        self.sequence = seq
+        self.thread_id = thread_id
+        self.frame_id = frame_id
+        self.scope = scope
+        self.name = attrs.split("\t")[-1]
+        self.attrs = attrs
+        self.bins = int(bins)
+
+    def do_it(self, dbg):
+        try:
+            frame = pydevd_vars.find_frame(self.thread_id, self.frame_id)
+            var = pydevd_vars.eval_in_context(self.name, frame.f_globals, frame.f_locals)
+            xml = pydevd_vars.table_like_struct_stats_to_xml(var, self.bins)
+            cmd = dbg.cmd_factory.make_get_array_stats_message(self.sequence, xml)
+            dbg.writer.add_command(cmd)
+        except:
+            cmd = dbg.cmd_factory.make_error_message(self.sequence, "Error computing array statistics: " + get_exception_traceback_str())
+            dbg.writer.add_command(cmd)
+
+#=======================================================================================================================
+# InternalGetReferrers
+#=======================================================================================================================
+class InternalGetReferrers(InternalThreadCommand):
+    """ sends at most limit objects referring to a variable starting from offset, in batches while they are
+    described, until the IDE cancels the search
+
+    The referrers are found by the first page of a search, the next pages are taken from the same list, which is kept
+    until the IDE cancels the search or the thread runs again.
+    """
+    def __init__(self, seq, search, offset, limit, batch_size, thread_id, frame_id, scope, attrs):
+        self.sequence = seq
+        self.search = search
+        self.offset = int(offset)
+        self.limit = int(limit)
+        self.batch_size = max(1, int(batch_size))
+        self.thread_id = thread_id
+        self.frame_id = frame_id
+        self.scope = scope
+        self.attrs = attrs
+
+    def do_it(self, dbg):
+        from _pydevd_bundle import pydevd_referrers
+        seq = self.sequence
+        search = self.search
+        try:
+            try:
+                if search.is_cancelled():
+                    raise pydevd_referrers.ReferrersSearchCancelled()
+                if not search.is_found():
+                    search.find(pydevd_vars.getVariable(self.thread_id, self.frame_id, self.scope, self.attrs))
+                var = search.var
+                referrers = search.referrers
+                dict_owners = search.dict_owners
+                end = min(len(referrers), self.offset + self.limit)
+                batch = []
+                for i in range(self.offset, end):
+                    if search.is_cancelled():
+                        raise pydevd_referrers.ReferrersSearchCancelled()
+                    batch.append(pydevd_referrers.referrer_to_xml(var, referrers[i], dict_owners))
+                    if len(batch) == self.batch_size:
+                        dbg.writer.add_command(dbg.cmd_factory.make_referrers_batch_message(seq, '<xml>%s</xml>' % ''.join(batch)))
+                        batch = []
+                if batch:
+                    dbg.writer.add_command(dbg.cmd_factory.make_referrers_batch_message(seq, '<xml>%s</xml>' % ''.join(batch)))
+                cmd = dbg.cmd_factory.make_get_referrers_message(
+                    seq, '<xml><referrers next="%s" total="%s" /></xml>' % (max(end, self.offset), len(referrers)))
+            except pydevd_referrers.ReferrersSearchCancelled:
+                pydevd_referrers.forget_referrers_search(search.search_id)
+                cmd = dbg.cmd_factory.make_get_referrers_message(seq, '<xml><referrers cancelled="True" /></xml>')
+            except:
+                pydevd_referrers.forget_referrers_search(search.search_id)
+                cmd = dbg.cmd_factory.make_error_message(seq, "Error getting referrers: " + get_exception_traceback_str())
+            dbg.writer.add_command(cmd)
+        finally:
+            #Don't keep dangling references from this frame to any of the objects.
+            var = None
+            referrers = None
+            dict_owners = None
+            search = None
+            self.search = None
+
 #=======================================================================================================================
 # InternalChangeVariable
 #=======================================================================================================================
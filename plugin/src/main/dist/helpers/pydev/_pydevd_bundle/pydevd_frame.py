@@ -459,7 +459,7 @@ class PyDBFrame: # No longer cdef because object was dying when only a reference
                         condition = breakpoint.condition
                         if condition is not None:
                             try:
-                                val = eval(condition, new_frame.f_globals, new_frame.f_locals)
+                                val = breakpoint.evaluate_condition(new_frame)
                                 if not val:
                                     return self.trace_dispatch
 
@@ -494,7 +494,7 @@ class PyDBFrame: # No longer cdef because object was dying when only a reference
                         if breakpoint.expression is not None:
                             try:
                                 try:
-                                    val = eval(breakpoint.expression, new_frame.f_globals, new_frame.f_locals)
+                                    val = breakpoint.evaluate_expression(new_frame)
                                 except:
                                     val = sys.exc_info()[1]
                             finally:
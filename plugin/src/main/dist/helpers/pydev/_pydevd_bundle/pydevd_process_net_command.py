@@ -17,7 +17,9 @@ from _pydevd_bundle.pydevd_comm import CMD_RUN, CMD_VERSION, CMD_LIST_THREADS, C
     CMD_REMOVE_EXCEPTION_BREAK, CMD_LOAD_SOURCE, CMD_ADD_DJANGO_EXCEPTION_BREAK, CMD_REMOVE_DJANGO_EXCEPTION_BREAK, \
     CMD_EVALUATE_CONSOLE_EXPRESSION, InternalEvaluateConsoleExpression, InternalConsoleGetCompletions, \
     CMD_RUN_CUSTOM_OPERATION, InternalRunCustomOperation, CMD_IGNORE_THROWN_EXCEPTION_AT, CMD_ENABLE_DONT_TRACE, \
-    CMD_SHOW_RETURN_VALUES, ID_TO_MEANING, CMD_GET_DESCRIPTION, InternalGetDescription
+    CMD_SHOW_RETURN_VALUES, ID_TO_MEANING, CMD_GET_DESCRIPTION, InternalGetDescription, CMD_SET_SIGNATURE_BATCHING, \
+    CMD_GET_VARIABLES_PAGE, InternalGetVariablesPage, CMD_GET_ARRAY_STATS, InternalGetArrayStats, \
+    CMD_GET_REFERRERS, InternalGetReferrers, CMD_CANCEL_REFERRERS
 from _pydevd_bundle.pydevd_constants import get_thread_id, IS_PY3K, DebugInfoHolder, dict_contains, dict_keys, dict_pop, \
     STATE_RUN
 
@@ -186,6 +188,25 @@ def process_net_command(py_db, cmd_id, seq, text):
                 except:
                     traceback.print_exc()
 
+            elif cmd_id == CMD_GET_VARIABLES_PAGE:
+                # we received some command to get a page of variables
+                # the text is: offset\tlimit\tdigest\tthread_id\tframe_id\tFRAME|GLOBAL\tattributes*
+                # no attributes with the FRAME scope mean the variables of the frame itself,
+                # digest is the one of the page the IDE has loaded before or '-'
+                try:
+                    offset, limit, digest, thread_id, frame_id, scopeattrs = text.split('\t', 5)
+
+                    if scopeattrs.find('\t') != -1:  # there are attributes beyond scope
+                        scope, attrs = scopeattrs.split('\t', 1)
+                    else:
+                        scope, attrs = (scopeattrs, None)
+
+                    int_cmd = InternalGetVariablesPage(seq, offset, limit, digest, thread_id, frame_id, scope, attrs)
+                    py_db.post_internal_command(int_cmd, thread_id)
+
+                except:
+                    traceback.print_exc()
+
             elif cmd_id == CMD_GET_ARRAY:
                 # we received some command to get an array variable
                 # the text is: thread_id\tframe_id\tFRAME|GLOBAL\tname\ttemp\troffs\tcoffs\trows\tcols\tformat
@@ -203,6 +224,55 @@ def process_net_command(py_db, cmd_id, seq, text):
                 except:
                     traceback.print_exc()
 
+            elif cmd_id == CMD_GET_ARRAY_STATS:
+                # we received some command to get statistics of an array variable
+                # the text is: bins\tthread_id\tframe_id\tFRAME|GLOBAL\tattributes*
+                try:
+                    bins, thread_id, frame_id, scopeattrs = text.split('\t', 3)
+
+                    if scopeattrs.find('\t') != -1:  # there are attributes beyond scope
+                        scope, attrs = scopeattrs.split('\t', 1)
+                    else:
+                        scope, attrs = (scopeattrs, None)
+
+                    int_cmd = InternalGetArrayStats(seq, bins, thread_id, frame_id, scope, attrs)
+                    py_db.post_internal_command(int_cmd, thread_id)
+
+                except:
+                    traceback.print_exc()
+
+            elif cmd_id == CMD_GET_REFERRERS:
+                # we received some command to find the objects referring to a variable
+                # the text is: search_id\toffset\tlimit\tbatch_size\tthread_id\tframe_id\tFRAME|GLOBAL|BY_ID\tattributes*
+                # all the pages of a search have the sequence of its first page as the search id
+                try:
+                    search_id, offset, limit, batch_size, thread_id, frame_id, scopeattrs = text.split('\t', 6)
+
+                    if scopeattrs.find('\t') != -1:  # there are attributes beyond scope
+                        scope, attrs = scopeattrs.split('\t', 1)
+                    else:
+                        scope, attrs = (scopeattrs, None)
+
+                    # registered before the search runs, so a cancel arriving in between isn't lost
+                    from _pydevd_bundle.pydevd_referrers import start_referrers_search
+                    search = start_referrers_search(int(search_id), thread_id)
+                    int_cmd = InternalGetReferrers(seq, search, offset, limit, batch_size, thread_id, frame_id, scope, attrs)
+                    py_db.post_internal_command(int_cmd, thread_id)
+
+                except:
+                    traceback.print_exc()
+
+            elif cmd_id == CMD_CANCEL_REFERRERS:
+                # the text is the id of the search to stop and forget; handled right away, as the search
+                # runs in the suspended thread
+                from _pydevd_bundle.pydevd_referrers import cancel_referrers_search
+                cancel_referrers_search(int(text.strip()))
+
+            elif cmd_id == CMD_SET_SIGNATURE_BATCHING:
+                if py_db.signature_factory is not None:
+                    from _pydevd_bundle.pydevd_signature import set_signature_batching
+                    set_signature_batching(py_db, text.split('\t')[1].strip() == '1')
+
             elif cmd_id == CMD_SHOW_RETURN_VALUES:
                 try:
                     show_return_values = text.split('\t')[1]
@@ -3,11 +3,14 @@ import sys
 from _pydevd_bundle import pydevd_xml
 from os.path import basename
 import traceback
+import threading
 try:
     from urllib import quote, quote_plus, unquote, unquote_plus
 except:
     from urllib.parse import quote, quote_plus, unquote, unquote_plus  #@Reimport @UnresolvedImport
 
+_frame_type = type(sys._getframe())
+
 #===================================================================================================
 # print_var_node
 #===================================================================================================
@@ -60,166 +63,287 @@ def print_referrers(obj, stream=None):
 
 
 #===================================================================================================
-# get_referrer_info
+# ReferrersSearch
 #===================================================================================================
-def get_referrer_info(searched_obj):
-    DEBUG = 0
-    if DEBUG:
-        sys.stderr.write('Getting referrers info.\n')
+class ReferrersSearch:
+    '''
+    The referrers of a variable found once and kept while the thread stays suspended, so the IDE gets all the pages of a
+    search from the same list instead of a new one that may have changed in between.
+    '''
+
+    def __init__(self, search_id, thread_id):
+        self.search_id = search_id
+        self.thread_id = thread_id
+        self.cancelled = False
+        self.var = None
+        self.referrers = None
+        self.dict_owners = None
+
+    def is_cancelled(self):
+        return self.cancelled
+
+    def is_found(self):
+        return self.referrers is not None
+
+    def find(self, var):
+        self.var = var
+        self.dict_owners = DictOwners(self.is_cancelled)
+        self.referrers = get_referrers(var)
+
+    def release(self):
+        self.var = None
+        self.referrers = None
+        self.dict_owners = None
+
+
+_searches = {}
+_searches_lock = threading.Lock()
+
+def start_referrers_search(search_id, thread_id):
+    '''
+    Returns the search with the given id, registered before it runs so a cancel arriving in between isn't lost.
+    '''
+    _searches_lock.acquire()
+    try:
+        search = _searches.get(search_id)
+        if search is None:
+            search = ReferrersSearch(search_id, thread_id)
+            _searches[search_id] = search
+        return search
+    finally:
+        _searches_lock.release()
+
+
+def cancel_referrers_search(search_id):
+    # a page being described stops, the referrers found aren't kept any more
+    _searches_lock.acquire()
+    try:
+        search = _searches.pop(search_id, None)
+    finally:
+        _searches_lock.release()
+    if search is not None:
+        search.cancelled = True
+
+
+def forget_referrers_search(search_id):
+    _searches_lock.acquire()
     try:
+        search = _searches.pop(search_id, None)
+    finally:
+        _searches_lock.release()
+    if search is not None:
+        search.release()
+
+
+def forget_thread_referrers_searches(thread_id):
+    '''
+    Called when the thread runs again: the referrers found while it was suspended are stale and must not keep the objects alive.
+    '''
+    _searches_lock.acquire()
+    try:
+        searches = [search for search in _searches.values() if search.thread_id == thread_id]
+        for search in searches:
+            del _searches[search.search_id]
+    finally:
+        _searches_lock.release()
+    for search in searches:
+        search.cancelled = True
+        search.release()
+
+
+def _searches_internals():
+    # objects of the kept searches which refer to the variables themselves
+    _searches_lock.acquire()
+    try:
+        searches = list(_searches.values())
+    finally:
+        _searches_lock.release()
+    internals = {}
+    for search in searches:
+        internals[id(search)] = 1
+        internals[id(search.__dict__)] = 1
+        if search.referrers is not None:
+            internals[id(search.referrers)] = 1
+        if search.dict_owners is not None and search.dict_owners._owners is not None:
+            internals[id(search.dict_owners._owners)] = 1
+    return internals
+
+
+class ReferrersSearchCancelled(Exception):
+    pass
+
+
+#===================================================================================================
+# DictOwners
+#===================================================================================================
+class DictOwners:
+    '''
+    Many times the searched object is found in the __dict__ of an instance, but only the dict is among the referrers.
+    Instead of looking through all the objects for every such dict, the owners of all the dicts are collected at once
+    when the first one is needed.
+    '''
+
+    def __init__(self, is_cancelled=None):
+        self._owners = None
+        self._is_cancelled = is_cancelled
+
+    def get(self, d):
+        if self._owners is None:
+            import gc
+            owners = {}
+            i = 0
+            for x in gc.get_objects():
+                i += 1
+                if i % 10000 == 0 and self._is_cancelled is not None and self._is_cancelled():
+                    raise ReferrersSearchCancelled()
+                try:
+                    x_dict = getattr(x, '__dict__', None)
+                    if x_dict is not None and not dict_contains(owners, id(x_dict)):
+                        owners[id(x_dict)] = x
+                except:
+                    pass  #Just ignore any error here (i.e.: ReferenceError, etc.)
+            self._owners = owners
+        return self._owners.get(id(d))
+
+
+#===================================================================================================
+# get_referrers
+#===================================================================================================
+def get_referrers(searched_obj):
+    '''
+    Returns the objects referring to searched_obj, without the frames of the debugger itself.
+    '''
+    import gc
+    referrers = gc.get_referrers(searched_obj)
+
+    #Ignore this frame and any caller frame of this frame
+    ignore_frames = {}  #Should be a set, but it's not available on all python versions.
+    curr_frame = sys._getframe()
+    while curr_frame is not None:
+        if basename(curr_frame.f_code.co_filename).startswith('pydev'):
+            ignore_frames[curr_frame] = 1
+        curr_frame = curr_frame.f_back
+
+    internals = _searches_internals()
+
+    ret = []
+    for r in referrers:
         try:
-            if searched_obj is None:
-                ret = ['<xml>\n']
-
-                ret.append('<for>\n')
-                ret.append(pydevd_xml.var_to_xml(
-                    searched_obj,
-                    'Skipping getting referrers for None',
-                    additionalInXml=' id="%s"' % (id(searched_obj),)))
-                ret.append('</for>\n')
-                ret.append('</xml>')
-                ret = ''.join(ret)
-                return ret
-
-            obj_id = id(searched_obj)
-
-            try:
-                if DEBUG:
-                    sys.stderr.write('Getting referrers...\n')
-                import gc
-                referrers = gc.get_referrers(searched_obj)
-            except:
-                traceback.print_exc()
-                ret = ['<xml>\n']
-
-                ret.append('<for>\n')
-                ret.append(pydevd_xml.var_to_xml(
-                    searched_obj,
-                    'Exception raised while trying to get_referrers.',
-                    additionalInXml=' id="%s"' % (id(searched_obj),)))
-                ret.append('</for>\n')
-                ret.append('</xml>')
-                ret = ''.join(ret)
-                return ret
-
-            if DEBUG:
-                sys.stderr.write('Found %s referrers.\n' % (len(referrers),))
-
-            curr_frame = sys._getframe()
-            frame_type = type(curr_frame)
-
-            #Ignore this frame and any caller frame of this frame
-
-            ignore_frames = {}  #Should be a set, but it's not available on all python versions.
-            while curr_frame is not None:
-                if basename(curr_frame.f_code.co_filename).startswith('pydev'):
-                    ignore_frames[curr_frame] = 1
-                curr_frame = curr_frame.f_back
+            if dict_contains(ignore_frames, r):
+                continue  #Skip the references we may add ourselves
+        except:
+            pass  #Ok: unhashable type checked...
+
+        if r is referrers or dict_contains(internals, id(r)):
+            continue  #Nor the referrers kept by the searches
+        ret.append(r)
+
+    #The frames refer to the dict holding them, don't leave them for the next search to find
+    ignore_frames = None
+    curr_frame = None
+    referrers = None
+    return ret
+
 
+#===================================================================================================
+# referrer_to_xml
+#===================================================================================================
+def referrer_to_xml(searched_obj, r, dict_owners):
+    '''
+    :param dict_owners: DictOwners shared by all the referrers of searched_obj
+    '''
+    r_type = type(r)
+    r_id = str(id(r))
+
+    representation = str(r_type)
+
+    found_as = ''
+    if r_type == _frame_type:
+        for key, val in r.f_locals.items():
+            if val is searched_obj:
+                found_as = key
+                break
+
+    elif r_type == dict:
+        # Try to check if it's a value in the dict (and under which key it was found)
+        for key, val in r.items():
+            if val is searched_obj:
+                found_as = key
+                break
+
+        owner = dict_owners.get(r)
+        if owner is not None:
+            r = owner
+            r_type = type(owner)
+            r_id = str(id(r))
+            representation = str(r_type)
+
+    elif r_type in (tuple, list):
+        #Don't use enumerate() because not all Python versions have it.
+        i = 0
+        for x in r:
+            if x is searched_obj:
+                found_as = '%s[%s]' % (r_type.__name__, i)
+                break
+            i += 1
 
+    if found_as:
+        if not isinstance(found_as, str):
+            found_as = str(found_as)
+        found_as = ' found_as="%s"' % (pydevd_xml.make_valid_xml_value(found_as),)
+
+    return pydevd_xml.var_to_xml(
+        r,
+        representation,
+        additionalInXml=' id="%s"%s' % (r_id, found_as))
+
+
+#===================================================================================================
+# get_referrer_info
+#===================================================================================================
+def get_referrer_info(searched_obj):
+    try:
+        if searched_obj is None:
             ret = ['<xml>\n']
 
             ret.append('<for>\n')
-            if DEBUG:
-                sys.stderr.write('Searching Referrers of obj with id="%s"\n' % (obj_id,))
-
             ret.append(pydevd_xml.var_to_xml(
                 searched_obj,
-                'Referrers of obj with id="%s"' % (obj_id,)))
+                'Skipping getting referrers for None',
+                additionalInXml=' id="%s"' % (id(searched_obj),)))
             ret.append('</for>\n')
+            ret.append('</xml>')
+            ret = ''.join(ret)
+            return ret
 
-            all_objects = None
+        obj_id = id(searched_obj)
 
-            for r in referrers:
-                try:
-                    if dict_contains(ignore_frames, r):
-                        continue  #Skip the references we may add ourselves
-                except:
-                    pass  #Ok: unhashable type checked...
+        try:
+            referrers = get_referrers(searched_obj)
+        except:
+            traceback.print_exc()
+            ret = ['<xml>\n']
 
-                if r is referrers:
-                    continue
+            ret.append('<for>\n')
+            ret.append(pydevd_xml.var_to_xml(
+                searched_obj,
+                'Exception raised while trying to get_referrers.',
+                additionalInXml=' id="%s"' % (id(searched_obj),)))
+            ret.append('</for>\n')
+            ret.append('</xml>')
+            ret = ''.join(ret)
+            return ret
+
+        ret = ['<xml>\n']
 
-                r_type = type(r)
-                r_id = str(id(r))
-
-                representation = str(r_type)
-
-                found_as = ''
-                if r_type == frame_type:
-                    if DEBUG:
-                        sys.stderr.write('Found frame referrer: %r\n' % (r,))
-                    for key, val in r.f_locals.items():
-                        if val is searched_obj:
-                            found_as = key
-                            break
-
-                elif r_type == dict:
-                    if DEBUG:
-                        sys.stderr.write('Found dict referrer: %r\n' % (r,))
-
-                    # Try to check if it's a value in the dict (and under which key it was found)
-                    for key, val in r.items():
-                        if val is searched_obj:
-                            found_as = key
-                            if DEBUG:
-                                sys.stderr.write('    Found as %r in dict\n' % (found_as,))
-                            break
-
-                    #Ok, there's one annoying thing: many times we find it in a dict from an instance,
-                    #but with this we don't directly have the class, only the dict, so, to workaround that
-                    #we iterate over all reachable objects ad check if one of those has the given dict.
-                    if all_objects is None:
-                        all_objects = gc.get_objects()
-
-                    for x in all_objects:
-                        try:
-                            if getattr(x, '__dict__', None) is r:
-                                r = x
-                                r_type = type(x)
-                                r_id = str(id(r))
-                                representation = str(r_type)
-                                break
-                        except:
-                            pass  #Just ignore any error here (i.e.: ReferenceError, etc.)
-
-                elif r_type in (tuple, list):
-                    if DEBUG:
-                        sys.stderr.write('Found tuple referrer: %r\n' % (r,))
-
-                    #Don't use enumerate() because not all Python versions have it.
-                    i = 0
-                    for x in r:
-                        if x is searched_obj:
-                            found_as = '%s[%s]' % (r_type.__name__, i)
-                            if DEBUG:
-                                sys.stderr.write('    Found as %s in tuple: \n' % (found_as,))
-                            break
-                        i += 1
-
-                if found_as:
-                    if not isinstance(found_as, str):
-                        found_as = str(found_as)
-                    found_as = ' found_as="%s"' % (pydevd_xml.make_valid_xml_value(found_as),)
-
-                ret.append(pydevd_xml.var_to_xml(
-                    r,
-                    representation,
-                    additionalInXml=' id="%s"%s' % (r_id, found_as)))
-        finally:
-            if DEBUG:
-                sys.stderr.write('Done searching for references.\n')
-
-            #If we have any exceptions, don't keep dangling references from this frame to any of our objects.
-            all_objects = None
-            referrers = None
-            searched_obj = None
-            r = None
-            x = None
-            key = None
-            val = None
-            curr_frame = None
-            ignore_frames = None
+        ret.append('<for>\n')
+        ret.append(pydevd_xml.var_to_xml(
+            searched_obj,
+            'Referrers of obj with id="%s"' % (obj_id,)))
+        ret.append('</for>\n')
+        dict_owners = DictOwners()
+        for r in referrers:
+            ret.append(referrer_to_xml(searched_obj, r, dict_owners))
     except:
         traceback.print_exc()
         ret = ['<xml>\n']
@@ -233,8 +357,13 @@ def get_referrer_info(searched_obj):
         ret.append('</xml>')
         ret = ''.join(ret)
         return ret
+    finally:
+        #If we have any exceptions, don't keep dangling references from this frame to any of our objects.
+        referrers = None
+        searched_obj = None
+        dict_owners = None
+        r = None
 
     ret.append('</xml>')
     ret = ''.join(ret)
     return ret
-
@@ -3,6 +3,7 @@ try:
 except:
     import io as StringIO
 import traceback
+from itertools import islice
 from os.path import basename
 
 try:
@@ -271,6 +272,21 @@ class DictResolver:
         ret.update(additional_fields)
         return ret
 
+    def get_page(self, dict, offset, limit):
+        '''
+            @return: the dictionary with at most limit items starting from offset, the offset of the next page and
+            the number of items; the length and the fields of the object itself come with the first page only
+        '''
+        ret = {}
+        for key, val in islice(dict_iter_items(dict), offset, offset + limit):
+            ret['%s (%s)' % (self.key_to_str(key), id(key))] = val
+
+        total = len(dict)
+        if offset == 0:
+            ret['__len__'] = total
+            ret.update(defaultResolver.get_dictionary(dict))
+        return ret, min(offset + limit, total), total
+
 
 #=======================================================================================================================
 # TupleResolver
@@ -311,6 +327,22 @@ class TupleResolver: #to enumerate tuples and lists
         d.update(additional_fields)
         return d
 
+    def get_page(self, var, offset, limit):
+        total = len(var)
+        d = {}
+
+        format_str = '%0' + str(int(len(str(total)))) + 'd'
+
+        i = offset
+        for item in islice(var, offset, offset + limit):
+            d[format_str % i] = item
+            i += 1
+
+        if offset == 0:
+            d['__len__'] = total
+            d.update(defaultResolver.get_dictionary(var))
+        return d, min(offset + limit, total), total
+
 
 
 #=======================================================================================================================
@@ -355,6 +387,17 @@ class SetResolver:
         d.update(additional_fields)
         return d
 
+    def get_page(self, var, offset, limit):
+        d = {}
+        for item in islice(var, offset, offset + limit):
+            d[id(item)] = item
+
+        total = len(var)
+        if offset == 0:
+            d['__len__'] = total
+            d.update(defaultResolver.get_dictionary(var))
+        return d, min(offset + limit, total), total
+
 
 #=======================================================================================================================
 # InstanceResolver
@@ -11,6 +11,7 @@ from _pydevd_bundle import pydevd_xml
 from _pydevd_bundle.pydevd_constants import xrange, dict_iter_items
 from _pydevd_bundle import pydevd_utils
 from _pydevd_bundle.pydevd_utils import get_clsname_for_code
+from _pydev_imps._pydev_saved_modules import threading, time
 
 class Signature(object):
     def __init__(self, file, name):
@@ -79,6 +80,7 @@ class SignatureFactory(object):
     def __init__(self):
         self._caller_cache = {}
         self.cache = CallSignatureCache()
+        self.batch = None  # SignatureBatch when the IDE asked for batched messages
 
     def is_in_scope(self, filename):
         return not pydevd_utils.not_in_project_roots(filename)
@@ -150,10 +152,8 @@ class CallSignatureCache(object):
         return False
 
 
-def create_signature_message(signature):
-    cmdTextList = ["<xml>"]
-
-    cmdTextList.append('<call_signature file="%s" name="%s">' % (pydevd_xml.make_valid_xml_value(signature.file), pydevd_xml.make_valid_xml_value(signature.name)))
+def signature_to_xml(signature):
+    cmdTextList = ['<call_signature file="%s" name="%s">' % (pydevd_xml.make_valid_xml_value(signature.file), pydevd_xml.make_valid_xml_value(signature.name))]
 
     for arg in signature.args:
         cmdTextList.append('<arg name="%s" type="%s"></arg>' % (pydevd_xml.make_valid_xml_value(arg[0]), pydevd_xml.make_valid_xml_value(arg[1])))
@@ -161,9 +161,87 @@ def create_signature_message(signature):
     if signature.return_type is not None:
         cmdTextList.append('<return type="%s"></return>' % (pydevd_xml.make_valid_xml_value(signature.return_type)))
 
-    cmdTextList.append("</call_signature></xml>")
-    cmdText = ''.join(cmdTextList)
-    return NetCommand(CMD_SIGNATURE_CALL_TRACE, 0, cmdText)
+    cmdTextList.append("</call_signature>")
+    return ''.join(cmdTextList)
+
+
+def create_signature_message(signature):
+    return NetCommand(CMD_SIGNATURE_CALL_TRACE, 0, "<xml>" + signature_to_xml(signature) + "</xml>")
+
+
+class SignatureBatch(object):
+    '''
+        Collects signatures to be sent in a single message:
+        <xml><call_signatures coalesced="N"><call_signature>...</call_signature>...</call_signatures></xml>
+        where N is the number of calls since the previous message not sent because their signature was already known.
+        A batch is sent when it's full, when it's older than MAX_DELAY and whenever the writer has nothing else to send.
+    '''
+    MAX_SIZE = 100
+    MAX_DELAY = 0.2
+
+    def __init__(self):
+        self._lock = threading.Lock()
+        self._signatures = []
+        self._coalesced = 0
+        self._started = 0
+
+    def add(self, dbg, signature):
+        xml = signature_to_xml(signature)
+        self._lock.acquire()
+        try:
+            if not self._signatures:
+                self._started = time.time()
+            self._signatures.append(xml)
+            if len(self._signatures) < self.MAX_SIZE and time.time() - self._started < self.MAX_DELAY:
+                return
+            cmd = self._create_message()
+        finally:
+            self._lock.release()
+        dbg.writer.add_command(cmd)
+
+    def skip(self):
+        self._lock.acquire()
+        try:
+            self._coalesced += 1
+        finally:
+            self._lock.release()
+
+    def flush(self, dbg):
+        self._lock.acquire()
+        try:
+            if not self._signatures:
+                return
+            cmd = self._create_message()
+        finally:
+            self._lock.release()
+        dbg.writer.add_command(cmd)
+
+    def _create_message(self):
+        text = '<xml><call_signatures coalesced="%d">%s</call_signatures></xml>' % (self._coalesced, ''.join(self._signatures))
+        self._signatures = []
+        self._coalesced = 0
+        return NetCommand(CMD_SIGNATURE_CALL_TRACE, 0, text)
+
+
+def set_signature_batching(dbg, enabled):
+    factory = dbg.signature_factory
+    batch = factory.batch
+    if enabled:
+        if batch is None:
+            batch = factory.batch = SignatureBatch()
+        dbg.writer.idle_callback = lambda: batch.flush(dbg)
+    elif batch is not None:
+        factory.batch = None
+        dbg.writer.idle_callback = None
+        batch.flush(dbg)
+
+
+def _send_signature(dbg, signature):
+    batch = dbg.signature_factory.batch
+    if batch is not None:
+        batch.add(dbg, signature)
+    else:
+        dbg.writer.add_command(create_signature_message(signature))
 
 
 def send_signature_call_trace(dbg, frame, filename):
@@ -173,13 +251,16 @@ def send_signature_call_trace(dbg, frame, filename):
             if dbg.signature_factory.cache is not None:
                 if not dbg.signature_factory.cache.is_in_cache(signature):
                     dbg.signature_factory.cache.add(signature)
-                    dbg.writer.add_command(create_signature_message(signature))
+                    _send_signature(dbg, signature)
                     return True
                 else:
                     # we don't send signature if it is cached
+                    batch = dbg.signature_factory.batch
+                    if batch is not None:
+                        batch.skip()
                     return False
             else:
-                dbg.writer.add_command(create_signature_message(signature))
+                _send_signature(dbg, signature)
                 return True
     return False
 
@@ -188,7 +269,7 @@ def send_signature_return_trace(dbg, frame, filename, return_value):
     if dbg.signature_factory and dbg.signature_factory.is_in_scope(filename):
         signature = dbg.signature_factory.create_signature(frame, with_args=False)
         signature.return_type = get_type_of_value(return_value, recursive=True)
-        dbg.writer.add_command(create_signature_message(signature))
+        _send_signature(dbg, signature)
         return True
 
     return False
@@ -5,7 +5,7 @@ import pickle
 from _pydevd_bundle.pydevd_constants import dict_contains, get_frame, get_thread_id, xrange
 
 from _pydevd_bundle.pydevd_custom_frames import get_custom_frame
-from _pydevd_bundle.pydevd_xml import ExceptionOnEvaluate, get_type, var_to_xml
+from _pydevd_bundle.pydevd_xml import ExceptionOnEvaluate, get_type, var_to_xml, make_valid_xml_value
 from _pydev_imps._pydev_saved_modules import thread
 
 try:
@@ -254,6 +254,25 @@ def resolve_compound_variable(thread_id, frame_id, scope, attrs):
         traceback.print_exc()
 
 
+def resolve_compound_variable_page(thread_id, frame_id, scope, attrs, offset, limit):
+    """ returns at most limit fields of the compound variable starting from offset as a dictionary, the offset of the
+    next page and the number of fields; variables that can't be paged are returned whole in the first page """
+
+    var = getVariable(thread_id, frame_id, scope, attrs)
+
+    try:
+        _type, _typeName, resolver = get_type(var)
+        if hasattr(resolver, 'get_page'):
+            return resolver.get_page(var, offset, limit)
+        if offset == 0:
+            return resolver.get_dictionary(var), 0, 0
+    except:
+        sys.stderr.write('Error evaluating: thread_id: %s\nframe_id: %s\nscope: %s\nattrs: %s\n' % (
+            thread_id, frame_id, scope, attrs,))
+        traceback.print_exc()
+    return {}, 0, 0
+
+
 def resolve_var(var, attrs):
     attrList = attrs.split('\t')
 
@@ -618,3 +637,58 @@ def dataframe_to_xml(df, name, roffset, coffset, rows, cols, format):
             value = col_formats[col] % value
             xml += var_to_xml(value, '')
     return xml
+
+
+def table_like_struct_stats_to_xml(array, bins):
+    '''
+    Summarizes a numpy array or a pandas DataFrame without sending its cells: min, max, mean, the number of NaNs and
+    a histogram with the given number of bins for the whole array and for every column of a 2-dimensional one.
+    '''
+    _, type_name, _ = get_type(array)
+    xml = ''
+    if type_name == 'ndarray':
+        xml += _stats_to_xml('stats', array.ravel(), bins)
+        if len(array.shape) == 2:
+            for col in range(min(array.shape[1], MAX_SLICE_SIZE)):
+                xml += _stats_to_xml('colstats', array[:, col], bins, ' index="%s"' % col)
+    elif type_name == 'DataFrame':
+        for col in range(min(array.shape[1], MAX_SLICE_SIZE)):
+            label = array.axes[1].values[col]
+            label = str(label) if not isinstance(label, tuple) else '/'.join(map(str, label))
+            xml += _stats_to_xml('colstats', array.iloc[:, col].values, bins,
+                                 ' index="%s" label="%s"' % (col, make_valid_xml_value(quote(label, '/>_= '))))
+    else:
+        raise VariableError("Do not know how to compute statistics of type %s" % (type_name))
+
+    return "<xml>%s</xml>" % xml
+
+
+def _stats_to_xml(tag, values, bins, additional_in_xml=''):
+    import numpy
+    kind = values.dtype.kind
+    xml = '<%s%s type="%s" count="%s"' % (tag, additional_in_xml, kind, values.size)
+    if kind == 'b':
+        values = values.astype(numpy.int8)
+    elif kind not in 'iuf':
+        return xml + '/>\n'
+
+    if kind == 'f':
+        nans = numpy.isnan(values)
+        nan_count = int(nans.sum())
+        xml += ' nans="%s"' % nan_count
+        if nan_count:
+            values = values[~nans]
+    if values.size == 0:
+        return xml + '/>\n'
+
+    xml += ' min="%r" max="%r" mean="%r"' % (float(values.min()), float(values.max()), float(values.mean(dtype=numpy.float64)))
+
+    if kind == 'f':
+        values = values[numpy.isfinite(values)]
+    if values.size > 0 and bins > 0:
+        low, high = float(values.min()), float(values.max())
+        if low == high:
+            low, high = low - 0.5, high + 0.5
+        histogram, _ = numpy.histogram(values, bins=bins, range=(low, high))
+        xml += ' hmin="%r" hmax="%r" hist="%s"' % (low, high, ','.join([str(int(count)) for count in histogram]))
+    return xml + '/>\n'
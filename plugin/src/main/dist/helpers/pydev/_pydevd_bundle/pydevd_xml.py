@@ -168,27 +168,43 @@ def frame_vars_to_xml(frame_f_locals, hidden_ns=None):
     """
     xml = ""
 
+    for k in _sorted_frame_keys(frame_f_locals):
+        xml += _frame_var_to_xml(frame_f_locals, k, hidden_ns)
+
+    return xml
+
+
+def frame_vars_page_to_xml(frame_f_locals, offset, limit, hidden_ns=None):
+    """ dumps at most limit frame variables starting from offset to XML
+    @return: the XML, the offset of the next page and the number of variables in the frame
+    """
+    keys = _sorted_frame_keys(frame_f_locals)
+    xml = [_frame_var_to_xml(frame_f_locals, k, hidden_ns) for k in keys[offset:offset + limit]]
+    return ''.join(xml), min(offset + limit, len(keys)), len(keys)
+
+
+def _sorted_frame_keys(frame_f_locals):
     keys = dict_keys(frame_f_locals)
     if hasattr(keys, 'sort'):
         keys.sort() #Python 3.0 does not have it
     else:
         keys = sorted(keys) #Jython 2.1 does not have it
+    return keys
 
-    for k in keys:
-        try:
-            v = frame_f_locals[k]
-            if k == RETURN_VALUES_DICT:
-                xml += return_values_from_dict_to_xml(v)
-            else:
-                if hidden_ns is not None and dict_contains(hidden_ns, k):
-                    xml += var_to_xml(v, str(k), additionalInXml=' isIPythonHidden="True"')
-                else:
-                    xml += var_to_xml(v, str(k))
-        except Exception:
-            traceback.print_exc()
-            pydev_log.error("Unexpected error, recovered safely.\n")
 
-    return xml
+def _frame_var_to_xml(frame_f_locals, k, hidden_ns):
+    try:
+        v = frame_f_locals[k]
+        if k == RETURN_VALUES_DICT:
+            return return_values_from_dict_to_xml(v)
+        elif hidden_ns is not None and dict_contains(hidden_ns, k):
+            return var_to_xml(v, str(k), additionalInXml=' isIPythonHidden="True"')
+        else:
+            return var_to_xml(v, str(k))
+    except Exception:
+        traceback.print_exc()
+        pydev_log.error("Unexpected error, recovered safely.\n")
+        return ""
 
 
 def var_to_xml(val, name, doTrim=True, additionalInXml='', return_value=False, ipython_hidden=False):
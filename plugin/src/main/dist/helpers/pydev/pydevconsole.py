@@ -272,6 +272,28 @@ def handshake():
     return "PyCharm"
 
 
+def register_console_functions(server, interpreter):
+    server.register_function(interpreter.execLine)
+    server.register_function(interpreter.execMultipleLines)
+    server.register_function(interpreter.getCompletions)
+    server.register_function(interpreter.getFrame)
+    server.register_function(interpreter.getFrameChanges)
+    server.register_function(interpreter.getVariable)
+    server.register_function(interpreter.changeVariable)
+    server.register_function(interpreter.getDescription)
+    server.register_function(interpreter.close)
+    server.register_function(interpreter.interrupt)
+    server.register_function(handshake)
+    server.register_function(interpreter.connectToDebugger)
+    server.register_function(interpreter.hello)
+    server.register_function(interpreter.getArray)
+    server.register_function(interpreter.getArrayStats)
+    server.register_function(interpreter.evaluate)
+
+    # Functions for GUI main loop integration
+    server.register_function(interpreter.enableGui)
+
+
 #=======================================================================================================================
 # start_console_server
 #=======================================================================================================================
@@ -296,23 +318,7 @@ def start_console_server(host, port, interpreter):
     # Tell UMD the proper default namespace
     _set_globals_function(interpreter.get_namespace)
 
-    server.register_function(interpreter.execLine)
-    server.register_function(interpreter.execMultipleLines)
-    server.register_function(interpreter.getCompletions)
-    server.register_function(interpreter.getFrame)
-    server.register_function(interpreter.getVariable)
-    server.register_function(interpreter.changeVariable)
-    server.register_function(interpreter.getDescription)
-    server.register_function(interpreter.close)
-    server.register_function(interpreter.interrupt)
-    server.register_function(handshake)
-    server.register_function(interpreter.connectToDebugger)
-    server.register_function(interpreter.hello)
-    server.register_function(interpreter.getArray)
-    server.register_function(interpreter.evaluate)
-
-    # Functions for GUI main loop integration
-    server.register_function(interpreter.enableGui)
+    register_console_functions(server, interpreter)
 
     if port == 0:
         (h, port) = server.socket.getsockname()
@@ -343,14 +349,44 @@ def start_console_server(host, port, interpreter):
     return server
 
 
-def start_server(host, port, client_port):
+#=======================================================================================================================
+# start_socket_console_server
+#=======================================================================================================================
+def start_socket_console_server(host, port, interpreter):
+    '''
+        Serves the IDE over a single persistent socket connection instead of the XML-RPC servers,
+        the IDE is called back (input requests, notifications) over the same connection.
+    '''
+    from _pydev_bundle.pydev_console_socket import accept_channel
+
+    try:
+        channel = accept_channel(host, port)
+    except:
+        sys.stderr.write('Error starting socket server with host: "%s", port: "%s"\n' % (host, port))
+        sys.stderr.flush()
+        raise
+
+    interpreter.socket_channel = channel
+    _set_globals_function(interpreter.get_namespace)
+    register_console_functions(channel, interpreter)
+
+    sys.stderr.write(interpreter.get_greeting_msg())
+    sys.stderr.flush()
+
+    channel.serve_forever()
+
+
+def start_server(host, port, client_port, use_socket=False):
     #replace exit (see comments on method)
     #note that this does not work in jython!!! (sys method can't be replaced).
     sys.exit = do_exit
 
     interpreter = InterpreterInterface(host, client_port, threading.currentThread())
 
-    start_new_thread(start_console_server,(host, port, interpreter))
+    if use_socket:
+        start_new_thread(start_socket_console_server, (host, port, interpreter))
+    else:
+        start_new_thread(start_console_server, (host, port, interpreter))
 
     process_exec_queue(interpreter)
 
@@ -535,4 +571,4 @@ if __name__ == '__main__':
 
         client_port = p
 
-    pydevconsole.start_server(pydev_localhost.get_localhost(), int(port), int(client_port))
+    pydevconsole.start_server(pydev_localhost.get_localhost(), int(port), int(client_port), '--socket' in sys.argv[3:])
@@ -322,6 +322,25 @@ public abstract class PyFormatterTest extends PyTestCase {
     doTest();
   }
 
+  public void testReformatRangeInLargeFile() {
+    final int functions = 5000;
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < functions; i++) {
+      text.append("def f").append(i).append("(a,b):\n    return a+b\n\n\n");
+    }
+    myFixture.configureByText(PythonFileType.INSTANCE, text.toString());
+    final String target = "def f" + functions / 2 + "(a,b):";
+    final int start = text.indexOf(target);
+    ApplicationManager.getApplication().runWriteAction(new Runnable() {
+      @Override
+      public void run() {
+        CodeStyleManager.getInstance(myFixture.getProject()).reformatRange(myFixture.getFile(), start, start + target.length());
+      }
+    });
+    final String expected = text.toString().replace(target, "def f" + functions / 2 + "(a, b):");
+    assertEquals(expected, myFixture.getFile().getText());
+  }
+
   private void doTest() {
     myFixture.configureByFile("formatter/" + getTestName(true) + ".py");
     ApplicationManager.getApplication().runWriteAction(new Runnable() {
@@ -789,6 +789,49 @@ public abstract class PyTypeTest extends PyTestCase {
            "expr = c.foo\n");
   }
 
+  public void testReturnSummaryOfFunctionWithoutReturns() {
+    doCrossFileTest("None",
+                    "def f():\n" +
+                    "    print(1)\n");
+  }
+
+  public void testReturnSummaryAddsImplicitNone() {
+    doCrossFileTest("int | None",
+                    "def f(x):\n" +
+                    "    if x:\n" +
+                    "        return 1\n");
+  }
+
+  public void testReturnSummaryWithoutImplicitNone() {
+    doCrossFileTest("int | float",
+                    "def f(x):\n" +
+                    "    if x:\n" +
+                    "        return 1\n" +
+                    "    else:\n" +
+                    "        return 1.0\n");
+  }
+
+  public void testReturnSummaryOfPlaceholderBodies() {
+    assertNull(getCrossFileType("def f():\n" +
+                                "    pass\n"));
+    assertNull(getCrossFileType("def f():\n" +
+                                "    \"\"\"Docstring.\"\"\"\n" +
+                                "    ...\n"));
+    assertNull(getCrossFileType("def f():\n" +
+                                "    raise NotImplementedError()\n"));
+    assertNull(getCrossFileType("import abc\n" +
+                                "@abc.abstractmethod\n" +
+                                "def f():\n" +
+                                "    print(1)\n"));
+  }
+
+  public void testReturnSummaryOfCallIsUnknown() {
+    assertNull(getCrossFileType("def f():\n" +
+                                "    class C(object):\n" +
+                                "        pass\n" +
+                                "    return C()\n"));
+  }
+
   private static TypeEvalContext getTypeEvalContext(PyExpression element) {
     return TypeEvalContext.userInitiated(element.getProject(), element.getContainingFile()).withTracing();
   }
@@ -798,6 +841,21 @@ public abstract class PyTypeTest extends PyTestCase {
     return myFixture.findElementByText("expr", PyExpression.class);
   }
 
+  /**
+   * @return type of a call of {@code f} defined in another file, which is inferred from its stub
+   */
+  private PyType getCrossFileType(String moduleText) {
+    myFixture.addFileToProject("m.py", moduleText);
+    PyExpression expr = parseExpr("from m import f\n" +
+                                  "expr = f()\n");
+    return TypeEvalContext.codeAnalysis(expr.getProject(), expr.getContainingFile()).getType(expr);
+  }
+
+  private void doCrossFileTest(String expectedType, String moduleText) {
+    PyType actual = getCrossFileType(moduleText);
+    assertEquals(expectedType, PythonDocumentationProvider.getTypeName(actual, TypeEvalContext.codeInsightFallback(myFixture.getProject())));
+  }
+
   private void doTest(String expectedType, String text) {
     PyExpression expr = parseExpr(text);
     TypeEvalContext context = getTypeEvalContext(expr);
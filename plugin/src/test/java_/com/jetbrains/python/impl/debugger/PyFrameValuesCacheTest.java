@@ -0,0 +1,94 @@
+package com.jetbrains.python.impl.debugger;
+
+import com.jetbrains.python.debugger.PyDebugValue;
+import com.jetbrains.python.debugger.PyDebugValuesPage;
+import com.jetbrains.python.debugger.PyStackFrameInfo;
+import consulo.execution.debug.frame.XValueChildrenList;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+/**
+ * Checks that variables of a frame are not reused after its thread ran, unless the debugger confirms their digest, even when
+ * the frame itself only waited for a call:
+ * <pre>
+ * counter = 0
+ * def outer():
+ *   items = []
+ *   total = 0
+ *   def inner():
+ *     global counter
+ *     nonlocal total
+ *     counter += 1
+ *     total += 1
+ *     items.append(1)
+ *   inner()  # stepping through inner() changes the variables shown for outer()
+ * </pre>
+ */
+public abstract class PyFrameValuesCacheTest extends TestCase {
+  private static final String THREAD_ID = "pid_1_id_1";
+  private static final String KEY = "frame";
+
+  private final PyFrameValuesCache myCache = new PyFrameValuesCache();
+  private final PyStackFrame myOuterFrame = createFrame("2", "outer");
+
+  public void testReusedWhileSuspended() {
+    myCache.update(myOuterFrame, KEY, createPage("total", "int", "0", "d1"));
+    assertValue(myCache.get(myOuterFrame, KEY), "0");
+  }
+
+  public void testNotReusedAfterStepWithoutConfirmation() {
+    // global, nonlocal and mutated variables of outer() may all have changed in inner()
+    myCache.update(myOuterFrame, KEY, createPage("counter", "int", "0", "d1"));
+    myCache.update(myOuterFrame, KEY + "@total", createPage("total", "int", "0", "d2"));
+    myCache.update(myOuterFrame, KEY + "@items", createPage("items", "list", "[]", "d3"));
+    // the same outer frame, suspended again in inner() after a step
+    myCache.threadSuspended(THREAD_ID, List.of("3", "2"));
+    PyStackFrame frame = createFrame("2", "outer");
+    assertNull(myCache.get(frame, KEY));
+    assertNull(myCache.get(frame, KEY + "@total"));
+    assertNull(myCache.get(frame, KEY + "@items"));
+    assertEquals("d1", myCache.getDigest(frame, KEY));
+  }
+
+  public void testReusedWhenConfirmedUnchanged() {
+    myCache.update(myOuterFrame, KEY, createPage("total", "int", "0", "d1"));
+    myCache.threadSuspended(THREAD_ID, List.of("3", "2"));
+    PyDebugValuesPage unchanged = new PyDebugValuesPage(new XValueChildrenList(), 1, 1, 10, "d1", true);
+    assertValue(myCache.update(myOuterFrame, KEY, unchanged), "0");
+    assertValue(myCache.get(myOuterFrame, KEY), "0");
+  }
+
+  public void testReplacedWhenChanged() {
+    myCache.update(myOuterFrame, KEY, createPage("total", "int", "0", "d1"));
+    myCache.threadSuspended(THREAD_ID, List.of("3", "2"));
+    assertValue(myCache.update(myOuterFrame, KEY, createPage("total", "int", "1", "d2")), "1");
+    assertEquals("d2", myCache.getDigest(myOuterFrame, KEY));
+  }
+
+  public void testUnchangedWithoutCachedPageReloaded() {
+    PyDebugValuesPage unchanged = new PyDebugValuesPage(new XValueChildrenList(), 1, 1, 10, "d1", true);
+    assertNull(myCache.update(myOuterFrame, KEY, unchanged));
+  }
+
+  public void testDroppedWhenFrameLeavesStack() {
+    myCache.update(myOuterFrame, KEY, createPage("total", "int", "0", "d1"));
+    myCache.threadSuspended(THREAD_ID, List.of("1"));
+    assertNull(myCache.getDigest(myOuterFrame, KEY));
+  }
+
+  private static void assertValue(PyDebugValuesPage page, String value) {
+    assertNotNull(page);
+    assertEquals(value, ((PyDebugValue)page.getValues().getValue(0)).getValue());
+  }
+
+  private static PyStackFrame createFrame(String id, String name) {
+    return new PyStackFrame(null, null, new PyStackFrameInfo(THREAD_ID, id, name, null), null);
+  }
+
+  private static PyDebugValuesPage createPage(String name, String type, String value, String digest) {
+    XValueChildrenList values = new XValueChildrenList();
+    values.add(name, new PyDebugValue(name, type, null, value, false, false, false, false, null));
+    return new PyDebugValuesPage(values, 1, 1, 100, digest, false);
+  }
+}
@@ -0,0 +1,65 @@
+package com.jetbrains.python.profiler;
+
+import com.jetbrains.python.impl.profiler.PyCallTree;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+/**
+ * Checks the call tree merged from the lines sent by {@code sampling_profiler.py}.
+ */
+public abstract class PyCallTreeTest extends TestCase {
+  private static PyCallTree createTree() {
+    PyCallTree tree = new PyCallTree();
+    assertTrue(tree.addLine("F\t0\t/srv/app/main.py\t<module>\t1"));
+    assertTrue(tree.addLine("F\t1\t/srv/app/main.py\tcompute\t10"));
+    assertTrue(tree.addLine("F\t2\t/srv/app/util.py\tparse\t3"));
+    assertTrue(tree.addLine("S\tMainThread\t5\t0:20,1:12"));
+    assertTrue(tree.addLine("S\tMainThread\t3\t0:20,1:14,2:5"));
+    assertTrue(tree.addLine("S\tMainThread\t1\t0:21,1:12"));
+    assertTrue(tree.addLine("S\tWorker\t2\t2:4"));
+    assertTrue(tree.addLine("T\t11\t0.004"));
+    return tree;
+  }
+
+  public void testMergesStacks() {
+    PyCallTree tree = createTree();
+    PyCallTree.Node root = tree.getRoot();
+    assertEquals(11, root.getSamples());
+
+    List<PyCallTree.Node> threads = root.getChildren();
+    assertEquals(2, threads.size());
+    assertEquals("MainThread", threads.get(0).getName());
+    assertEquals(9, threads.get(0).getSamples());
+
+    PyCallTree.Node module = threads.get(0).getChildren().get(0);
+    assertEquals(1, threads.get(0).getChildren().size());
+    assertEquals(20, module.getHottestLine());
+
+    PyCallTree.Node compute = module.getChildren().get(0);
+    assertEquals("compute", compute.getName());
+    assertEquals(9, compute.getSamples());
+    assertEquals(6, compute.getSelfSamples());
+    assertEquals(12, compute.getHottestLine());
+    assertEquals("/srv/app/main.py", compute.getFunction().getFile());
+
+    PyCallTree.Node parse = compute.getChildren().get(0);
+    assertEquals(3, parse.getSamples());
+    assertEquals(3, parse.getSelfSamples());
+    assertTrue(parse.getChildren().isEmpty());
+  }
+
+  public void testTotals() {
+    PyCallTree tree = createTree();
+    assertEquals(11, tree.getSampleCount());
+    assertEquals(0.004, tree.getSamplingTime(), 1e-9);
+  }
+
+  public void testSkipsMalformedLines() {
+    PyCallTree tree = createTree();
+    assertFalse(tree.addLine("S\tMainThread\t1\t7:1"));
+    assertFalse(tree.addLine("S\tMainThread\tmany\t0:1"));
+    assertFalse(tree.addLine("X\t1"));
+    assertEquals(11, tree.getRoot().getSamples());
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.traceBackParsers;
+
+import com.jetbrains.python.impl.run.PyTracebackParser;
+import com.jetbrains.python.impl.testing.pytest.PyTestTracebackParser;
+import com.jetbrains.python.impl.traceBackParsers.LinkInTrace;
+import com.jetbrains.python.impl.traceBackParsers.TraceBackParser;
+import com.intellij.testFramework.PlatformTestUtil;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks links found by the traceback parsers and measures them on log output where almost no line is a traceback line.
+ */
+public abstract class TraceBackParserTest extends TestCase {
+  private static final String[] PYTEST_LOG = {
+    "============================= test session starts ==============================",
+    "collected 1024 items",
+    "tests/test_models.py::test_create PASSED                                 [  1%]",
+    "tests/test_views.py::TestIndex::test_get FAILED                           [  2%]",
+    "    def test_get(self):",
+    ">       assert response.status_code == 200",
+    "E       assert 404 == 200",
+    "tests/test_views.py:42: AssertionError",
+  };
+
+  private static final String[] DJANGO_LOG = {
+    "[19/Oct/2026 10:15:02] \"GET /api/items/?page=3 HTTP/1.1\" 200 5123",
+    "INFO 2026-10-19 10:15:02,114 basehttp \"POST /login/ HTTP/1.1\" 302 0",
+    "DEBUG (0.002) SELECT \"app_item\".\"id\", \"app_item\".\"name\" FROM \"app_item\" LIMIT 21; args=()",
+    "Traceback (most recent call last):",
+    "  File \"/srv/app/views.py\", line 118, in get",
+    "    return self.render(items)",
+    "KeyError: 'name'",
+  };
+
+  public void testPythonTraceback() {
+    LinkInTrace link = new PyTracebackParser().findLinkInTrace("  File \"/srv/app/views.py\", line 118, in get");
+    assertNotNull(link);
+    assertEquals("/srv/app/views.py", link.getFileName());
+    assertEquals(118, link.getLineNumber());
+  }
+
+  public void testPyTestTraceback() {
+    LinkInTrace link = new PyTestTracebackParser().findLinkInTrace("tests/test_views.py:42: AssertionError");
+    assertNotNull(link);
+    assertEquals("tests/test_views.py", link.getFileName());
+    assertEquals(42, link.getLineNumber());
+  }
+
+  public void testLinesWithoutMarkers() {
+    for (TraceBackParser parser : TraceBackParser.PARSERS) {
+      assertFalse(parser.mayContainLink("INFO request finished in 12 ms"));
+      assertNull(parser.findLinkInTrace("INFO request finished in 12 ms"));
+    }
+    assertFalse(new PyTracebackParser().mayContainLink("tests/test_views.py:42: AssertionError"));
+    assertFalse(new PyTestTracebackParser().mayContainLink("  File \"/srv/app/views.py\", line 118, in get"));
+  }
+
+  public void testPerformanceOnLogs() {
+    measure("pytest", PYTEST_LOG);
+    measure("django", DJANGO_LOG);
+  }
+
+  private static void measure(String name, String[] sample) {
+    final List<String> lines = new ArrayList<String>();
+    for (int i = 0; i < 50000; i++) {
+      lines.add(sample[i % sample.length]);
+    }
+    // Warm up
+    final int links = parseAll(lines);
+    PlatformTestUtil.startPerformanceTest("Parsing " + name + " log", 500, () -> assertEquals(links, parseAll(lines))).assertTiming();
+  }
+
+  private static int parseAll(List<String> lines) {
+    int links = 0;
+    for (String line : lines) {
+      for (TraceBackParser parser : TraceBackParser.PARSERS) {
+        if (parser.findLinkInTrace(line) != null) {
+          links++;
+          break;
+        }
+      }
+    }
+    return links;
+  }
+}
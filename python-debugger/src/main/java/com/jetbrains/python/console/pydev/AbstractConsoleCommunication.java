@@ -81,6 +81,14 @@ public abstract class AbstractConsoleCommunication implements ConsoleCommunicati
 		}
 	}
 
+	public void notifyVariablesChanged()
+	{
+		for(ConsoleCommunicationListener listener : communicationListeners)
+		{
+			listener.variablesChanged();
+		}
+	}
+
 	public VirtualFile getConsoleFile()
 	{
 		return myConsoleFile;
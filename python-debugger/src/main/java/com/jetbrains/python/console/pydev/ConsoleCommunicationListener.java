@@ -6,4 +6,11 @@ package com.jetbrains.python.console.pydev;
 public interface ConsoleCommunicationListener {
 	void commandExecuted(boolean more);
 	void inputRequested();
+
+	/**
+	 * Called when the console reports that its variables changed, only by communications that push such notifications.
+	 */
+	default void variablesChanged()
+	{
+	}
 }
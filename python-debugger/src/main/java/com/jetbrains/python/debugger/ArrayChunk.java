@@ -32,7 +32,8 @@ public class ArrayChunk
 	private final String myMin;
 	private final String myFormat;
 	private final String myType;
-	private final Object[][] myData;
+	private final ArrayColumn[] myData;
+	private final int myDataRows;
 	private final List<String> myRowLabels;
 	private final List<ColHeader> myColHeaders;
 
@@ -45,7 +46,7 @@ public class ArrayChunk
 			String min,
 			String format,
 			String type,
-			@Nullable Object[][] data,
+			@Nullable ArrayColumn[] data,
 			List<String> labels,
 			List<ColHeader> headers)
 	{
@@ -58,6 +59,7 @@ public class ArrayChunk
 		myFormat = format;
 		myType = type;
 		myData = data;
+		myDataRows = data == null || data.length == 0 ? 0 : data[0].size();
 		myRowLabels = labels;
 		myColHeaders = headers;
 	}
@@ -102,9 +104,58 @@ public class ArrayChunk
 		return myType;
 	}
 
+	/**
+	 * Copies the cells to a new array of strings, prefer {@link #getText(int, int)} and {@link #getDouble(int, int)}.
+	 */
+	@Nullable
 	public Object[][] getData()
 	{
-		return myData;
+		if(myData == null)
+		{
+			return null;
+		}
+		Object[][] data = new Object[myDataRows][myData.length];
+		for(int row = 0; row < myDataRows; row++)
+		{
+			for(int col = 0; col < myData.length; col++)
+			{
+				data[row][col] = myData[col].getText(row);
+			}
+		}
+		return data;
+	}
+
+	public int getDataRows()
+	{
+		return myDataRows;
+	}
+
+	public int getDataColumns()
+	{
+		return myData == null ? 0 : myData.length;
+	}
+
+	public ArrayColumn getColumnData(int col)
+	{
+		return myData[col];
+	}
+
+	public String getText(int row, int col)
+	{
+		return myData[col].getText(row);
+	}
+
+	/**
+	 * @return value of the cell as a number, NaN if it isn't one
+	 */
+	public double getDouble(int row, int col)
+	{
+		return myData[col].getDouble(row);
+	}
+
+	public void setText(int row, int col, String text)
+	{
+		myData[col] = myData[col].withText(row, text);
 	}
 
 	public List<String> getRowLabels()
@@ -28,6 +28,7 @@ public class ArrayChunkBuilder
 	private String myFormat;
 	private String myType;
 	private Object[][] myData = null;
+	private ArrayColumn[] myColumnData = null;
 	private List<String> myRowLabels = null;
 	private List<ArrayChunk.ColHeader> myColHeaders = null;
 
@@ -85,6 +86,12 @@ public class ArrayChunkBuilder
 		return this;
 	}
 
+	public ArrayChunkBuilder setColumnData(ArrayColumn[] columnData)
+	{
+		myColumnData = columnData;
+		return this;
+	}
+
 	public void setRowLabels(List<String> rowLabels)
 	{
 		myRowLabels = rowLabels;
@@ -97,6 +104,27 @@ public class ArrayChunkBuilder
 
 	public ArrayChunk createArrayChunk()
 	{
-		return new ArrayChunk(myValue, myPresentation, myRows, myColumns, myMax, myMin, myFormat, myType, myData, myRowLabels, myColHeaders);
+		ArrayColumn[] columnData = myColumnData != null ? myColumnData : toColumns(myData);
+		return new ArrayChunk(myValue, myPresentation, myRows, myColumns, myMax, myMin, myFormat, myType, columnData, myRowLabels, myColHeaders);
+	}
+
+	private ArrayColumn[] toColumns(Object[][] data)
+	{
+		if(data == null)
+		{
+			return null;
+		}
+		int cols = data.length == 0 ? 0 : data[0].length;
+		ArrayColumn[] result = new ArrayColumn[cols];
+		for(int col = 0; col < cols; col++)
+		{
+			String[] texts = new String[data.length];
+			for(int row = 0; row < data.length; row++)
+			{
+				texts[row] = data[row][col] == null ? null : data[row][col].toString();
+			}
+			result[col] = ArrayColumn.of(texts, myFormat);
+		}
+		return result;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,377 @@
+package com.jetbrains.python.debugger;
+
+import java.util.HashMap;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Cells of one column of an {@link ArrayChunk} kept in the narrowest form they allow.
+ * <p>
+ * A column is stored as {@code long[]}, {@code double[]} or {@code boolean[]} only if printing the parsed values gives back
+ * exactly the text sent by the debugger, other columns keep every distinct string once and refer to it by index.
+ */
+public abstract class ArrayColumn
+{
+	public enum Kind
+	{
+		LONG,
+		DOUBLE,
+		BOOLEAN,
+		STRING
+	}
+
+	public abstract Kind getKind();
+
+	public abstract int size();
+
+	public abstract String getText(int row);
+
+	/**
+	 * @return value of the cell as a number, NaN if it isn't one
+	 */
+	public abstract double getDouble(int row);
+
+	public abstract ArrayColumn slice(int from, int to);
+
+	/**
+	 * @return column with the cell replaced, this column is left unchanged
+	 */
+	public ArrayColumn withText(int row, String text)
+	{
+		String[] texts = new String[size()];
+		for(int i = 0; i < texts.length; i++)
+		{
+			texts[i] = i == row ? text : getText(i);
+		}
+		return of(texts, getFormat());
+	}
+
+	@Nullable
+	protected String getFormat()
+	{
+		return null;
+	}
+
+	/**
+	 * @param format printf-style format the debugger used for the cells, if any
+	 */
+	public static ArrayColumn of(String[] texts, @Nullable String format)
+	{
+		ArrayColumn column = LongColumn.parse(texts);
+		if(column == null)
+		{
+			column = BooleanColumn.parse(texts);
+		}
+		if(column == null && format != null)
+		{
+			column = DoubleColumn.parse(texts, format);
+		}
+		return column != null ? column : StringColumn.create(texts);
+	}
+
+	private static class LongColumn extends ArrayColumn
+	{
+		private final long[] myValues;
+
+		private LongColumn(long[] values)
+		{
+			myValues = values;
+		}
+
+		@Nullable
+		private static LongColumn parse(String[] texts)
+		{
+			long[] values = new long[texts.length];
+			for(int i = 0; i < texts.length; i++)
+			{
+				String text = texts[i];
+				if(text == null || text.isEmpty() || text.length() > 19)
+				{
+					return null;
+				}
+				try
+				{
+					values[i] = Long.parseLong(text);
+				}
+				catch(NumberFormatException e)
+				{
+					return null;
+				}
+				// "+1" and "01" are numbers too, but would be printed differently
+				if(!Long.toString(values[i]).equals(text))
+				{
+					return null;
+				}
+			}
+			return new LongColumn(values);
+		}
+
+		@Override
+		public Kind getKind()
+		{
+			return Kind.LONG;
+		}
+
+		@Override
+		public int size()
+		{
+			return myValues.length;
+		}
+
+		@Override
+		public String getText(int row)
+		{
+			return Long.toString(myValues[row]);
+		}
+
+		@Override
+		public double getDouble(int row)
+		{
+			return myValues[row];
+		}
+
+		@Override
+		public ArrayColumn slice(int from, int to)
+		{
+			long[] values = new long[to - from];
+			System.arraycopy(myValues, from, values, 0, values.length);
+			return new LongColumn(values);
+		}
+	}
+
+	private static class DoubleColumn extends ArrayColumn
+	{
+		private final double[] myValues;
+		private final String myFormat;
+
+		private DoubleColumn(double[] values, String format)
+		{
+			myValues = values;
+			myFormat = format;
+		}
+
+		@Nullable
+		private static DoubleColumn parse(String[] texts, String format)
+		{
+			double[] values = new double[texts.length];
+			try
+			{
+				for(int i = 0; i < texts.length; i++)
+				{
+					String text = texts[i];
+					if(text == null)
+					{
+						return null;
+					}
+					values[i] = parseDouble(text);
+					if(!format(values[i], format).equals(text))
+					{
+						return null;
+					}
+				}
+			}
+			catch(NumberFormatException | IllegalFormatException e)
+			{
+				return null;
+			}
+			return new DoubleColumn(values, format);
+		}
+
+		private static double parseDouble(String text)
+		{
+			switch(text)
+			{
+				case "nan":
+					return Double.NaN;
+				case "inf":
+					return Double.POSITIVE_INFINITY;
+				case "-inf":
+					return Double.NEGATIVE_INFINITY;
+				default:
+					return Double.parseDouble(text);
+			}
+		}
+
+		private static String format(double value, String format)
+		{
+			// Python spells these differently
+			if(Double.isNaN(value))
+			{
+				return "nan";
+			}
+			if(Double.isInfinite(value))
+			{
+				return value > 0 ? "inf" : "-inf";
+			}
+			return String.format(Locale.US, format, value);
+		}
+
+		@Override
+		public Kind getKind()
+		{
+			return Kind.DOUBLE;
+		}
+
+		@Override
+		protected String getFormat()
+		{
+			return myFormat;
+		}
+
+		@Override
+		public int size()
+		{
+			return myValues.length;
+		}
+
+		@Override
+		public String getText(int row)
+		{
+			return format(myValues[row], myFormat);
+		}
+
+		@Override
+		public double getDouble(int row)
+		{
+			return myValues[row];
+		}
+
+		@Override
+		public ArrayColumn slice(int from, int to)
+		{
+			double[] values = new double[to - from];
+			System.arraycopy(myValues, from, values, 0, values.length);
+			return new DoubleColumn(values, myFormat);
+		}
+	}
+
+	private static class BooleanColumn extends ArrayColumn
+	{
+		private final boolean[] myValues;
+
+		private BooleanColumn(boolean[] values)
+		{
+			myValues = values;
+		}
+
+		@Nullable
+		private static BooleanColumn parse(String[] texts)
+		{
+			boolean[] values = new boolean[texts.length];
+			for(int i = 0; i < texts.length; i++)
+			{
+				if("True".equals(texts[i]))
+				{
+					values[i] = true;
+				}
+				else if(!"False".equals(texts[i]))
+				{
+					return null;
+				}
+			}
+			return new BooleanColumn(values);
+		}
+
+		@Override
+		public Kind getKind()
+		{
+			return Kind.BOOLEAN;
+		}
+
+		@Override
+		public int size()
+		{
+			return myValues.length;
+		}
+
+		@Override
+		public String getText(int row)
+		{
+			return myValues[row] ? "True" : "False";
+		}
+
+		@Override
+		public double getDouble(int row)
+		{
+			return myValues[row] ? 1 : 0;
+		}
+
+		@Override
+		public ArrayColumn slice(int from, int to)
+		{
+			boolean[] values = new boolean[to - from];
+			System.arraycopy(myValues, from, values, 0, values.length);
+			return new BooleanColumn(values);
+		}
+	}
+
+	private static class StringColumn extends ArrayColumn
+	{
+		private final String[] myDictionary;
+		private final int[] myCodes;
+
+		private StringColumn(String[] dictionary, int[] codes)
+		{
+			myDictionary = dictionary;
+			myCodes = codes;
+		}
+
+		private static StringColumn create(String[] texts)
+		{
+			Map<String, Integer> codes = new HashMap<>();
+			int[] result = new int[texts.length];
+			for(int i = 0; i < texts.length; i++)
+			{
+				String text = texts[i] == null ? "" : texts[i];
+				Integer code = codes.get(text);
+				if(code == null)
+				{
+					code = codes.size();
+					codes.put(text, code);
+				}
+				result[i] = code;
+			}
+			String[] dictionary = new String[codes.size()];
+			for(Map.Entry<String, Integer> entry : codes.entrySet())
+			{
+				dictionary[entry.getValue()] = entry.getKey();
+			}
+			return new StringColumn(dictionary, result);
+		}
+
+		@Override
+		public Kind getKind()
+		{
+			return Kind.STRING;
+		}
+
+		@Override
+		public int size()
+		{
+			return myCodes.length;
+		}
+
+		@Override
+		public String getText(int row)
+		{
+			return myDictionary[myCodes[row]];
+		}
+
+		@Override
+		public double getDouble(int row)
+		{
+			return Double.NaN;
+		}
+
+		@Override
+		public ArrayColumn slice(int from, int to)
+		{
+			int[] codes = new int[to - from];
+			System.arraycopy(myCodes, from, codes, 0, codes.length);
+			return new StringColumn(myDictionary, codes);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.jetbrains.python.debugger;
+
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Summary of a numeric container computed by the debugger: the cells themselves are not transferred
+ */
+public class ArrayStats
+{
+	private final Stats myTotal;
+	private final List<Stats> myColumns;
+
+	public ArrayStats(@Nullable Stats total, List<Stats> columns)
+	{
+		myTotal = total;
+		myColumns = columns;
+	}
+
+	/**
+	 * @return summary of all the cells, null for data frames
+	 */
+	@Nullable
+	public Stats getTotal()
+	{
+		return myTotal;
+	}
+
+	/**
+	 * @return summaries of the columns of a 2-dimensional array or a data frame, empty for other arrays
+	 */
+	public List<Stats> getColumns()
+	{
+		return myColumns;
+	}
+
+	@Nullable
+	public Stats getColumn(int index)
+	{
+		return index >= 0 && index < myColumns.size() ? myColumns.get(index) : null;
+	}
+
+	public static class Stats
+	{
+		private final String myLabel;
+		private final String myType;
+		private final long myCount;
+		private final long myNanCount;
+		private final double myMin;
+		private final double myMax;
+		private final double myMean;
+		private final double myHistogramMin;
+		private final double myHistogramMax;
+		private final long[] myHistogram;
+
+		public Stats(@Nullable String label,
+				String type,
+				long count,
+				long nanCount,
+				double min,
+				double max,
+				double mean,
+				double histogramMin,
+				double histogramMax,
+				long[] histogram)
+		{
+			myLabel = label;
+			myType = type;
+			myCount = count;
+			myNanCount = nanCount;
+			myMin = min;
+			myMax = max;
+			myMean = mean;
+			myHistogramMin = histogramMin;
+			myHistogramMax = histogramMax;
+			myHistogram = histogram;
+		}
+
+		@Nullable
+		public String getLabel()
+		{
+			return myLabel;
+		}
+
+		/**
+		 * @return numpy kind of the values, e.g. "f" or "i"
+		 */
+		public String getType()
+		{
+			return myType;
+		}
+
+		public long getCount()
+		{
+			return myCount;
+		}
+
+		public long getNanCount()
+		{
+			return myNanCount;
+		}
+
+		/**
+		 * @return false if there are no numbers to summarize, min, max and mean are NaN then
+		 */
+		public boolean isNumeric()
+		{
+			return !Double.isNaN(myMin);
+		}
+
+		public double getMin()
+		{
+			return myMin;
+		}
+
+		public double getMax()
+		{
+			return myMax;
+		}
+
+		public double getMean()
+		{
+			return myMean;
+		}
+
+		public double getHistogramMin()
+		{
+			return myHistogramMin;
+		}
+
+		public double getHistogramMax()
+		{
+			return myHistogramMax;
+		}
+
+		/**
+		 * @return numbers of finite values in equal bins between {@link #getHistogramMin()} and {@link #getHistogramMax()}
+		 */
+		public long[] getHistogram()
+		{
+			return myHistogram;
+		}
+	}
+}
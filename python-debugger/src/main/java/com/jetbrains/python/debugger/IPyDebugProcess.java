@@ -1,11 +1,13 @@
 package com.jetbrains.python.debugger;
 
 import java.io.IOException;
+import java.util.List;
 
 import consulo.execution.debug.XDebugSession;
 import consulo.execution.debug.frame.XValueChildrenList;
 import consulo.execution.ui.console.ConsoleViewContentType;
 import com.jetbrains.python.debugger.pydev.PyDebugCallback;
+import org.jspecify.annotations.Nullable;
 
 /**
  * @author yole
@@ -28,12 +30,25 @@ public interface IPyDebugProcess extends PyFrameAccessor
 
 	void recordSignature(PySignature signature);
 
+	/**
+	 * @param coalescedCount number of calls not reported by the debugger because their signatures were already sent
+	 */
+	void recordSignatures(List<PySignature> signatures, int coalescedCount);
+
 	void recordLogEvent(PyConcurrencyEvent event);
 
+	void recordConditionStats(List<PyConditionStats> stats);
+
 	void showConsole(PyThreadInfo thread);
 
 	void loadReferrers(PyReferringObjectsValue var, PyDebugCallback<XValueChildrenList> callback);
 
+	PyReferrersLoader.Search loadReferrers(PyReferringObjectsValue var,
+			@Nullable PyReferrersLoader.Search previous,
+			int offset,
+			int limit,
+			PyReferrersLoader.Listener listener);
+
 	void suspendAllOtherThreads(PyThreadInfo thread);
 
 	boolean isSuspendedOnAllThreadsPolicy();
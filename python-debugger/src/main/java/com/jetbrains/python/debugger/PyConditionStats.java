@@ -0,0 +1,46 @@
+package com.jetbrains.python.debugger;
+
+/**
+ * Cost of the condition of a breakpoint since it was set, reported by the debugger while the program runs
+ */
+public class PyConditionStats
+{
+	private final PySourcePosition myPosition;
+	private final long myEvaluations;
+	private final long myHits;
+	private final double myTime;
+
+	public PyConditionStats(PySourcePosition position, long evaluations, long hits, double time)
+	{
+		myPosition = position;
+		myEvaluations = evaluations;
+		myHits = hits;
+		myTime = time;
+	}
+
+	public PySourcePosition getPosition()
+	{
+		return myPosition;
+	}
+
+	public long getEvaluations()
+	{
+		return myEvaluations;
+	}
+
+	/**
+	 * @return number of evaluations the condition was true in
+	 */
+	public long getHits()
+	{
+		return myHits;
+	}
+
+	/**
+	 * @return seconds spent evaluating the condition
+	 */
+	public double getTime()
+	{
+		return myTime;
+	}
+}
@@ -13,11 +13,11 @@ import org.jspecify.annotations.Nullable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-// todo: load long lists by parts
 // todo: null modifier for modify modules, class objects etc.
 public class PyDebugValue extends XNamedValue {
     private static final Logger LOG = Logger.getInstance("#com.jetbrains.python.pydev.PyDebugValue");
     public static final int MAX_VALUE = 256;
+    public static final int CHILDREN_PAGE_SIZE = 100;
 
     public static final String RETURN_VALUES_PREFIX = "__pydevd_ret_val_dict";
 
@@ -37,6 +37,12 @@ public class PyDebugValue extends XNamedValue {
 
     private final boolean myErrorOnEval;
 
+    // node the children are loaded into and the number loaded so far, the next page is loaded from here when the same node
+    // asks for more, a new node (e.g. after the views are rebuilt) starts from the first page again
+    @Nullable
+    private volatile XCompositeNode myPagedNode;
+    private volatile int myLoadedChildren;
+
     public PyDebugValue(String name,
                         String type,
                         String typeQualifier,
@@ -107,6 +113,17 @@ public class PyDebugValue extends XNamedValue {
         return new PyDebugValue(myName, myType, myTypeQualifier, myValue, myContainer, myIsReturnedVal, myIsIPythonHidden, myErrorOnEval, parent, myFrameAccessor);
     }
 
+    /**
+     * @return the same value with no children loaded yet, to be shown in another node
+     */
+    public PyDebugValue copy() {
+        PyDebugValue value = new PyDebugValue(myName, myType, myTypeQualifier, myValue, myContainer, myIsReturnedVal, myIsIPythonHidden, myErrorOnEval, myParent, myFrameAccessor);
+        value.myTempName = myTempName;
+        value.myId = myId;
+        value.myVariableLocator = myVariableLocator;
+        return value;
+    }
+
     public PyDebugValue getParent() {
         return myParent;
     }
@@ -241,15 +258,24 @@ public class PyDebugValue extends XNamedValue {
         if (node.isObsolete()) {
             return;
         }
+        if (myPagedNode != node) {
+            myPagedNode = node;
+            myLoadedChildren = 0;
+        }
+        int offset = myLoadedChildren;
         ApplicationManager.getApplication().executeOnPooledThread(() -> {
             if (myFrameAccessor == null) {
                 return;
             }
 
             try {
-                XValueChildrenList values = myFrameAccessor.loadVariable(this);
+                PyDebugValuesPage page = myFrameAccessor.loadVariablePage(this, offset, CHILDREN_PAGE_SIZE);
                 if (!node.isObsolete()) {
-                    node.addChildren(values, true);
+                    myLoadedChildren = page.getNextOffset();
+                    node.addChildren(page.getValues(), !page.hasMore());
+                    if (page.hasMore()) {
+                        node.tooManyChildren(page.getRemaining());
+                    }
                 }
             }
             catch (PyDebuggerException e) {
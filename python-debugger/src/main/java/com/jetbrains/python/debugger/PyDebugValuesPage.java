@@ -0,0 +1,100 @@
+package com.jetbrains.python.debugger;
+
+import consulo.execution.debug.frame.XValueChildrenList;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Part of the children of a frame or a variable loaded at once
+ */
+public class PyDebugValuesPage
+{
+	private final XValueChildrenList myValues;
+	private final int myNextOffset;
+	private final int myTotal;
+	private final int mySize;
+	@Nullable
+	private final String myDigest;
+	private final boolean myUnchanged;
+
+	public PyDebugValuesPage(XValueChildrenList values, int nextOffset, int total)
+	{
+		this(values, nextOffset, total, 0);
+	}
+
+	public PyDebugValuesPage(XValueChildrenList values, int nextOffset, int total, int size)
+	{
+		this(values, nextOffset, total, size, null, false);
+	}
+
+	public PyDebugValuesPage(XValueChildrenList values, int nextOffset, int total, int size, @Nullable String digest, boolean unchanged)
+	{
+		myValues = values;
+		myNextOffset = nextOffset;
+		myTotal = total;
+		mySize = size;
+		myDigest = digest;
+		myUnchanged = unchanged;
+	}
+
+	/**
+	 * @return page holding all the children, for accessors which can't load them by parts
+	 */
+	public static PyDebugValuesPage whole(@Nullable XValueChildrenList values)
+	{
+		return new PyDebugValuesPage(values != null ? values : XValueChildrenList.EMPTY, 0, 0);
+	}
+
+	public XValueChildrenList getValues()
+	{
+		return myValues;
+	}
+
+	/**
+	 * @return offset to load the next page from
+	 */
+	public int getNextOffset()
+	{
+		return myNextOffset;
+	}
+
+	public int getTotal()
+	{
+		return myTotal;
+	}
+
+	/**
+	 * @return length of the debugger response the page was read from, 0 if unknown
+	 */
+	public int getSize()
+	{
+		return mySize;
+	}
+
+	/**
+	 * @return digest of the page content computed by the debugger, null if the debugger doesn't compute it
+	 */
+	@Nullable
+	public String getDigest()
+	{
+		return myDigest;
+	}
+
+	/**
+	 * @return true if the debugger found the page equal to the one with the requested digest and sent no values
+	 */
+	public boolean isUnchanged()
+	{
+		return myUnchanged;
+	}
+
+	public boolean hasMore()
+	{
+		return myNextOffset < myTotal;
+	}
+
+	public int getRemaining()
+	{
+		return Math.max(myTotal - myNextOffset, 0);
+	}
+}
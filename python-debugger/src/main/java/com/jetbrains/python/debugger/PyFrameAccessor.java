@@ -19,6 +19,22 @@ public interface PyFrameAccessor
 
 	XValueChildrenList loadVariable(PyDebugValue var) throws PyDebuggerException;
 
+	/**
+	 * Loads at most {@code limit} variables of the frame starting from {@code offset}
+	 */
+	default PyDebugValuesPage loadFramePage(int offset, int limit) throws PyDebuggerException
+	{
+		return PyDebugValuesPage.whole(loadFrame());
+	}
+
+	/**
+	 * Loads at most {@code limit} children of the variable starting from {@code offset}
+	 */
+	default PyDebugValuesPage loadVariablePage(PyDebugValue var, int offset, int limit) throws PyDebuggerException
+	{
+		return PyDebugValuesPage.whole(loadVariable(var));
+	}
+
 	void changeVariable(PyDebugValue variable, String expression) throws PyDebuggerException;
 
 	@Nullable
@@ -26,6 +42,14 @@ public interface PyFrameAccessor
 
 	ArrayChunk getArrayItems(PyDebugValue var, int rowOffset, int colOffset, int rows, int cols, String format) throws PyDebuggerException;
 
+	/**
+	 * Computes statistics and histograms with {@code bins} bins of an array or a data frame without loading its cells
+	 */
+	default ArrayStats getArrayStats(PyDebugValue var, int bins) throws PyDebuggerException
+	{
+		throw new PyDebuggerException("Statistics are not supported");
+	}
+
 	@Nullable
 	XSourcePosition getSourcePositionForName(String name, String parentType);
 
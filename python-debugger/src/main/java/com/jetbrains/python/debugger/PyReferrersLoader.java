@@ -2,12 +2,37 @@ package com.jetbrains.python.debugger;
 
 import consulo.execution.debug.frame.XValueChildrenList;
 import com.jetbrains.python.debugger.pydev.PyDebugCallback;
+import org.jspecify.annotations.Nullable;
 
 /**
  * @author traff
  */
 public class PyReferrersLoader
 {
+	/**
+	 * Receives referrers on the reader thread while the debugger finds them
+	 */
+	public interface Listener
+	{
+		void referrersFound(XValueChildrenList referrers);
+
+		/**
+		 * @param nextOffset offset to continue the search from
+		 * @param total      number of referrers of the value, more than {@code nextOffset} if the limit was reached
+		 */
+		void finished(int nextOffset, int total);
+
+		void error(PyDebuggerException exception);
+	}
+
+	/**
+	 * Referrers search running in the debugger, the listener isn't notified after it's cancelled
+	 */
+	public interface Search
+	{
+		void cancel();
+	}
+
 	private final IPyDebugProcess myProcess;
 
 	public PyReferrersLoader(IPyDebugProcess process)
@@ -19,4 +44,15 @@ public class PyReferrersLoader
 	{
 		myProcess.loadReferrers(value, callback);
 	}
+
+	/**
+	 * Starts looking for at most {@code limit} referrers of the value from {@code offset}, they are reported in batches
+	 *
+	 * @param previous search whose next page is loaded, its referrers are found once and kept by the debugger until the thread
+	 *                 runs again; null to start a new search
+	 */
+	public Search loadReferrers(PyReferringObjectsValue value, @Nullable Search previous, int offset, int limit, Listener listener)
+	{
+		return myProcess.loadReferrers(value, previous, offset, limit, listener);
+	}
 }
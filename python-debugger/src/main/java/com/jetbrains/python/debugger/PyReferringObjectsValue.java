@@ -16,18 +16,30 @@
 package com.jetbrains.python.debugger;
 
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import consulo.execution.debug.frame.XValueChildrenList;
 import consulo.logging.Logger;
 import consulo.execution.debug.frame.XCompositeNode;
-import com.jetbrains.python.debugger.pydev.PyDebugCallback;
+import org.jspecify.annotations.Nullable;
 
 public class PyReferringObjectsValue extends PyDebugValue
 {
 	private static final Logger LOG = Logger.getInstance(PyReferringObjectsValue.class);
 
+	private static final int REFERRERS_PAGE_SIZE = 100;
+
 	private final
 	PyReferrersLoader myReferrersLoader;
 
+	// node the referrers are shown in, the search of its last page and their number so far, the next page of the same search
+	// is loaded from here when the same node asks for more, a new node (e.g. after the views are rebuilt) starts a new search
+	@Nullable
+	private volatile XCompositeNode myPagedNode;
+	@Nullable
+	private volatile PyReferrersLoader.Search myPagedSearch;
+	private volatile int myLoadedReferrers;
+
 	public PyReferringObjectsValue(String name,
 			String type,
 			String typeQualifier,
@@ -61,14 +73,43 @@ public class PyReferringObjectsValue extends PyDebugValue
 			return;
 		}
 
-		myReferrersLoader.loadReferrers(this, new PyDebugCallback<XValueChildrenList>()
+		if(myPagedNode != node)
+		{
+			myPagedNode = node;
+			myPagedSearch = null;
+			myLoadedReferrers = 0;
+		}
+		AtomicReference<PyReferrersLoader.Search> search = new AtomicReference<>();
+		search.set(myReferrersLoader.loadReferrers(this, myPagedSearch, myLoadedReferrers, REFERRERS_PAGE_SIZE, new PyReferrersLoader.Listener()
 		{
 			@Override
-			public void ok(XValueChildrenList value)
+			public void referrersFound(XValueChildrenList referrers)
 			{
-				if(!node.isObsolete())
+				if(node.isObsolete())
+				{
+					// the tree was rebuilt or collapsed, no need to go on looking
+					PyReferrersLoader.Search current = search.get();
+					if(current != null)
+					{
+						current.cancel();
+					}
+					return;
+				}
+				node.addChildren(referrers, false);
+			}
+
+			@Override
+			public void finished(int nextOffset, int total)
+			{
+				if(node.isObsolete())
+				{
+					return;
+				}
+				myLoadedReferrers = nextOffset;
+				node.addChildren(XValueChildrenList.EMPTY, nextOffset >= total);
+				if(nextOffset < total)
 				{
-					node.addChildren(value, true);
+					node.tooManyChildren(total - nextOffset);
 				}
 			}
 
@@ -81,7 +122,8 @@ public class PyReferringObjectsValue extends PyDebugValue
 				}
 				LOG.warn(e);
 			}
-		});
+		}));
+		myPagedSearch = search.get();
 	}
 
 	public boolean isField()
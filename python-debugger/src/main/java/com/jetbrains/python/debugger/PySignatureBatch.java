@@ -0,0 +1,31 @@
+package com.jetbrains.python.debugger;
+
+import java.util.List;
+
+/**
+ * Call signatures received in one message of the debugger
+ */
+public class PySignatureBatch
+{
+	private final List<PySignature> mySignatures;
+	private final int myCoalescedCount;
+
+	public PySignatureBatch(List<PySignature> signatures, int coalescedCount)
+	{
+		mySignatures = signatures;
+		myCoalescedCount = coalescedCount;
+	}
+
+	public List<PySignature> getSignatures()
+	{
+		return mySignatures;
+	}
+
+	/**
+	 * @return number of calls the debugger didn't report since the previous message because their signatures were already sent
+	 */
+	public int getCoalescedCount()
+	{
+		return myCoalescedCount;
+	}
+}
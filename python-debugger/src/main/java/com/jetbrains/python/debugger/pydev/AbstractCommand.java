@@ -56,6 +56,13 @@ public abstract class AbstractCommand<T>
 	public static final int INPUT_REQUESTED = 147;
 
 	public static final int PROCESS_CREATED = 149;
+	public static final int SET_SIGNATURE_BATCHING = 150;
+	public static final int GET_VARIABLES_PAGE = 151;
+	public static final int GET_ARRAY_STATS = 152;
+	public static final int GET_REFERRERS = 153;
+	public static final int REFERRERS_BATCH = 154;
+	public static final int CANCEL_REFERRERS = 155;
+	public static final int BREAKPOINT_STATS = 156;
 
 	public static final int ERROR = 901;
 
@@ -226,6 +233,11 @@ public abstract class AbstractCommand<T>
 		return command == CALL_SIGNATURE_TRACE;
 	}
 
+	public static boolean isBreakpointStats(int command)
+	{
+		return command == BREAKPOINT_STATS;
+	}
+
 	public static boolean isConcurrencyEvent(int command)
 	{
 		return command == LOG_CONCURRENCY_EVENT;
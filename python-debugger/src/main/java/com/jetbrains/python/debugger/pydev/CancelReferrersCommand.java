@@ -0,0 +1,21 @@
+package com.jetbrains.python.debugger.pydev;
+
+/**
+ * Stops the referrers search with the given id and makes the debugger forget the referrers it found
+ */
+public class CancelReferrersCommand extends AbstractCommand
+{
+	private final int mySearchSequence;
+
+	public CancelReferrersCommand(RemoteDebugger debugger, int searchSequence)
+	{
+		super(debugger, CANCEL_REFERRERS);
+		mySearchSequence = searchSequence;
+	}
+
+	@Override
+	protected void buildPayload(Payload payload)
+	{
+		payload.add(mySearchSequence);
+	}
+}
@@ -162,18 +162,49 @@ public class ClientModeMultiProcessDebugger implements ProcessDebugger
 		return debugger(threadId).loadVariable(threadId, frameId, var);
 	}
 
+	@Override
+	public PyDebugValuesPage loadFramePage(String threadId, String frameId, int offset, int limit, @Nullable String digest) throws PyDebuggerException
+	{
+		return debugger(threadId).loadFramePage(threadId, frameId, offset, limit, digest);
+	}
+
+	@Override
+	public PyDebugValuesPage loadVariablePage(String threadId, String frameId, PyDebugValue var, int offset, int limit, @Nullable String digest)
+			throws PyDebuggerException
+	{
+		return debugger(threadId).loadVariablePage(threadId, frameId, var, offset, limit, digest);
+	}
+
 	@Override
     public ArrayChunk loadArrayItems(String threadId, String frameId, PyDebugValue var, int rowOffset, int colOffset, int rows, int cols, String format) throws PyDebuggerException
 	{
 		return debugger(threadId).loadArrayItems(threadId, frameId, var, rowOffset, colOffset, rows, cols, format);
 	}
 
+	@Override
+	public ArrayStats loadArrayStats(String threadId, String frameId, PyDebugValue var, int bins) throws PyDebuggerException
+	{
+		return debugger(threadId).loadArrayStats(threadId, frameId, var, bins);
+	}
+
 	@Override
 	public void loadReferrers(String threadId, String frameId, PyReferringObjectsValue var, PyDebugCallback<XValueChildrenList> callback)
 	{
 		debugger(threadId).loadReferrers(threadId, frameId, var, callback);
 	}
 
+	@Override
+	public PyReferrersLoader.Search loadReferrers(String threadId,
+			String frameId,
+			PyReferringObjectsValue var,
+			@Nullable PyReferrersLoader.Search previous,
+			int offset,
+			int limit,
+			PyReferrersLoader.Listener listener)
+	{
+		return debugger(threadId).loadReferrers(threadId, frameId, var, previous, offset, limit, listener);
+	}
+
 	private ProcessDebugger debugger(String threadId)
 	{
 		ProcessDebugger debugger = myThreadRegistry.getDebugger(threadId);
@@ -426,6 +457,15 @@ public class ClientModeMultiProcessDebugger implements ProcessDebugger
 		}
 	}
 
+	@Override
+	public void setSignatureBatching(boolean batching)
+	{
+		for(ProcessDebugger d : allDebuggers())
+		{
+			d.setSignatureBatching(batching);
+		}
+	}
+
 	private void addDebugger(RemoteDebugger debugger)
 	{
 		synchronized(myOtherDebuggersObject)
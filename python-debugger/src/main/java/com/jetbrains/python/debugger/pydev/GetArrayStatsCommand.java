@@ -0,0 +1,60 @@
+package com.jetbrains.python.debugger.pydev;
+
+import com.jetbrains.python.debugger.ArrayStats;
+import com.jetbrains.python.debugger.PyDebugValue;
+import com.jetbrains.python.debugger.PyDebuggerException;
+
+/**
+ * Asks for statistics and histograms of an array or a data frame instead of its cells
+ */
+public class GetArrayStatsCommand extends GetFrameCommand
+{
+	private final PyDebugValue myParent;
+	private final String myVariableName;
+	private final int myBins;
+	private ArrayStats myStats;
+
+	public GetArrayStatsCommand(RemoteDebugger debugger, String threadId, String frameId, PyDebugValue var, int bins)
+	{
+		super(debugger, GET_ARRAY_STATS, threadId, frameId);
+		myVariableName = GetVariableCommand.composeName(var);
+		myBins = bins;
+		myParent = var;
+	}
+
+	@Override
+	protected void buildPayload(Payload payload)
+	{
+		payload.add(myBins);
+
+		if(myParent.getVariableLocator() != null)
+		{
+			payload.add(myParent.getVariableLocator().getThreadId()).add(myParent.getVariableLocator().getPyDBLocation());
+		}
+		else if(myVariableName.contains(GetVariableCommand.BY_ID))
+		{
+			//id instead of frame_id
+			payload.add(getThreadId()).add(myVariableName);
+		}
+		else
+		{
+			super.buildPayload(payload);
+			payload.add(myVariableName);
+		}
+	}
+
+	@Override
+	protected void processResponse(ProtocolFrame response) throws PyDebuggerException
+	{
+		if(response.getCommand() >= 900 && response.getCommand() < 1000)
+		{
+			throw new PyDebuggerException(response.getPayload());
+		}
+		myStats = ProtocolParser.parseArrayStats(response.getPayload());
+	}
+
+	public ArrayStats getStats()
+	{
+		return myStats;
+	}
+}
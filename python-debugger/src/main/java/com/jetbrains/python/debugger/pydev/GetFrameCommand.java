@@ -1,37 +1,68 @@
 package com.jetbrains.python.debugger.pydev;
 
-import java.util.List;
-
 import consulo.execution.debug.frame.XValueChildrenList;
 import com.jetbrains.python.debugger.IPyDebugProcess;
 import com.jetbrains.python.debugger.PyDebugValue;
+import com.jetbrains.python.debugger.PyDebugValuesPage;
 import com.jetbrains.python.debugger.PyDebuggerException;
+import org.jspecify.annotations.Nullable;
 
 
 public class GetFrameCommand extends AbstractFrameCommand
 {
 
 	protected final IPyDebugProcess myDebugProcess;
-	private XValueChildrenList myFrameVariables = null;
+	private final int myOffset;
+	private final int myLimit;
+	@Nullable
+	private final String myDigest;
+	private PyDebugValuesPage myPage = null;
 
 	public GetFrameCommand(RemoteDebugger debugger, String threadId, String frameId)
 	{
 		this(debugger, GET_FRAME, threadId, frameId);
 	}
 
+	/**
+	 * Loads at most {@code limit} variables of the frame starting from {@code offset}
+	 *
+	 * @param digest digest of the page loaded before, the page comes back without values if it is still the same
+	 */
+	public GetFrameCommand(RemoteDebugger debugger, String threadId, String frameId, int offset, int limit, @Nullable String digest)
+	{
+		this(debugger, GET_VARIABLES_PAGE, threadId, frameId, offset, limit, digest);
+	}
+
 	protected GetFrameCommand(RemoteDebugger debugger, int command, String threadId, String frameId)
+	{
+		this(debugger, command, threadId, frameId, -1, -1, null);
+	}
+
+	protected GetFrameCommand(RemoteDebugger debugger, int command, String threadId, String frameId, int offset, int limit, @Nullable String digest)
 	{
 		super(debugger, command, threadId, frameId);
 		myDebugProcess = debugger.getDebugProcess();
+		myOffset = offset;
+		myLimit = limit;
+		myDigest = digest;
 	}
 
 	@Override
 	protected void buildPayload(Payload payload)
 	{
+		addPage(payload);
 		super.buildPayload(payload);
 		payload.add("FRAME");
 	}
 
+	protected void addPage(Payload payload)
+	{
+		if(myOffset >= 0)
+		{
+			payload.add(myOffset).add(myLimit).add(myDigest != null ? myDigest : "-");
+		}
+	}
+
 	@Override
 	public boolean isResponseExpected()
 	{
@@ -42,16 +73,8 @@ public class GetFrameCommand extends AbstractFrameCommand
 	protected void processResponse(ProtocolFrame response) throws PyDebuggerException
 	{
 		super.processResponse(response);
-		List<PyDebugValue> values = ProtocolParser.parseValues(response.getPayload(), myDebugProcess);
-		myFrameVariables = new XValueChildrenList(values.size());
-		for(PyDebugValue value : values)
-		{
-			if(!value.getName().startsWith(RemoteDebugger.TEMP_VAR_PREFIX))
-			{
-				PyDebugValue debugValue = extend(value);
-				myFrameVariables.add(debugValue.getName(), debugValue);
-			}
-		}
+		myPage = ProtocolParser.parseValuesPage(response.getPayload(), myDebugProcess,
+				value -> value.getName().startsWith(RemoteDebugger.TEMP_VAR_PREFIX) ? null : extend(value));
 	}
 
 	protected PyDebugValue extend(PyDebugValue value)
@@ -62,7 +85,12 @@ public class GetFrameCommand extends AbstractFrameCommand
 
 	public XValueChildrenList getVariables()
 	{
-		return myFrameVariables;
+		return myPage != null ? myPage.getValues() : null;
+	}
+
+	public PyDebugValuesPage getPage()
+	{
+		return myPage;
 	}
 
-}
\ No newline at end of file
+}
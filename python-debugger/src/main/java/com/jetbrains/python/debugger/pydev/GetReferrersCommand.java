@@ -31,7 +31,7 @@ public class GetReferrersCommand extends RunCustomOperationCommand<List<PyDebugV
 	}
 
 
-	private static PyVariableLocator createVariableLocator(final String threadId, final String frameId, final PyReferringObjectsValue var)
+	static PyVariableLocator createVariableLocator(final String threadId, final String frameId, final PyReferringObjectsValue var)
 	{
 		return new PyVariableLocator()
 		{
@@ -0,0 +1,47 @@
+package com.jetbrains.python.debugger.pydev;
+
+import com.jetbrains.python.debugger.PyDebuggerException;
+import com.jetbrains.python.debugger.PyReferringObjectsValue;
+
+/**
+ * Asks for at most {@code limit} referrers of a value starting from {@code offset}. The debugger finds the referrers once
+ * per search id and takes the next pages of the search from the same list. It sends them in
+ * {@link #REFERRERS_BATCH} frames while it describes them and finishes with a {@link #GET_REFERRERS} frame holding
+ * the offset of the next page and the total number of referrers, see {@link ProtocolParser#parseReferrersPage(String)}.
+ * Nothing waits for the response, {@link RemoteDebugger} passes the frames to the search registered for the sequence.
+ */
+public class GetReferrersPageCommand extends AbstractCommand
+{
+	public static final int BATCH_SIZE = 20;
+
+	private final int mySearchId;
+	private final String myLocation;
+	private final int myOffset;
+	private final int myLimit;
+
+	/**
+	 * @param searchId sequence of the command which asked for the first page of the search
+	 */
+	public GetReferrersPageCommand(RemoteDebugger debugger, int searchId, String threadId, String frameId, PyReferringObjectsValue var, int offset, int limit)
+	{
+		super(debugger, GET_REFERRERS);
+		mySearchId = searchId;
+		myLocation = GetReferrersCommand.createVariableLocator(threadId, frameId, var).getPyDBLocation();
+		myOffset = offset;
+		myLimit = limit;
+	}
+
+	@Override
+	protected void buildPayload(Payload payload)
+	{
+		payload.add(mySearchId).add(myOffset).add(myLimit).add(BATCH_SIZE).add(myLocation);
+	}
+
+	/**
+	 * @return whether the frame was sent
+	 */
+	boolean send(int sequence) throws PyDebuggerException
+	{
+		return getDebugger().sendFrame(new ProtocolFrame(GET_REFERRERS, sequence, getPayload()));
+	}
+}
@@ -1,6 +1,7 @@
 package com.jetbrains.python.debugger.pydev;
 
 import com.jetbrains.python.debugger.PyDebugValue;
+import org.jspecify.annotations.Nullable;
 
 
 public class GetVariableCommand extends GetFrameCommand
@@ -17,6 +18,18 @@ public class GetVariableCommand extends GetFrameCommand
 		myParent = var;
 	}
 
+	/**
+	 * Loads at most {@code limit} children of the variable starting from {@code offset}
+	 *
+	 * @param digest digest of the page loaded before, the page comes back without values if it is still the same
+	 */
+	public GetVariableCommand(RemoteDebugger debugger, String threadId, String frameId, PyDebugValue var, int offset, int limit, @Nullable String digest)
+	{
+		super(debugger, GET_VARIABLES_PAGE, threadId, frameId, offset, limit, digest);
+		myVariableName = composeName(var);
+		myParent = var;
+	}
+
 	public static String composeName(PyDebugValue var)
 	{
 		StringBuilder sb = new StringBuilder();
@@ -46,11 +59,13 @@ public class GetVariableCommand extends GetFrameCommand
 	{
 		if(myParent.getVariableLocator() != null)
 		{
+			addPage(payload);
 			payload.add(myParent.getVariableLocator().getThreadId()).add(myParent.getVariableLocator().getPyDBLocation());
 		}
 		else if(myVariableName.contains(BY_ID))
 		{
 			//id instead of frame_id
+			addPage(payload);
 			payload.add(getThreadId()).add(myVariableName);
 		}
 		else
@@ -2,11 +2,10 @@ package com.jetbrains.python.debugger.pydev;
 
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.jetbrains.python.console.pydev.PydevCompletionVariant;
 import com.jetbrains.python.debugger.*;
 import consulo.application.Application;
+import consulo.application.util.concurrent.AppExecutorUtil;
 import consulo.execution.debug.breakpoint.SuspendPolicy;
 import consulo.execution.debug.frame.XValueChildrenList;
 import consulo.logging.Logger;
@@ -18,6 +17,11 @@ import java.io.PrintWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 /**
  * @author traff
@@ -36,7 +40,9 @@ public class MultiProcessDebugger implements ProcessDebugger
 	private DebuggerProcessAcceptor myDebugProcessAcceptor;
 	private List<DebuggerProcessListener> myOtherDebuggerCloseListener = Lists.newArrayList();
 
-	private ThreadRegistry myThreadRegistry = new ThreadRegistry();
+	private final ThreadRegistry myThreadRegistry = new ThreadRegistry();
+	private final ExecutorService myFanOutExecutor =
+			AppExecutorUtil.createBoundedApplicationPoolExecutor("Python multiprocess debugger", Math.max(2, Runtime.getRuntime().availableProcessors()));
 
 	public MultiProcessDebugger(IPyDebugProcess debugProcess, ServerSocket serverSocket, int timeoutInMillis)
 	{
@@ -115,10 +121,8 @@ public class MultiProcessDebugger implements ProcessDebugger
 	@Override
 	public void close()
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.close();
-		}
+		forEachDebugger(ProcessDebugger::close);
+		myFanOutExecutor.shutdown();
 		disposeAcceptor();
 
 		if(!myServerSocket.isClosed())
@@ -134,6 +138,34 @@ public class MultiProcessDebugger implements ProcessDebugger
 		}
 	}
 
+	/**
+	 * Runs the action for all debuggers concurrently and returns when it's done for every one of them, so commands
+	 * issued one after another reach every process in the same order
+	 */
+	private void forEachDebugger(Consumer<RemoteDebugger> action)
+	{
+		List<RemoteDebugger> debuggers = allDebuggers();
+		if(debuggers.size() == 1 || myFanOutExecutor.isShutdown())
+		{
+			debuggers.forEach(action);
+			return;
+		}
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[debuggers.size()];
+		for(int i = 0; i < futures.length; i++)
+		{
+			RemoteDebugger debugger = debuggers.get(i);
+			futures[i] = CompletableFuture.runAsync(() -> action.accept(debugger), myFanOutExecutor);
+		}
+		try
+		{
+			CompletableFuture.allOf(futures).join();
+		}
+		catch(CompletionException e)
+		{
+			LOG.error(e.getCause());
+		}
+	}
+
 	private List<RemoteDebugger> allDebuggers()
 	{
 		List<RemoteDebugger> result = Lists.newArrayList(myMainDebugger);
@@ -147,10 +179,7 @@ public class MultiProcessDebugger implements ProcessDebugger
 	@Override
 	public void disconnect()
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.disconnect();
-		}
+		forEachDebugger(ProcessDebugger::disconnect);
 		disposeAcceptor();
 	}
 
@@ -199,18 +228,49 @@ public class MultiProcessDebugger implements ProcessDebugger
 		return debugger(threadId).loadVariable(threadId, frameId, var);
 	}
 
+	@Override
+	public PyDebugValuesPage loadFramePage(String threadId, String frameId, int offset, int limit, @Nullable String digest) throws PyDebuggerException
+	{
+		return debugger(threadId).loadFramePage(threadId, frameId, offset, limit, digest);
+	}
+
+	@Override
+	public PyDebugValuesPage loadVariablePage(String threadId, String frameId, PyDebugValue var, int offset, int limit, @Nullable String digest)
+			throws PyDebuggerException
+	{
+		return debugger(threadId).loadVariablePage(threadId, frameId, var, offset, limit, digest);
+	}
+
 	@Override
     public ArrayChunk loadArrayItems(String threadId, String frameId, PyDebugValue var, int rowOffset, int colOffset, int rows, int cols, String format) throws PyDebuggerException
 	{
 		return debugger(threadId).loadArrayItems(threadId, frameId, var, rowOffset, colOffset, rows, cols, format);
 	}
 
+	@Override
+	public ArrayStats loadArrayStats(String threadId, String frameId, PyDebugValue var, int bins) throws PyDebuggerException
+	{
+		return debugger(threadId).loadArrayStats(threadId, frameId, var, bins);
+	}
+
 	@Override
 	public void loadReferrers(String threadId, String frameId, PyReferringObjectsValue var, PyDebugCallback<XValueChildrenList> callback)
 	{
 		debugger(threadId).loadReferrers(threadId, frameId, var, callback);
 	}
 
+	@Override
+	public PyReferrersLoader.Search loadReferrers(String threadId,
+			String frameId,
+			PyReferringObjectsValue var,
+			@Nullable PyReferrersLoader.Search previous,
+			int offset,
+			int limit,
+			PyReferrersLoader.Listener listener)
+	{
+		return debugger(threadId).loadReferrers(threadId, frameId, var, previous, offset, limit, listener);
+	}
+
 	private ProcessDebugger debugger(String threadId)
 	{
 		ProcessDebugger debugger = myThreadRegistry.getDebugger(threadId);
@@ -220,9 +280,9 @@ public class MultiProcessDebugger implements ProcessDebugger
 		}
 		else
 		{
-			// thread is not found in registry - lets search for it in attached debuggers
+			// thread is not found in registry, e.g. its start event is not handled yet - lets search for it in attached debuggers
 
-			for(ProcessDebugger d : myOtherDebuggers)
+			for(ProcessDebugger d : allDebuggers())
 			{
 				for(PyThreadInfo thread : d.getThreads())
 				{
@@ -233,7 +293,7 @@ public class MultiProcessDebugger implements ProcessDebugger
 				}
 			}
 
-			//if not found then return main debugger
+			//if not found then return main debugger, threads of the main process are not registered
 			return myMainDebugger;
 		}
 	}
@@ -251,20 +311,60 @@ public class MultiProcessDebugger implements ProcessDebugger
 	}
 
 
+	/**
+	 * Threads of the child processes, kept up to date by thread events of their debuggers
+	 */
 	private static class ThreadRegistry
 	{
-		private Map<String, RemoteDebugger> myThreadIdToDebugger = Maps.newHashMap();
+		private final Map<String, RemoteDebugger> myThreadIdToDebugger = new ConcurrentHashMap<>();
+		private final Map<RemoteDebugger, Map<String, PyThreadInfo>> myDebuggerThreads = new ConcurrentHashMap<>();
 
-		public void register(String id, RemoteDebugger debugger)
+		public void register(RemoteDebugger debugger, PyThreadInfo thread)
 		{
-			myThreadIdToDebugger.put(id, debugger);
+			myDebuggerThreads.computeIfAbsent(debugger, d -> new ConcurrentHashMap<>()).put(thread.getId(), thread);
+			myThreadIdToDebugger.put(thread.getId(), debugger);
 		}
 
+		public void unregister(RemoteDebugger debugger, String threadId)
+		{
+			Map<String, PyThreadInfo> threads = myDebuggerThreads.get(debugger);
+			if(threads != null)
+			{
+				threads.remove(threadId);
+			}
+			myThreadIdToDebugger.remove(threadId, debugger);
+		}
+
+		public void unregisterAll(RemoteDebugger debugger)
+		{
+			Map<String, PyThreadInfo> threads = myDebuggerThreads.remove(debugger);
+			if(threads != null)
+			{
+				for(String threadId : threads.keySet())
+				{
+					myThreadIdToDebugger.remove(threadId, debugger);
+				}
+			}
+		}
+
+		@Nullable
 		public RemoteDebugger getDebugger(String threadId)
 		{
 			return myThreadIdToDebugger.get(threadId);
 		}
 
+		public Collection<PyThreadInfo> getThreads(RemoteDebugger debugger)
+		{
+			Map<String, PyThreadInfo> threads = myDebuggerThreads.get(debugger);
+			return threads != null ? threads.values() : Collections.emptyList();
+		}
+
+		public Set<String> getThreadIds(RemoteDebugger debugger)
+		{
+			Map<String, PyThreadInfo> threads = myDebuggerThreads.get(debugger);
+			return threads != null ? new HashSet<>(threads.keySet()) : Collections.emptySet();
+		}
+
 		public static String threadName(String name, String id)
 		{
 			int indx = id.indexOf("_", id.indexOf("_") + 1);
@@ -306,15 +406,9 @@ public class MultiProcessDebugger implements ProcessDebugger
 
 		result.addAll(myMainDebugger.getThreads());
 
-		//collect threads and add them to registry to faster access
-		//we don't register mainDebugger as it is default if there is no mapping
-		for(RemoteDebugger d : myOtherDebuggers)
+		for(RemoteDebugger d : getOtherDebuggers())
 		{
-			result.addAll(d.getThreads());
-			for(PyThreadInfo t : d.getThreads())
-			{
-				myThreadRegistry.register(t.getId(), d);
-			}
+			result.addAll(myThreadRegistry.getThreads(d));
 		}
 
 		return result;
@@ -348,6 +442,10 @@ public class MultiProcessDebugger implements ProcessDebugger
 				{
 					newList.add(d);
 				}
+				else
+				{
+					myThreadRegistry.unregisterAll(d);
+				}
 			}
 
 			synchronized(myOtherDebuggers)
@@ -370,19 +468,13 @@ public class MultiProcessDebugger implements ProcessDebugger
 	@Override
 	public void execute(AbstractCommand command)
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.execute(command);
-		}
+		forEachDebugger(d -> d.execute(command));
 	}
 
 	@Override
 	public void suspendAllThreads()
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.suspendAllThreads();
-		}
+		forEachDebugger(ProcessDebugger::suspendAllThreads);
 	}
 
 	@Override
@@ -412,19 +504,13 @@ public class MultiProcessDebugger implements ProcessDebugger
 	@Override
 	public void setTempBreakpoint(String type, String file, int line)
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.setTempBreakpoint(type, file, line);
-		}
+		forEachDebugger(d -> d.setTempBreakpoint(type, file, line));
 	}
 
 	@Override
 	public void removeTempBreakpoint(String file, int line)
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.removeTempBreakpoint(file, line);
-		}
+		forEachDebugger(d -> d.removeTempBreakpoint(file, line));
 	}
 
 	@Override
@@ -436,28 +522,25 @@ public class MultiProcessDebugger implements ProcessDebugger
 			@Nullable String funcName,
 			SuspendPolicy policy)
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.setBreakpoint(typeId, file, line, condition, logExpression, funcName, policy);
-		}
+		forEachDebugger(d -> d.setBreakpoint(typeId, file, line, condition, logExpression, funcName, policy));
 	}
 
 	@Override
 	public void removeBreakpoint(String typeId, String file, int line)
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.removeBreakpoint(typeId, file, line);
-		}
+		forEachDebugger(d -> d.removeBreakpoint(typeId, file, line));
 	}
 
 	@Override
 	public void setShowReturnValues(boolean isShowReturnValues)
 	{
-		for(ProcessDebugger d : allDebuggers())
-		{
-			d.setShowReturnValues(isShowReturnValues);
-		}
+		forEachDebugger(d -> d.setShowReturnValues(isShowReturnValues));
+	}
+
+	@Override
+	public void setSignatureBatching(boolean batching)
+	{
+		forEachDebugger(d -> d.setSignatureBatching(batching));
 	}
 
 	private static class DebuggerProcessAcceptor implements Runnable
@@ -491,6 +574,7 @@ public class MultiProcessDebugger implements ProcessDebugger
 						ServerSocket serverSocket = createServerSocket();
 						RemoteDebugger debugger = new RemoteDebugger(myMultiProcessDebugger.myDebugProcess, serverSocket, myMultiProcessDebugger.myTimeoutInMillis);
 						addCloseListener(debugger);
+						addThreadListener(debugger);
 						sendDebuggerPort(socket, serverSocket, myMultiProcessDebugger.myDebugProcess);
 						socket.close();
 						debugger.waitForConnect();
@@ -546,6 +630,25 @@ public class MultiProcessDebugger implements ProcessDebugger
 			});
 		}
 
+		private void addThreadListener(RemoteDebugger debugger)
+		{
+			ThreadRegistry registry = myMultiProcessDebugger.myThreadRegistry;
+			debugger.addThreadListener(new RemoteDebugger.ThreadListener()
+			{
+				@Override
+				public void threadStarted(PyThreadInfo thread)
+				{
+					registry.register(debugger, thread);
+				}
+
+				@Override
+				public void threadFinished(String threadId)
+				{
+					registry.unregister(debugger, threadId);
+				}
+			});
+		}
+
 		private void notifyThreadsClosed(RemoteDebugger debugger)
 		{
 			for(DebuggerProcessListener l : myMultiProcessDebugger.myOtherDebuggerCloseListener)
@@ -556,15 +659,7 @@ public class MultiProcessDebugger implements ProcessDebugger
 
 		private Set<String> collectThreads(RemoteDebugger debugger)
 		{
-			Set<String> result = Sets.newHashSet();
-			for(Map.Entry<String, RemoteDebugger> entry : myMultiProcessDebugger.myThreadRegistry.myThreadIdToDebugger.entrySet())
-			{
-				if(entry.getValue() == debugger)
-				{
-					result.add(entry.getKey());
-				}
-			}
-			return result;
+			return myMultiProcessDebugger.myThreadRegistry.getThreadIds(debugger);
 		}
 
 		public void disconnect()
@@ -613,29 +708,20 @@ public class MultiProcessDebugger implements ProcessDebugger
 	@Override
 	public void addExceptionBreakpoint(ExceptionBreakpointCommandFactory factory)
 	{
-		for(RemoteDebugger d : allDebuggers())
-		{
-			d.execute(factory.createAddCommand(d));
-		}
+		forEachDebugger(d -> d.execute(factory.createAddCommand(d)));
 	}
 
 	@Override
 	public void removeExceptionBreakpoint(ExceptionBreakpointCommandFactory factory)
 	{
-		for(RemoteDebugger d : allDebuggers())
-		{
-			d.execute(factory.createRemoveCommand(d));
-		}
+		forEachDebugger(d -> d.execute(factory.createRemoveCommand(d)));
 	}
 
 	@Override
 	public void suspendOtherThreads(PyThreadInfo thread)
 	{
-		for(RemoteDebugger d : allDebuggers())
-		{
-			// we should notify the debugger in each process about suspending all threads
-			d.suspendOtherThreads(thread);
-		}
+		// we should notify the debugger in each process about suspending all threads
+		forEachDebugger(d -> d.suspendOtherThreads(thread));
 	}
 
 	public void removeCloseListener(RemoteDebuggerCloseListener listener)
@@ -8,8 +8,11 @@ import consulo.execution.debug.breakpoint.SuspendPolicy;
 import consulo.execution.debug.frame.XValueChildrenList;
 import com.jetbrains.python.console.pydev.PydevCompletionVariant;
 import com.jetbrains.python.debugger.ArrayChunk;
+import com.jetbrains.python.debugger.ArrayStats;
 import com.jetbrains.python.debugger.PyDebugValue;
+import com.jetbrains.python.debugger.PyDebugValuesPage;
 import com.jetbrains.python.debugger.PyDebuggerException;
+import com.jetbrains.python.debugger.PyReferrersLoader;
 import com.jetbrains.python.debugger.PyReferringObjectsValue;
 import com.jetbrains.python.debugger.PyThreadInfo;
 
@@ -31,10 +34,32 @@ public interface ProcessDebugger
 	// todo: don't generate temp variables for qualified expressions - just split 'em
 	XValueChildrenList loadVariable(String threadId, String frameId, PyDebugValue var) throws PyDebuggerException;
 
+	/**
+	 * @param digest digest of the page loaded before, the debugger replies with a page marked unchanged and without values
+	 *               if the page still has this digest
+	 */
+	PyDebugValuesPage loadFramePage(String threadId, String frameId, int offset, int limit, @Nullable String digest) throws PyDebuggerException;
+
+	PyDebugValuesPage loadVariablePage(String threadId, String frameId, PyDebugValue var, int offset, int limit, @Nullable String digest)
+			throws PyDebuggerException;
+
 	ArrayChunk loadArrayItems(String threadId, String frameId, PyDebugValue var, int rowOffset, int colOffset, int rows, int cols, String format) throws PyDebuggerException;
 
+	ArrayStats loadArrayStats(String threadId, String frameId, PyDebugValue var, int bins) throws PyDebuggerException;
+
 	void loadReferrers(String threadId, String frameId, PyReferringObjectsValue var, PyDebugCallback<XValueChildrenList> callback);
 
+	/**
+	 * @param previous search whose next page is loaded, null to start a new search
+	 */
+	PyReferrersLoader.Search loadReferrers(String threadId,
+			String frameId,
+			PyReferringObjectsValue var,
+			@Nullable PyReferrersLoader.Search previous,
+			int offset,
+			int limit,
+			PyReferrersLoader.Listener listener);
+
 	PyDebugValue changeVariable(String threadId, String frameId, PyDebugValue var, String value) throws PyDebuggerException;
 
 	@Nullable
@@ -78,6 +103,8 @@ public interface ProcessDebugger
 
 	void setShowReturnValues(boolean isShowReturnValues);
 
+	void setSignatureBatching(boolean batching);
+
 	void addCloseListener(RemoteDebuggerCloseListener remoteDebuggerCloseListener);
 
 	List<PydevCompletionVariant> getCompletions(String threadId, String frameId, String prefix);
@@ -3,13 +3,18 @@ package com.jetbrains.python.debugger.pydev;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Function;
 
 
 import org.jetbrains.annotations.Contract;
+import org.jspecify.annotations.Nullable;
 import org.xmlpull.mxp1.MXParser;
 import com.google.common.collect.Lists;
+import consulo.execution.debug.frame.XValueChildrenList;
 import consulo.util.lang.StringUtil;
 import com.jetbrains.python.debugger.*;
 import com.thoughtworks.xstream.io.naming.NoNameCoder;
@@ -31,6 +36,42 @@ public class ProtocolParser
 		{
 			throw new PyDebuggerException("Expected <call_signature>, found " + reader.getNodeName());
 		}
+		return readCallSignature(reader);
+	}
+
+	/**
+	 * Parses either a single {@code <call_signature>} or a batch of them:
+	 * {@code <call_signatures coalesced="N"><call_signature>...</call_signature>...</call_signatures>}
+	 */
+	public static PySignatureBatch parseCallSignatures(String payload) throws PyDebuggerException
+	{
+		XppReader reader = openReader(payload, true);
+		reader.moveDown();
+		if("call_signature".equals(reader.getNodeName()))
+		{
+			return new PySignatureBatch(Collections.singletonList(readCallSignature(reader)), 0);
+		}
+		if(!"call_signatures".equals(reader.getNodeName()))
+		{
+			throw new PyDebuggerException("Expected <call_signature> or <call_signatures>, found " + reader.getNodeName());
+		}
+		int coalesced = readInt(reader, "coalesced", 0);
+		List<PySignature> signatures = new ArrayList<>();
+		while(reader.hasMoreChildren())
+		{
+			reader.moveDown();
+			if(!"call_signature".equals(reader.getNodeName()))
+			{
+				throw new PyDebuggerException("Expected <call_signature>, found " + reader.getNodeName());
+			}
+			signatures.add(readCallSignature(reader));
+			reader.moveUp();
+		}
+		return new PySignatureBatch(signatures, coalesced);
+	}
+
+	private static PySignature readCallSignature(XppReader reader) throws PyDebuggerException
+	{
 		String file = readString(reader, "file", "");
 		String name = readString(reader, "name", "");
 		PySignature signature = new PySignature(file, name);
@@ -57,6 +98,25 @@ public class ProtocolParser
 		return signature;
 	}
 
+	public static List<PyConditionStats> parseConditionStats(String payload, PyPositionConverter positionConverter) throws PyDebuggerException
+	{
+		List<PyConditionStats> result = new ArrayList<>();
+		XppReader reader = openReader(payload, false);
+		while(reader.hasMoreChildren())
+		{
+			reader.moveDown();
+			if(!"bp".equals(reader.getNodeName()))
+			{
+				throw new PyDebuggerException("Expected <bp>, found " + reader.getNodeName());
+			}
+			PySourcePosition position = positionConverter.create(readString(reader, "file", null), readInt(reader, "line", null));
+			result.add(new PyConditionStats(position, parseLong(readString(reader, "evaluations", null)), parseLong(readString(reader, "hits", "0")),
+					readDouble(reader, "time")));
+			reader.moveUp();
+		}
+		return result;
+	}
+
 	public static PyConcurrencyEvent parseConcurrencyEvent(String payload, PyPositionConverter positionConverter) throws PyDebuggerException
 	{
 		XppReader reader = openReader(payload, true);
@@ -279,6 +339,31 @@ public class ProtocolParser
 		return values;
 	}
 
+	/**
+	 * Parses the end of a referrers page {@code <referrers next="N" total="T"/>}, the referrers themselves are sent before it.
+	 *
+	 * @return null if the search was cancelled
+	 */
+	@Nullable
+	public static PyDebugValuesPage parseReferrersPage(String text) throws PyDebuggerException
+	{
+		XppReader reader = openReader(text, false);
+		if(!reader.hasMoreChildren())
+		{
+			throw new PyDebuggerException("Expected <referrers>, found nothing");
+		}
+		reader.moveDown();
+		if(!"referrers".equals(reader.getNodeName()))
+		{
+			throw new PyDebuggerException("Expected <referrers>, found " + reader.getNodeName());
+		}
+		if(read(reader, "cancelled", false) != null)
+		{
+			return null;
+		}
+		return new PyDebugValuesPage(XValueChildrenList.EMPTY, readInt(reader, "next", 0), readInt(reader, "total", 0));
+	}
+
 
 	public static List<PyDebugValue> parseValues(String text, PyFrameAccessor frameAccessor) throws PyDebuggerException
 	{
@@ -295,6 +380,46 @@ public class ProtocolParser
 		return values;
 	}
 
+	/**
+	 * Parses variables of a frame or children of a variable, optionally preceded by the page header
+	 * {@code <page offset="O" next="N" total="T" digest="D"/>}, which has no values after it when it is marked
+	 * {@code unchanged="1"}. Values are converted and added to the page as soon as they are read,
+	 * the converter may return null to skip a value.
+	 */
+	public static PyDebugValuesPage parseValuesPage(String text, PyFrameAccessor frameAccessor, Function<PyDebugValue, PyDebugValue> converter)
+			throws PyDebuggerException
+	{
+		XValueChildrenList values = new XValueChildrenList();
+		int next = 0;
+		int total = 0;
+		String digest = null;
+		boolean unchanged = false;
+
+		XppReader reader = openReader(text, false);
+		while(reader.hasMoreChildren())
+		{
+			reader.moveDown();
+			if("page".equals(reader.getNodeName()))
+			{
+				next = readInt(reader, "next", 0);
+				total = readInt(reader, "total", 0);
+				digest = reader.getAttribute("digest");
+				unchanged = "1".equals(reader.getAttribute("unchanged"));
+			}
+			else
+			{
+				PyDebugValue value = converter.apply(parseValue(reader, frameAccessor));
+				if(value != null)
+				{
+					values.add(value.getName(), value);
+				}
+			}
+			reader.moveUp();
+		}
+
+		return new PyDebugValuesPage(values, next, total, text.length(), digest, unchanged);
+	}
+
 	private static PyDebugValue parseValue(XppReader reader, PyFrameAccessor frameAccessor) throws PyDebuggerException
 	{
 		if(!"var".equals(reader.getNodeName()))
@@ -324,6 +449,7 @@ public class ProtocolParser
 	{
 		XppReader reader = openReader(text, false);
 		ArrayChunkBuilder result = new ArrayChunkBuilder();
+		String format = null;
 		if(reader.hasMoreChildren())
 		{
 			reader.moveDown();
@@ -335,24 +461,25 @@ public class ProtocolParser
 			result.setSlicePresentation(slice);
 			result.setRows(readInt(reader, "rows", null));
 			result.setColumns(readInt(reader, "cols", null));
-			result.setFormat("%" + readString(reader, "format", null));
+			format = "%" + readString(reader, "format", null);
+			result.setFormat(format);
 			result.setType(readString(reader, "type", null));
 			result.setMax(readString(reader, "max", null));
 			result.setMin(readString(reader, "min", null));
 			result.setValue(new PyDebugValue(slice, null, null, null, false, false, false, false, frameAccessor));
 			reader.moveUp();
 		}
+		List<ArrayChunk.ColHeader> colHeaders = null;
 		if("headerdata".equals(reader.peekNextChild()))
 		{
-			parseArrayHeaderData(reader, result);
+			colHeaders = parseArrayHeaderData(reader, result);
 		}
 
-		Object[][] data = parseArrayValues(reader, frameAccessor);
-		result.setData(data);
+		result.setColumnData(parseArrayValues(reader, format, colHeaders));
 		return result.createArrayChunk();
 	}
 
-	private static void parseArrayHeaderData(XppReader reader, ArrayChunkBuilder result) throws PyDebuggerException
+	private static List<ArrayChunk.ColHeader> parseArrayHeaderData(XppReader reader, ArrayChunkBuilder result) throws PyDebuggerException
 	{
 		List<String> rowHeaders = Lists.newArrayList();
 		List<ArrayChunk.ColHeader> colHeaders = Lists.newArrayList();
@@ -378,9 +505,16 @@ public class ProtocolParser
 		result.setColHeaders(colHeaders);
 		result.setRowLabels(rowHeaders);
 		reader.moveUp();
+		return colHeaders;
 	}
 
-	public static Object[][] parseArrayValues(XppReader reader, PyFrameAccessor frameAccessor) throws PyDebuggerException
+	/**
+	 * Reads the cells column by column and stores every column in the narrowest form its cells allow, see {@link ArrayColumn}.
+	 *
+	 * @param format     format of the cells of the array
+	 * @param colHeaders headers of a data frame, their formats override the format of the array
+	 */
+	public static ArrayColumn[] parseArrayValues(XppReader reader, @Nullable String format, @Nullable List<ArrayChunk.ColHeader> colHeaders) throws PyDebuggerException
 	{
 		int rows = -1;
 		int cols = -1;
@@ -400,7 +534,7 @@ public class ProtocolParser
 		{
 			throw new PyDebuggerException("Array xml: bad rows or columns number: (" + rows + ", " + cols + ")");
 		}
-		Object[][] values = new Object[rows][cols];
+		String[][] texts = new String[cols][rows];
 
 		int currRow = 0;
 		int currCol = 0;
@@ -427,14 +561,146 @@ public class ProtocolParser
 			}
 			else
 			{
-				PyDebugValue value = parseValue(reader, frameAccessor);
-				values[currRow - 1][currCol] = value.getValue();
+				if(currRow == 0 || currCol >= cols)
+				{
+					throw new PyDebuggerException("Array xml: unexpected cell in " + currRow + " row, " + currCol + " column");
+				}
+				texts[currCol][currRow - 1] = readCellText(reader);
 				currCol += 1;
 			}
 			reader.moveUp();
 		}
 
-		return values;
+		ArrayColumn[] columns = new ArrayColumn[cols];
+		for(int col = 0; col < cols; col++)
+		{
+			String columnFormat = format;
+			if(colHeaders != null && col < colHeaders.size() && colHeaders.get(col).getFormat() != null)
+			{
+				columnFormat = "%" + colHeaders.get(col).getFormat();
+			}
+			columns[col] = ArrayColumn.of(texts[col], columnFormat);
+			// Let the strings of the column go as soon as it is converted
+			texts[col] = null;
+		}
+		return columns;
+	}
+
+	/**
+	 * Reads the value of a cell the way {@link #parseValue(XppReader, PyFrameAccessor)} does without creating a value for it.
+	 */
+	private static String readCellText(XppReader reader) throws PyDebuggerException
+	{
+		if(!"var".equals(reader.getNodeName()))
+		{
+			throw new PyDebuggerException("Expected <var>, found " + reader.getNodeName());
+		}
+		String type = readString(reader, "type", null);
+		String value = readString(reader, "value", null);
+		if(value.startsWith(type + ": "))
+		{
+			value = value.substring(type.length() + 2);
+		}
+		return value;
+	}
+
+	public static ArrayStats parseArrayStats(String text) throws PyDebuggerException
+	{
+		XppReader reader = openReader(text, false);
+		ArrayStats.Stats total = null;
+		List<ArrayStats.Stats> columns = new ArrayList<>();
+		while(reader.hasMoreChildren())
+		{
+			reader.moveDown();
+			if("stats".equals(reader.getNodeName()))
+			{
+				total = parseStats(reader);
+			}
+			else if("colstats".equals(reader.getNodeName()))
+			{
+				int index = readInt(reader, "index", null);
+				if(index != columns.size())
+				{
+					throw new PyDebuggerException("Array stats xml: expected " + columns.size() + " column, found " + index);
+				}
+				columns.add(parseStats(reader));
+			}
+			else
+			{
+				throw new PyDebuggerException("Expected <stats> or <colstats>, found " + reader.getNodeName());
+			}
+			reader.moveUp();
+		}
+		return new ArrayStats(total, columns);
+	}
+
+	private static ArrayStats.Stats parseStats(XppReader reader) throws PyDebuggerException
+	{
+		String histogramText = readString(reader, "hist", "");
+		long[] histogram;
+		if(histogramText.isEmpty())
+		{
+			histogram = new long[0];
+		}
+		else
+		{
+			List<String> counts = StringUtil.split(histogramText, ",");
+			histogram = new long[counts.size()];
+			for(int i = 0; i < histogram.length; i++)
+			{
+				histogram[i] = parseLong(counts.get(i));
+			}
+		}
+		return new ArrayStats.Stats(read(reader, "label", false),
+				readString(reader, "type", null),
+				parseLong(readString(reader, "count", null)),
+				parseLong(readString(reader, "nans", "0")),
+				readDouble(reader, "min"),
+				readDouble(reader, "max"),
+				readDouble(reader, "mean"),
+				readDouble(reader, "hmin"),
+				readDouble(reader, "hmax"),
+				histogram);
+	}
+
+	/**
+	 * Reads a number printed by Python, NaN if the attribute is missing
+	 */
+	private static double readDouble(XppReader reader, String name) throws PyDebuggerException
+	{
+		String value = read(reader, name, false);
+		if(value == null || "nan".equals(value))
+		{
+			return Double.NaN;
+		}
+		if("inf".equals(value))
+		{
+			return Double.POSITIVE_INFINITY;
+		}
+		if("-inf".equals(value))
+		{
+			return Double.NEGATIVE_INFINITY;
+		}
+		try
+		{
+			return Double.parseDouble(value);
+		}
+		catch(NumberFormatException e)
+		{
+			throw new PyDebuggerException("Bad number " + value + " in " + name, e);
+		}
+	}
+
+	private static long parseLong(String value) throws PyDebuggerException
+	{
+		try
+		{
+			return Long.parseLong(value.trim());
+		}
+		catch(NumberFormatException e)
+		{
+			throw new PyDebuggerException("Bad number " + value, e);
+		}
 	}
 
 	private static XppReader openReader(String text, boolean checkForContent) throws PyDebuggerException
@@ -49,9 +49,23 @@ public class RemoteDebugger implements ProcessDebugger
 	private final TempVarsHolder myTempVars = new TempVarsHolder();
 
 	private Map<Pair<String, Integer>, String> myTempBreakpoints = Maps.newHashMap();
+	private volatile boolean myVariablesPagingSupported = true;
+	private volatile boolean myReferrersPagingSupported = true;
+	private final Map<Integer, ReferrersSearch> myReferrersSearches = new ConcurrentHashMap<>();
 
 
 	private final List<RemoteDebuggerCloseListener> myCloseListeners = Lists.newLockFreeCopyOnWriteList();
+	private final List<ThreadListener> myThreadListeners = Lists.newLockFreeCopyOnWriteList();
+
+	/**
+	 * Notified on the reader thread when the debugger learns about a new thread of the process or a thread is finished
+	 */
+	public interface ThreadListener
+	{
+		void threadStarted(PyThreadInfo thread);
+
+		void threadFinished(String threadId);
+	}
 
 	private final DebuggerTransport myDebuggerTransport;
 
@@ -157,6 +171,59 @@ public class RemoteDebugger implements ProcessDebugger
 		return command.getVariables();
 	}
 
+	@Override
+	public PyDebugValuesPage loadFramePage(String threadId, String frameId, int offset, int limit, @Nullable String digest) throws PyDebuggerException
+	{
+		if(myVariablesPagingSupported)
+		{
+			GetFrameCommand command = new GetFrameCommand(this, threadId, frameId, offset, limit, digest);
+			try
+			{
+				command.execute();
+				return command.getPage();
+			}
+			catch(PyDebuggerException e)
+			{
+				checkPagingSupported(e);
+			}
+		}
+		return PyDebugValuesPage.whole(loadFrame(threadId, frameId));
+	}
+
+	@Override
+	public PyDebugValuesPage loadVariablePage(String threadId, String frameId, PyDebugValue var, int offset, int limit, @Nullable String digest)
+			throws PyDebuggerException
+	{
+		if(myVariablesPagingSupported)
+		{
+			setTempVariable(threadId, frameId, var);
+			GetVariableCommand command = new GetVariableCommand(this, threadId, frameId, var, offset, limit, digest);
+			try
+			{
+				command.execute();
+				return command.getPage();
+			}
+			catch(PyDebuggerException e)
+			{
+				checkPagingSupported(e);
+			}
+		}
+		return PyDebugValuesPage.whole(loadVariable(threadId, frameId, var));
+	}
+
+	/**
+	 * Debuggers older than the IDE don't know the command, in this case children are loaded at once from now on
+	 */
+	private void checkPagingSupported(PyDebuggerException e) throws PyDebuggerException
+	{
+		String message = e.getMessage();
+		if(message == null || !message.contains("unexpected command"))
+		{
+			throw e;
+		}
+		myVariablesPagingSupported = false;
+	}
+
 	@Override
 	public ArrayChunk loadArrayItems(String threadId, String frameId, PyDebugValue var, int rowOffset, int colOffset, int rows, int cols, String format) throws PyDebuggerException
 	{
@@ -165,6 +232,14 @@ public class RemoteDebugger implements ProcessDebugger
 		return command.getArray();
 	}
 
+	@Override
+	public ArrayStats loadArrayStats(String threadId, String frameId, PyDebugValue var, int bins) throws PyDebuggerException
+	{
+		GetArrayStatsCommand command = new GetArrayStatsCommand(this, threadId, frameId, var, bins);
+		command.execute();
+		return command.getStats();
+	}
+
 
 	@Override
 	public void loadReferrers(String threadId, String frameId, PyReferringObjectsValue var, final PyDebugCallback<XValueChildrenList> callback)
@@ -192,6 +267,147 @@ public class RemoteDebugger implements ProcessDebugger
 		});
 	}
 
+	@Override
+	public PyReferrersLoader.Search loadReferrers(String threadId,
+			String frameId,
+			PyReferringObjectsValue var,
+			@Nullable PyReferrersLoader.Search previous,
+			int offset,
+			int limit,
+			PyReferrersLoader.Listener listener)
+	{
+		int sequence = getNextSequence();
+		// the pages of a search are taken from the referrers found by its first page
+		int searchId = previous instanceof ReferrersSearch previousSearch ? previousSearch.mySearchId : sequence;
+		ReferrersSearch search = new ReferrersSearch(sequence, searchId, threadId, frameId, var, listener);
+		if(!myReferrersPagingSupported)
+		{
+			loadAllReferrers(search);
+			return search;
+		}
+		myReferrersSearches.put(search.mySequence, search);
+		try
+		{
+			if(!new GetReferrersPageCommand(this, searchId, threadId, frameId, var, offset, limit).send(search.mySequence))
+			{
+				throw new PyDebuggerException("Couldn't send frame " + AbstractCommand.GET_REFERRERS);
+			}
+		}
+		catch(PyDebuggerException e)
+		{
+			if(myReferrersSearches.remove(search.mySequence) != null)
+			{
+				listener.error(e);
+			}
+		}
+		return search;
+	}
+
+	/**
+	 * Loads the referrers with a single custom operation, for debuggers which don't know {@link AbstractCommand#GET_REFERRERS}
+	 */
+	private void loadAllReferrers(ReferrersSearch search)
+	{
+		loadReferrers(search.myThreadId, search.myFrameId, search.myValue, new PyDebugCallback<XValueChildrenList>()
+		{
+			@Override
+			public void ok(XValueChildrenList value)
+			{
+				if(!search.myCancelled)
+				{
+					search.myListener.referrersFound(value);
+					search.myListener.finished(value.size(), value.size());
+				}
+			}
+
+			@Override
+			public void error(PyDebuggerException exception)
+			{
+				if(!search.myCancelled)
+				{
+					search.myListener.error(exception);
+				}
+			}
+		});
+	}
+
+	private void processReferrersResponse(ProtocolFrame frame)
+	{
+		ReferrersSearch search = myReferrersSearches.get(frame.getSequence());
+		if(search == null)
+		{
+			return;
+		}
+		try
+		{
+			if(frame.getCommand() == AbstractCommand.REFERRERS_BATCH)
+			{
+				XValueChildrenList list = new XValueChildrenList();
+				for(PyDebugValue value : ProtocolParser.parseReferrers(frame.getPayload(), myDebugProcess))
+				{
+					list.add(value);
+				}
+				search.myListener.referrersFound(list);
+				return;
+			}
+			if(myReferrersSearches.remove(frame.getSequence()) == null)
+			{
+				return;
+			}
+			if(frame.getCommand() >= 900 && frame.getCommand() < 1000)
+			{
+				if(frame.getPayload().contains("unexpected command"))
+				{
+					myReferrersPagingSupported = false;
+					loadAllReferrers(search);
+					return;
+				}
+				throw new PyDebuggerException(frame.getPayload());
+			}
+			PyDebugValuesPage page = ProtocolParser.parseReferrersPage(frame.getPayload());
+			if(page != null)
+			{
+				search.myListener.finished(page.getNextOffset(), page.getTotal());
+			}
+		}
+		catch(PyDebuggerException e)
+		{
+			search.cancel();
+			search.myListener.error(e);
+		}
+	}
+
+	private class ReferrersSearch implements PyReferrersLoader.Search
+	{
+		private final int mySequence;
+		private final int mySearchId;
+		private final String myThreadId;
+		private final String myFrameId;
+		private final PyReferringObjectsValue myValue;
+		private final PyReferrersLoader.Listener myListener;
+		private volatile boolean myCancelled;
+
+		private ReferrersSearch(int sequence, int searchId, String threadId, String frameId, PyReferringObjectsValue value, PyReferrersLoader.Listener listener)
+		{
+			mySequence = sequence;
+			mySearchId = searchId;
+			myThreadId = threadId;
+			myFrameId = frameId;
+			myValue = value;
+			myListener = listener;
+		}
+
+		@Override
+		public void cancel()
+		{
+			myCancelled = true;
+			if(myReferrersSearches.remove(mySequence) != null && isConnected())
+			{
+				execute(new CancelReferrersCommand(RemoteDebugger.this, mySearchId));
+			}
+		}
+	}
+
 	@Override
 	public PyDebugValue changeVariable(String threadId, String frameId, PyDebugValue var, String value) throws PyDebuggerException
 	{
@@ -224,8 +440,24 @@ public class RemoteDebugger implements ProcessDebugger
 
 	private void cleanUp()
 	{
+		List<String> threadIds = new ArrayList<>(myThreads.keySet());
 		myThreads.clear();
+		for(String threadId : threadIds)
+		{
+			for(ThreadListener listener : myThreadListeners)
+			{
+				listener.threadFinished(threadId);
+			}
+		}
 		myResponseQueue.clear();
+		for(Integer sequence : new ArrayList<>(myReferrersSearches.keySet()))
+		{
+			ReferrersSearch search = myReferrersSearches.remove(sequence);
+			if(search != null)
+			{
+				search.myListener.error(new PyDebuggerException("No connection (command:  " + AbstractCommand.GET_REFERRERS + " )"));
+			}
+		}
 		synchronized(mySequenceObject)
 		{
 			mySequence = -1;
@@ -484,6 +716,13 @@ public class RemoteDebugger implements ProcessDebugger
 		execute(command);
 	}
 
+	@Override
+	public void setSignatureBatching(boolean batching)
+	{
+		SignatureBatchingCommand command = new SignatureBatchingCommand(this, batching);
+		execute(command);
+	}
+
 	// for DebuggerReader only
 	public void processResponse(String line)
 	{
@@ -508,7 +747,11 @@ public class RemoteDebugger implements ProcessDebugger
 			}
 			else if(AbstractCommand.isCallSignatureTrace(frame.getCommand()))
 			{
-				recordCallSignature(ProtocolParser.parseCallSignature(frame.getPayload()));
+				recordCallSignatures(ProtocolParser.parseCallSignatures(frame.getPayload()));
+			}
+			else if(AbstractCommand.isBreakpointStats(frame.getCommand()))
+			{
+				myDebugProcess.recordConditionStats(ProtocolParser.parseConditionStats(frame.getPayload(), myDebugProcess.getPositionConverter()));
 			}
 			else if(AbstractCommand.isConcurrencyEvent(frame.getCommand()))
 			{
@@ -522,6 +765,10 @@ public class RemoteDebugger implements ProcessDebugger
 			{
 				onProcessCreatedEvent();
 			}
+			else if(myReferrersSearches.containsKey(frame.getSequence()))
+			{
+				processReferrersResponse(frame);
+			}
 			else
 			{
 				placeResponse(frame.getSequence(), frame);
@@ -534,9 +781,9 @@ public class RemoteDebugger implements ProcessDebugger
 		}
 	}
 
-	private void recordCallSignature(PySignature signature)
+	private void recordCallSignatures(PySignatureBatch batch)
 	{
-		myDebugProcess.recordSignature(signature);
+		myDebugProcess.recordSignatures(batch.getSignatures(), batch.getCoalescedCount());
 	}
 
 	private void recordConcurrencyEvent(PyConcurrencyEvent event)
@@ -554,7 +801,7 @@ public class RemoteDebugger implements ProcessDebugger
 				PyThreadInfo thread = parseThreadEvent(frame);
 				if(!thread.isPydevThread())
 				{  // ignore pydevd threads
-					myThreads.put(thread.getId(), thread);
+					addThread(thread);
 					if(myDebugProcess.getSession().isSuspended() && myDebugProcess.isSuspendedOnAllThreadsPolicy())
 					{
 						// Sometimes the notification about new threads may come slow from the Python side. We should check if
@@ -571,7 +818,7 @@ public class RemoteDebugger implements ProcessDebugger
 				if(thread == null)
 				{
 					LOG.error("Trying to stop on non-existent thread: " + event.getId() + ", " + event.getStopReason() + ", " + event.getMessage());
-					myThreads.put(event.getId(), event);
+					addThread(event);
 					thread = event;
 				}
 				thread.updateState(PyThreadInfo.State.SUSPENDED, event.getFrames());
@@ -606,6 +853,10 @@ public class RemoteDebugger implements ProcessDebugger
 				{
 					thread.updateState(PyThreadInfo.State.KILLED, null);
 					myThreads.remove(id);
+					for(ThreadListener listener : myThreadListeners)
+					{
+						listener.threadFinished(id);
+					}
 				}
 				if(myDebugProcess.getSession().getCurrentPosition() == null)
 				{
@@ -627,7 +878,7 @@ public class RemoteDebugger implements ProcessDebugger
 				PyThreadInfo thread = myThreads.get(event.getId());
 				if(thread == null)
 				{
-					myThreads.put(event.getId(), event);
+					addThread(event);
 					thread = event;
 				}
 				thread.updateState(PyThreadInfo.State.SUSPENDED, event.getFrames());
@@ -639,6 +890,15 @@ public class RemoteDebugger implements ProcessDebugger
 		}
 	}
 
+	private void addThread(PyThreadInfo thread)
+	{
+		myThreads.put(thread.getId(), thread);
+		for(ThreadListener listener : myThreadListeners)
+		{
+			listener.threadStarted(thread);
+		}
+	}
+
 	private PyThreadInfo parseThreadEvent(ProtocolFrame frame) throws PyDebuggerException
 	{
 		return ProtocolParser.parseThread(frame.getPayload(), myDebugProcess.getPositionConverter());
@@ -761,6 +1021,11 @@ public class RemoteDebugger implements ProcessDebugger
 	{
 	}
 
+	public void addThreadListener(ThreadListener listener)
+	{
+		myThreadListeners.add(listener);
+	}
+
 	protected void fireCloseEvent()
 	{
 		for(RemoteDebuggerCloseListener listener : myCloseListeners)
@@ -0,0 +1,21 @@
+package com.jetbrains.python.debugger.pydev;
+
+/**
+ * Asks the debugger to send collected call signatures in batches, see {@link ProtocolParser#parseCallSignatures(String)}
+ */
+public class SignatureBatchingCommand extends AbstractCommand
+{
+	private final boolean myBatching;
+
+	public SignatureBatchingCommand(RemoteDebugger debugger, boolean batching)
+	{
+		super(debugger, AbstractCommand.SET_SIGNATURE_BATCHING);
+		myBatching = batching;
+	}
+
+	@Override
+	protected void buildPayload(Payload payload)
+	{
+		payload.add("SIGNATURE_BATCHING").add(myBatching);
+	}
+}
@@ -43,6 +43,7 @@ public enum PythonHelper implements HelperPackage
 	CONSOLE("pydev", "pydevconsole"),
 	RUN_IN_CONSOLE("pydev", "pydev_run_in_console"),
 	PROFILER("profiler", "run_profiler"),
+	SAMPLING_PROFILER("profiler", "sampling_profiler"),
 
 	LOAD_ENTRY_POINT("pycharm", "pycharm_load_entry_point"),
 
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.actions;
+
+import com.jetbrains.python.PythonFileType;
+import com.jetbrains.python.impl.psi.impl.stubs.PyFileStubBuilder;
+import com.jetbrains.python.impl.sdk.PythonSdkType;
+import consulo.application.ReadAction;
+import consulo.application.progress.ProgressIndicator;
+import consulo.application.progress.ProgressManager;
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.content.base.BinariesOrderRootType;
+import consulo.content.bundle.Sdk;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiFileFactory;
+import consulo.language.psi.stub.StubElement;
+import consulo.logging.Logger;
+import consulo.module.Module;
+import consulo.project.Project;
+import consulo.python.impl.localize.PyLocalize;
+import consulo.ui.annotation.RequiredUIAccess;
+import consulo.ui.ex.action.AnAction;
+import consulo.ui.ex.action.AnActionEvent;
+import consulo.ui.ex.action.AnActionWithSyncUpdate;
+import consulo.ui.ex.awt.Messages;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.util.VirtualFileUtil;
+import consulo.virtualFileSystem.util.VirtualFileVisitor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parses and builds stubs for all Python files of the module SDK on all available cores and reports the throughput.
+ * Internal benchmark used to check that stub building scales across threads for fresh interpreters with large site-packages,
+ * the stubs are discarded: the platform indexer builds the ones it stores itself.
+ */
+public class PyBuildSdkStubsAction extends AnAction implements AnActionWithSyncUpdate {
+    private static final Logger LOG = Logger.getInstance(PyBuildSdkStubsAction.class);
+
+    @Override
+    @RequiredUIAccess
+    public void actionPerformed(AnActionEvent e) {
+        Module module = e.getRequiredData(Module.KEY);
+        Sdk sdk = PythonSdkType.findPythonSdk(module);
+        if (sdk == null) {
+            return;
+        }
+        Project project = module.getProject();
+        String[] report = new String[1];
+        boolean completed = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> report[0] = buildStubs(project, sdk, ProgressManager.getInstance().getProgressIndicator()),
+            PyLocalize.sdkStubsBenchmarkProgress(sdk.getName()).get(),
+            true,
+            project
+        );
+        if (completed && report[0] != null) {
+            Messages.showInfoMessage(project, report[0], PyLocalize.sdkStubsBenchmarkTitle().get());
+        }
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        Module module = e.getData(Module.KEY);
+        e.getPresentation().setEnabled(module != null && PythonSdkType.findPythonSdk(module) != null);
+    }
+
+    private static String buildStubs(Project project, Sdk sdk, ProgressIndicator indicator) {
+        List<VirtualFile> files = collectPythonFiles(sdk);
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Python SDK stubs builder", threads);
+        AtomicInteger processedFiles = new AtomicInteger();
+        AtomicInteger failedFiles = new AtomicInteger();
+        AtomicLong processedBytes = new AtomicLong();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(files.size());
+            for (VirtualFile file : files) {
+                futures.add(executor.submit(() -> {
+                    if (indicator.isCanceled()) {
+                        return;
+                    }
+                    try {
+                        byte[] bytes = file.contentsToByteArray();
+                        buildStub(project, file.getName(), new String(bytes, file.getCharset()));
+                        processedBytes.addAndGet(bytes.length);
+                    }
+                    catch (IOException | RuntimeException ex) {
+                        failedFiles.incrementAndGet();
+                        LOG.debug("Cannot build stubs for " + file.getPath(), ex);
+                    }
+                    int processed = processedFiles.incrementAndGet();
+                    indicator.setFraction((double)processed / files.size());
+                    indicator.setText2(file.getPresentableUrl());
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        catch (InterruptedException | ExecutionException ex) {
+            LOG.warn(ex);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        String report = PyLocalize.sdkStubsBenchmarkReport(
+            String.valueOf(processedFiles.get()),
+            String.valueOf(failedFiles.get()),
+            String.format("%.1f", seconds),
+            String.valueOf(threads),
+            String.format("%.1f", processedFiles.get() / seconds),
+            String.format("%.2f", processedBytes.get() / seconds / (1024 * 1024))
+        ).get();
+        LOG.info(report);
+        return report;
+    }
+
+    private static StubElement buildStub(Project project, String name, String text) {
+        return ReadAction.compute(() -> {
+            PsiFile psiFile = PsiFileFactory.getInstance(project).createFileFromText(name, PythonFileType.INSTANCE, text);
+            return new PyFileStubBuilder().buildStubTree(psiFile);
+        });
+    }
+
+    private static List<VirtualFile> collectPythonFiles(Sdk sdk) {
+        List<VirtualFile> result = new ArrayList<>();
+        for (VirtualFile root : sdk.getRootProvider().getFiles(BinariesOrderRootType.ID)) {
+            VirtualFileUtil.visitChildrenRecursively(root, new VirtualFileVisitor() {
+                @Override
+                public boolean visitFile(VirtualFile file) {
+                    if (!file.isDirectory() && file.getFileType() == PythonFileType.INSTANCE) {
+                        result.add(file);
+                    }
+                    return true;
+                }
+            });
+        }
+        return result;
+    }
+}
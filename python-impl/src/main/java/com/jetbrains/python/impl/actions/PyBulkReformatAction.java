@@ -0,0 +1,264 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.actions;
+
+import com.jetbrains.python.PythonFileType;
+import com.jetbrains.python.impl.codeInsight.imports.PyImportOptimizer;
+import consulo.application.Application;
+import consulo.application.ReadAction;
+import consulo.application.progress.ProgressIndicator;
+import consulo.application.progress.ProgressManager;
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.diff.comparison.ComparisonManager;
+import consulo.diff.comparison.ComparisonPolicy;
+import consulo.diff.fragment.LineFragment;
+import consulo.document.Document;
+import consulo.language.codeStyle.CodeStyleManager;
+import consulo.language.psi.PsiDirectory;
+import consulo.language.psi.PsiDocumentManager;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
+import consulo.logging.Logger;
+import consulo.module.content.ProjectFileIndex;
+import consulo.project.Project;
+import consulo.python.impl.localize.PyLocalize;
+import consulo.ui.annotation.RequiredUIAccess;
+import consulo.ui.ex.action.AnAction;
+import consulo.ui.ex.action.AnActionEvent;
+import consulo.ui.ex.action.AnActionWithSyncUpdate;
+import consulo.ui.ex.awt.Messages;
+import consulo.undoRedo.CommandProcessor;
+import consulo.virtualFileSystem.VirtualFile;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Optimizes imports and reformats all Python files of the selected directories.
+ * <p>
+ * Files are processed in batches: every file of a batch is copied from its committed PSI and transformed on a pooled thread
+ * inside a read action, then the changed lines of the whole batch are written to the documents in a single command.
+ * Only the changed lines are replaced, so markers, folding and carets elsewhere are kept and the command can be undone.
+ * Files edited while their batch was processed are left untouched.
+ */
+public class PyBulkReformatAction extends AnAction implements AnActionWithSyncUpdate {
+    private static final Logger LOG = Logger.getInstance(PyBulkReformatAction.class);
+    private static final int BATCH_SIZE = 100;
+
+    private static class Replacement {
+        private final int myStart;
+        private final int myEnd;
+        private final CharSequence myText;
+
+        private Replacement(int start, int end, CharSequence text) {
+            myStart = start;
+            myEnd = end;
+            myText = text;
+        }
+    }
+
+    private static class Result {
+        private final Document myDocument;
+        private final long myModificationStamp;
+        private final List<Replacement> myReplacements;
+
+        private Result(Document document, long modificationStamp, List<Replacement> replacements) {
+            myDocument = document;
+            myModificationStamp = modificationStamp;
+            myReplacements = replacements;
+        }
+    }
+
+    @Override
+    @RequiredUIAccess
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getData(Project.KEY);
+        PsiElement[] elements = e.getData(PsiElement.KEY_OF_ARRAY);
+        if (project == null || elements == null) {
+            return;
+        }
+        PsiDocumentManager.getInstance(project).commitAllDocuments();
+        List<VirtualFile> files = collectPythonFiles(project, elements);
+        if (files.isEmpty()) {
+            return;
+        }
+        String[] report = new String[1];
+        boolean completed = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> report[0] = reformat(project, files, ProgressManager.getInstance().getProgressIndicator()),
+            PyLocalize.bulkReformatProgressTitle().get(),
+            true,
+            project
+        );
+        if (completed && report[0] != null) {
+            Messages.showInfoMessage(project, report[0], PyLocalize.bulkReformatCommandName().get());
+        }
+    }
+
+    @Override
+    public void update(AnActionEvent e) {
+        PsiElement[] elements = e.getData(PsiElement.KEY_OF_ARRAY);
+        e.getPresentation().setEnabled(e.getData(Project.KEY) != null && elements != null && elements.length > 0 && isAllDirectories(elements));
+    }
+
+    private static boolean isAllDirectories(PsiElement[] elements) {
+        for (PsiElement element : elements) {
+            if (!(element instanceof PsiDirectory)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String reformat(Project project, List<VirtualFile> files, ProgressIndicator indicator) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Python bulk reformat", threads);
+        int processedFiles = 0;
+        int changedFiles = 0;
+        long start = System.nanoTime();
+        try {
+            for (int batchStart = 0; batchStart < files.size() && !indicator.isCanceled(); batchStart += BATCH_SIZE) {
+                List<VirtualFile> batch = files.subList(batchStart, Math.min(files.size(), batchStart + BATCH_SIZE));
+                List<Future<Result>> futures = new ArrayList<>(batch.size());
+                for (VirtualFile file : batch) {
+                    futures.add(executor.submit(() -> indicator.isCanceled() ? null : processFile(project, file, indicator)));
+                }
+                List<Result> results = new ArrayList<>(batch.size());
+                for (Future<Result> future : futures) {
+                    Result result = future.get();
+                    if (result != null) {
+                        results.add(result);
+                    }
+                }
+                changedFiles += applyResults(project, results);
+                processedFiles += batch.size();
+                indicator.setFraction((double)processedFiles / files.size());
+                indicator.setText2(PyLocalize.bulkReformatProgressFiles(processedFiles, files.size()).get());
+            }
+        }
+        catch (InterruptedException | ExecutionException ex) {
+            LOG.warn(ex);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        String report = PyLocalize.bulkReformatReport(
+            processedFiles,
+            changedFiles,
+            String.format("%.1f", seconds),
+            threads,
+            String.format("%.1f", processedFiles / seconds)
+        ).get();
+        LOG.info(report);
+        return report;
+    }
+
+    /**
+     * @return changed lines of the file or null if it has not changed or cannot be processed
+     */
+    @Nullable
+    private static Result processFile(Project project, VirtualFile file, ProgressIndicator indicator) {
+        try {
+            return ReadAction.compute(() -> {
+                // PSI is created only for the files of the current batch
+                PsiFile psiFile = file.isValid() ? PsiManager.getInstance(project).findFile(file) : null;
+                PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+                Document document = psiFile != null ? documentManager.getDocument(psiFile) : null;
+                if (document == null || !document.isWritable() || !documentManager.isCommitted(document)) {
+                    return null;
+                }
+                long modificationStamp = document.getModificationStamp();
+                CharSequence before = document.getImmutableCharSequence();
+                // A non-physical copy keeps the original file as its context, so imports are resolved as in the original
+                PsiFile copy = (PsiFile)psiFile.copy();
+                new PyImportOptimizer().processFile(copy).run();
+                CodeStyleManager.getInstance(project).reformat(copy);
+                List<Replacement> replacements = computeReplacements(before, copy.getText(), indicator);
+                return replacements.isEmpty() ? null : new Result(document, modificationStamp, replacements);
+            });
+        }
+        catch (RuntimeException e) {
+            LOG.debug("Cannot reformat " + file.getPath(), e);
+            return null;
+        }
+    }
+
+    private static List<Replacement> computeReplacements(CharSequence before, CharSequence after, ProgressIndicator indicator) {
+        List<LineFragment> fragments = ComparisonManager.getInstance().compareLines(before, after, ComparisonPolicy.DEFAULT, indicator);
+        List<Replacement> replacements = new ArrayList<>(fragments.size());
+        for (LineFragment fragment : fragments) {
+            replacements.add(new Replacement(
+                fragment.getStartOffset1(),
+                fragment.getEndOffset1(),
+                after.subSequence(fragment.getStartOffset2(), fragment.getEndOffset2())
+            ));
+        }
+        return replacements;
+    }
+
+    /**
+     * @return number of files changed
+     */
+    private static int applyResults(Project project, List<Result> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        int[] changed = new int[1];
+        Application.get().invokeAndWait(() -> CommandProcessor.getInstance().newCommand()
+            .project(project)
+            .name(PyLocalize.bulkReformatCommandName())
+            .inWriteAction()
+            .run(() -> {
+                PsiDocumentManager documentManager = PsiDocumentManager.getInstance(project);
+                for (Result result : results) {
+                    Document document = result.myDocument;
+                    if (document.getModificationStamp() != result.myModificationStamp || !document.isWritable()) {
+                        continue;
+                    }
+                    // Fragments are sorted by offset, replacing from the end keeps the offsets of the earlier ones valid
+                    for (int i = result.myReplacements.size() - 1; i >= 0; i--) {
+                        Replacement replacement = result.myReplacements.get(i);
+                        document.replaceString(replacement.myStart, replacement.myEnd, replacement.myText);
+                    }
+                    documentManager.commitDocument(document);
+                    changed[0]++;
+                }
+            }));
+        return changed[0];
+    }
+
+    /**
+     * @return Python files under the selected directories, excluded roots such as virtual environments are skipped
+     */
+    private static List<VirtualFile> collectPythonFiles(Project project, PsiElement[] elements) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        List<VirtualFile> result = new ArrayList<>();
+        for (PsiElement element : elements) {
+            fileIndex.iterateContentUnderDirectory(((PsiDirectory)element).getVirtualFile(), file -> {
+                if (!file.isDirectory() && file.getFileType() == PythonFileType.INSTANCE) {
+                    result.add(file);
+                }
+                return true;
+            });
+        }
+        return result;
+    }
+}
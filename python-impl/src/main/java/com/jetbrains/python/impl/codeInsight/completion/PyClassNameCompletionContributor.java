@@ -15,7 +15,6 @@
  */
 package com.jetbrains.python.impl.codeInsight.completion;
 
-import com.jetbrains.python.PythonFileType;
 import com.jetbrains.python.PythonLanguage;
 import com.jetbrains.python.impl.codeInsight.imports.AddImportHelper;
 import com.jetbrains.python.impl.codeInsight.imports.PythonImportUtils;
@@ -23,6 +22,7 @@ import com.jetbrains.python.impl.psi.PyUtil;
 import com.jetbrains.python.impl.psi.search.PyProjectScopeBuilder;
 import com.jetbrains.python.impl.psi.stubs.PyClassNameIndex;
 import com.jetbrains.python.impl.psi.stubs.PyFunctionNameIndex;
+import com.jetbrains.python.impl.psi.stubs.PyModuleNameIndex;
 import com.jetbrains.python.impl.psi.stubs.PyVariableNameIndex;
 import com.jetbrains.python.impl.psi.types.PyModuleType;
 import com.jetbrains.python.psi.*;
@@ -35,6 +35,7 @@ import consulo.language.editor.WriteCommandAction;
 import consulo.language.editor.completion.CompletionContributor;
 import consulo.language.editor.completion.CompletionParameters;
 import consulo.language.editor.completion.CompletionResultSet;
+import consulo.language.editor.completion.PrefixMatcher;
 import consulo.language.editor.completion.lookup.InsertHandler;
 import consulo.language.editor.completion.lookup.InsertionContext;
 import consulo.language.editor.completion.lookup.LookupElement;
@@ -44,7 +45,6 @@ import consulo.language.icon.IconDescriptorUpdaters;
 import consulo.language.impl.file.MultiplePsiFilesPerDocumentFileViewProvider;
 import consulo.language.psi.*;
 import consulo.language.psi.scope.GlobalSearchScope;
-import consulo.language.psi.search.FileTypeIndex;
 import consulo.language.psi.stub.StubIndex;
 import consulo.language.psi.stub.StubIndexKey;
 import consulo.language.psi.util.PsiTreeUtil;
@@ -53,7 +53,8 @@ import consulo.project.Project;
 import consulo.util.lang.function.Predicates;
 import consulo.virtualFileSystem.VirtualFile;
 
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 
 /**
@@ -135,21 +136,30 @@ public class PyClassNameCompletionContributor extends CompletionContributor
 	@RequiredReadAction
     private static void addVariantsFromModules(CompletionResultSet result, PsiFile targetFile, boolean inStringLiteral)
 	{
-		Collection<VirtualFile> files = FileTypeIndex.getFiles(PythonFileType.INSTANCE, PyProjectScopeBuilder.excludeSdkTestsScope(targetFile));
-		for(VirtualFile file : files)
+		GlobalSearchScope scope = PyProjectScopeBuilder.excludeSdkTestsScope(targetFile);
+		PrefixMatcher matcher = result.getPrefixMatcher();
+		// Only files of matching modules are loaded, module names themselves come from the index
+		for(String name : PyModuleNameIndex.findNames(targetFile.getProject(), matcher::prefixMatches))
 		{
-			PsiFile pyFile = targetFile.getManager().findFile(file);
-			PsiFileSystemItem importable = (PsiFileSystemItem) PyUtil.turnInitIntoDir(pyFile);
-			if(importable == null)
-			{
-				continue;
-			}
-			if(PythonImportUtils.isImportableModule(targetFile, importable))
+			for(VirtualFile file : PyModuleNameIndex.find(name, scope))
 			{
-				LookupElementBuilder element = PyModuleType.buildFileLookupElement(importable, null);
-				if(element != null)
+				if(result.isStopped())
+				{
+					return;
+				}
+				PsiFile pyFile = targetFile.getManager().findFile(file);
+				PsiFileSystemItem importable = (PsiFileSystemItem) PyUtil.turnInitIntoDir(pyFile);
+				if(importable == null)
 				{
-					result.addElement(element.withInsertHandler(inStringLiteral ? STRING_LITERAL_INSERT_HANDLER : IMPORTING_INSERT_HANDLER));
+					continue;
+				}
+				if(PythonImportUtils.isImportableModule(targetFile, importable))
+				{
+					LookupElementBuilder element = PyModuleType.buildFileLookupElement(importable, null);
+					if(element != null)
+					{
+						result.addElement(element.withInsertHandler(inStringLiteral ? STRING_LITERAL_INSERT_HANDLER : IMPORTING_INSERT_HANDLER));
+					}
 				}
 			}
 		}
@@ -168,9 +178,22 @@ public class PyClassNameCompletionContributor extends CompletionContributor
 		Project project = targetFile.getProject();
 		GlobalSearchScope scope = PyProjectScopeBuilder.excludeSdkTestsScope(targetFile);
 
-		Collection<String> keys = StubIndex.getInstance().getAllKeys(key, project);
-		for(String elementName : resultSet.getPrefixMatcher().sortMatching(keys))
+		PrefixMatcher matcher = resultSet.getPrefixMatcher();
+		List<String> matchingNames = new ArrayList<>();
+		// Names are matched while they are streamed from the index instead of copying all keys of the project and SDKs first
+		StubIndex.getInstance().processAllKeys(key, elementName -> {
+			if(matcher.prefixMatches(elementName))
+			{
+				matchingNames.add(elementName);
+			}
+			return true;
+		}, scope, null);
+		for(String elementName : matchingNames)
 		{
+			if(resultSet.isStopped())
+			{
+				return;
+			}
 			for(T element : StubIndex.getElements(key, elementName, project, scope, elementClass))
 			{
 				if(condition.test(element))
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.codeInsight.imports;
+
+import com.jetbrains.python.PythonFileType;
+import com.jetbrains.python.impl.psi.stubs.PyClassNameIndex;
+import com.jetbrains.python.impl.psi.stubs.PyFunctionNameIndex;
+import com.jetbrains.python.impl.psi.stubs.PyVariableNameIndex;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyFunction;
+import com.jetbrains.python.psi.PyTargetExpression;
+import consulo.annotation.access.RequiredReadAction;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.application.ApplicationManager;
+import consulo.disposer.Disposable;
+import consulo.language.psi.PsiDirectory;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
+import consulo.language.psi.SmartPointerManager;
+import consulo.language.psi.SmartPsiElementPointer;
+import consulo.language.psi.event.PsiTreeChangeAdapter;
+import consulo.language.psi.event.PsiTreeChangeEvent;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.module.content.layer.event.ModuleRootAdapter;
+import consulo.module.content.layer.event.ModuleRootEvent;
+import consulo.module.content.layer.event.ModuleRootListener;
+import consulo.project.Project;
+import consulo.project.content.scope.ProjectScopes;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.event.BulkFileListener;
+import consulo.virtualFileSystem.event.VFileContentChangeEvent;
+import consulo.virtualFileSystem.event.VFileEvent;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Project-wide cache of top-level symbols that can be proposed by auto-import, keyed by the unresolved name.
+ * <p>
+ * Entries are looked up in the stub indexes over the whole project scope once and narrowed down to the scope of the reference
+ * on every query. Python files changed in memory or on disk are tracked as dirty: when a name is looked up again, an entry
+ * computed before a file changed drops its candidates from that file and re-queries the indexes for that file only.
+ * Files created, deleted or moved and root changes reset the cache. Only the most recently used names are kept.
+ */
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+@Singleton
+public class PyImportCandidatesCache implements Disposable
+{
+	private static final int MAX_ENTRIES = 500;
+	private static final int MAX_DIRTY_FILES = 50;
+
+	private enum Kind
+	{
+		CLASS,
+		FUNCTION,
+		VARIABLE
+	}
+
+	private static class Candidate
+	{
+		private final Kind myKind;
+		private final VirtualFile myFile;
+		private final SmartPsiElementPointer<PsiElement> myPointer;
+
+		private Candidate(Kind kind, VirtualFile file, SmartPsiElementPointer<PsiElement> pointer)
+		{
+			myKind = kind;
+			myFile = file;
+			myPointer = pointer;
+		}
+	}
+
+	private static class Entry
+	{
+		private final long myModificationCount;
+		private final List<Candidate> myCandidates;
+
+		private Entry(long modificationCount, List<Candidate> candidates)
+		{
+			myModificationCount = modificationCount;
+			myCandidates = candidates;
+		}
+	}
+
+	public static PyImportCandidatesCache getInstance(Project project)
+	{
+		return project.getInstance(PyImportCandidatesCache.class);
+	}
+
+	private final Project myProject;
+	private final Map<String, Entry> myEntries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+		{
+			return size() > MAX_ENTRIES;
+		}
+	});
+	private final Map<VirtualFile, Long> myDirtyFiles = new ConcurrentHashMap<>();
+	private final AtomicLong myModificationCount = new AtomicLong();
+	private final AtomicLong myClearCount = new AtomicLong();
+
+	@Inject
+	public PyImportCandidatesCache(Project project)
+	{
+		myProject = project;
+		project.getMessageBus().connect(this).subscribe(ModuleRootListener.class, new ModuleRootAdapter()
+		{
+			@Override
+			public void rootsChanged(ModuleRootEvent event)
+			{
+				clear();
+			}
+		});
+		// files without loaded PSI, e.g. changed by VCS or by an external tool, don't produce PSI events
+		ApplicationManager.getApplication().getMessageBus().connect(this).subscribe(BulkFileListener.class, new MyFileListener());
+		PsiManager.getInstance(project).addPsiTreeChangeListener(new MyPsiTreeChangeListener(), this);
+	}
+
+	@RequiredReadAction
+	public List<PyClass> findClasses(String name, GlobalSearchScope scope)
+	{
+		return find(name, Kind.CLASS, PyClass.class, scope);
+	}
+
+	@RequiredReadAction
+	public List<PyFunction> findFunctions(String name, GlobalSearchScope scope)
+	{
+		return find(name, Kind.FUNCTION, PyFunction.class, scope);
+	}
+
+	@RequiredReadAction
+	public List<PyTargetExpression> findVariables(String name, GlobalSearchScope scope)
+	{
+		return find(name, Kind.VARIABLE, PyTargetExpression.class, scope);
+	}
+
+	public void clear()
+	{
+		myClearCount.incrementAndGet();
+		myModificationCount.incrementAndGet();
+		myEntries.clear();
+		myDirtyFiles.clear();
+	}
+
+	@Override
+	public void dispose()
+	{
+		myEntries.clear();
+		myDirtyFiles.clear();
+	}
+
+	@RequiredReadAction
+	private <T extends PsiElement> List<T> find(String name, Kind kind, Class<T> elementClass, GlobalSearchScope scope)
+	{
+		Entry entry = getEntry(name);
+		List<T> result = new ArrayList<>();
+		for(Candidate candidate : entry.myCandidates)
+		{
+			if(candidate.myKind != kind || !candidate.myFile.isValid() || !scope.contains(candidate.myFile))
+			{
+				continue;
+			}
+			PsiElement element = candidate.myPointer.getElement();
+			if(elementClass.isInstance(element))
+			{
+				result.add(elementClass.cast(element));
+			}
+		}
+		return result;
+	}
+
+	@RequiredReadAction
+	private Entry getEntry(String name)
+	{
+		long clearCount = myClearCount.get();
+		Entry entry = myEntries.get(name);
+		if(entry == null)
+		{
+			long modificationCount = myModificationCount.get();
+			entry = new Entry(modificationCount, collectCandidates(name, (GlobalSearchScope) ProjectScopes.getAllScope(myProject)));
+		}
+		else
+		{
+			Entry refreshed = refresh(entry, name);
+			if(refreshed == null)
+			{
+				return entry;
+			}
+			entry = refreshed;
+		}
+		// Don't store entries computed concurrently with a reset, they could miss changes that are not tracked anymore
+		if(myClearCount.get() == clearCount)
+		{
+			myEntries.put(name, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * @return entry with candidates from files changed since the given entry was computed looked up again, or null if it is up to date
+	 */
+	@Nullable
+	@RequiredReadAction
+	private Entry refresh(Entry entry, String name)
+	{
+		long modificationCount = myModificationCount.get();
+		Set<VirtualFile> staleFiles = new HashSet<>();
+		for(Map.Entry<VirtualFile, Long> dirty : myDirtyFiles.entrySet())
+		{
+			if(dirty.getValue() > entry.myModificationCount)
+			{
+				staleFiles.add(dirty.getKey());
+			}
+		}
+		if(staleFiles.isEmpty())
+		{
+			return null;
+		}
+		List<Candidate> candidates = new ArrayList<>(entry.myCandidates.size());
+		for(Candidate candidate : entry.myCandidates)
+		{
+			if(!staleFiles.contains(candidate.myFile))
+			{
+				candidates.add(candidate);
+			}
+		}
+		staleFiles.removeIf(file -> !file.isValid());
+		if(!staleFiles.isEmpty())
+		{
+			candidates.addAll(collectCandidates(name, GlobalSearchScope.filesScope(myProject, staleFiles)));
+		}
+		return new Entry(modificationCount, candidates);
+	}
+
+	@RequiredReadAction
+	private List<Candidate> collectCandidates(String name, GlobalSearchScope scope)
+	{
+		List<Candidate> result = new ArrayList<>();
+		addCandidates(result, Kind.CLASS, PyClassNameIndex.find(name, myProject, scope));
+		addCandidates(result, Kind.FUNCTION, PyFunctionNameIndex.find(name, myProject, scope));
+		addCandidates(result, Kind.VARIABLE, PyVariableNameIndex.find(name, myProject, scope));
+		return result;
+	}
+
+	@RequiredReadAction
+	private void addCandidates(List<Candidate> result, Kind kind, Collection<? extends PsiElement> elements)
+	{
+		SmartPointerManager pointerManager = SmartPointerManager.getInstance(myProject);
+		for(PsiElement element : elements)
+		{
+			PsiFile file = element.getContainingFile();
+			VirtualFile virtualFile = file != null ? file.getVirtualFile() : null;
+			if(virtualFile != null)
+			{
+				result.add(new Candidate(kind, virtualFile, pointerManager.createSmartPsiElementPointer(element)));
+			}
+		}
+	}
+
+	private void markDirty(VirtualFile file)
+	{
+		myDirtyFiles.put(file, myModificationCount.incrementAndGet());
+		if(myDirtyFiles.size() > MAX_DIRTY_FILES)
+		{
+			clear();
+		}
+	}
+
+	private class MyFileListener implements BulkFileListener
+	{
+		@Override
+		public void after(List<? extends VFileEvent> events)
+		{
+			for(VFileEvent event : events)
+			{
+				VirtualFile file = event.getFile();
+				if(file == null || !(file.isDirectory() || file.getFileType() instanceof PythonFileType))
+				{
+					continue;
+				}
+				if(event instanceof VFileContentChangeEvent)
+				{
+					markDirty(file);
+				}
+				else
+				{
+					// Python files were created, deleted, moved or renamed
+					clear();
+					return;
+				}
+			}
+		}
+	}
+
+	private class MyPsiTreeChangeListener extends PsiTreeChangeAdapter
+	{
+		@Override
+		public void childAdded(PsiTreeChangeEvent event)
+		{
+			onChange(event.getFile(), event.getChild());
+		}
+
+		@Override
+		public void childRemoved(PsiTreeChangeEvent event)
+		{
+			onChange(event.getFile(), event.getChild());
+		}
+
+		@Override
+		public void childReplaced(PsiTreeChangeEvent event)
+		{
+			onChange(event.getFile(), event.getNewChild());
+		}
+
+		@Override
+		public void childMoved(PsiTreeChangeEvent event)
+		{
+			onChange(event.getFile(), event.getChild());
+		}
+
+		@Override
+		public void childrenChanged(PsiTreeChangeEvent event)
+		{
+			onChange(event.getFile(), event.getParent());
+		}
+
+		@Override
+		public void propertyChanged(PsiTreeChangeEvent event)
+		{
+			onChange(event.getFile(), event.getElement());
+		}
+
+		private void onChange(@Nullable PsiFile file, @Nullable PsiElement element)
+		{
+			if(file != null)
+			{
+				VirtualFile virtualFile = file.getVirtualFile();
+				if(file instanceof PyFile && virtualFile != null)
+				{
+					markDirty(virtualFile);
+				}
+			}
+			else if(element instanceof PyFile || element instanceof PsiDirectory)
+			{
+				// Python files were created, deleted, moved or renamed, candidates and their import paths may change anywhere
+				clear();
+			}
+		}
+	}
+}
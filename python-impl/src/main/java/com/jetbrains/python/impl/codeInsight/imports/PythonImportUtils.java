@@ -32,12 +32,13 @@ import org.jspecify.annotations.Nullable;
 
 import com.jetbrains.python.impl.psi.PyUtil;
 import consulo.component.extension.Extensions;
-import consulo.language.psi.search.FilenameIndex;
 import consulo.module.Module;
 import consulo.language.util.ModuleUtilCore;
 import consulo.application.progress.ProgressManager;
 import consulo.project.Project;
+import consulo.language.psi.PsiManager;
 import consulo.util.io.FileUtil;
+import consulo.virtualFileSystem.VirtualFile;
 import consulo.application.util.registry.Registry;
 import consulo.language.psi.PsiDirectory;
 import consulo.language.psi.PsiElement;
@@ -56,9 +57,7 @@ import com.jetbrains.python.psi.*;
 import com.jetbrains.python.impl.psi.impl.PyFileImpl;
 import com.jetbrains.python.impl.psi.resolve.QualifiedNameFinder;
 import com.jetbrains.python.impl.psi.search.PyProjectScopeBuilder;
-import com.jetbrains.python.impl.psi.stubs.PyClassNameIndex;
-import com.jetbrains.python.impl.psi.stubs.PyFunctionNameIndex;
-import com.jetbrains.python.impl.psi.stubs.PyVariableNameIndex;
+import com.jetbrains.python.impl.psi.stubs.PyModuleNameIndex;
 import com.jetbrains.python.impl.sdk.PythonSdkType;
 
 public final class PythonImportUtils
@@ -192,14 +191,15 @@ public final class PythonImportUtils
 	private static void addSymbolImportCandidates(PyElement node, String refText, @Nullable String asName, AutoImportQuickFix fix, Set<String> seenCandidateNames, PsiFile existingImportFile)
 	{
 		Project project = node.getProject();
+		PyImportCandidatesCache cache = PyImportCandidatesCache.getInstance(project);
 		List<PsiElement> symbols = new ArrayList<>();
-		symbols.addAll(PyClassNameIndex.find(refText, project, true));
+		symbols.addAll(cache.findClasses(refText, PyProjectScopeBuilder.excludeSdkTestsScope(project)));
 		GlobalSearchScope scope = PyProjectScopeBuilder.excludeSdkTestsScope(node);
 		if(!isQualifier(node))
 		{
-			symbols.addAll(PyFunctionNameIndex.find(refText, project, scope));
+			symbols.addAll(cache.findFunctions(refText, scope));
 		}
-		symbols.addAll(PyVariableNameIndex.find(refText, project, scope));
+		symbols.addAll(cache.findVariables(refText, scope));
 		if(isPossibleModuleReference(node))
 		{
 			symbols.addAll(findImportableModules(node.getContainingFile(), refText, project, scope));
@@ -287,22 +287,27 @@ public final class PythonImportUtils
 	private static Collection<PsiElement> findImportableModules(PsiFile targetFile, String reftext, Project project, GlobalSearchScope scope)
 	{
 		List<PsiElement> result = new ArrayList<>();
-		PsiFile[] files = FilenameIndex.getFilesByName(project, reftext + ".py", scope);
-		for(PsiFile file : files)
+		PsiManager psiManager = PsiManager.getInstance(project);
+		String moduleFileName = reftext + ".py";
+		// both module files and packages named after the reference come from one index lookup
+		for(VirtualFile virtualFile : PyModuleNameIndex.find(reftext, scope))
 		{
-			if(isImportableModule(targetFile, file))
+			if(PyNames.INIT_DOT_PY.equals(virtualFile.getName()))
 			{
-				result.add(file);
+				VirtualFile parent = virtualFile.getParent();
+				PsiDirectory directory = parent != null ? psiManager.findDirectory(parent) : null;
+				if(directory != null)
+				{
+					result.add(directory);
+				}
 			}
-		}
-		// perhaps the module is a directory, not a file
-		PsiFile[] initFiles = FilenameIndex.getFilesByName(project, PyNames.INIT_DOT_PY, scope);
-		for(PsiFile initFile : initFiles)
-		{
-			PsiDirectory parent = initFile.getParent();
-			if(parent != null && parent.getName().equals(reftext))
+			else if(moduleFileName.equals(virtualFile.getName()))
 			{
-				result.add(parent);
+				PsiFile file = psiManager.findFile(virtualFile);
+				if(file != null && isImportableModule(targetFile, file))
+				{
+					result.add(file);
+				}
 			}
 		}
 		return result;
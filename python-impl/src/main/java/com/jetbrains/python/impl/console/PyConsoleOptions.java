@@ -72,6 +72,28 @@ public class PyConsoleOptions implements PersistentStateComponent<PyConsoleOptio
     myState.myIpythonEnabled = enabled;
   }
 
+  /**
+   * @return number of characters the console keeps in its history before older output is moved to a file, 0 to keep everything
+   */
+  public int getOutputSpillLimit() {
+    return myState.myOutputSpillLimit;
+  }
+
+  public void setOutputSpillLimit(int outputSpillLimit) {
+    myState.myOutputSpillLimit = outputSpillLimit;
+  }
+
+  /**
+   * @return whether the console talks to pydevconsole over a plain socket instead of XML-RPC
+   */
+  public boolean isSocketProtocolEnabled() {
+    return myState.mySocketProtocolEnabled;
+  }
+
+  public void setSocketProtocolEnabled(boolean socketProtocolEnabled) {
+    myState.mySocketProtocolEnabled = socketProtocolEnabled;
+  }
+
   public static PyConsoleOptions getInstance(Project project) {
     return ServiceManager.getService(project, PyConsoleOptions.class);
   }
@@ -86,6 +108,8 @@ public class PyConsoleOptions implements PersistentStateComponent<PyConsoleOptio
     myState.myShowDebugConsoleByDefault = state.myShowDebugConsoleByDefault;
     myState.myPythonConsoleState = state.myPythonConsoleState;
     myState.myIpythonEnabled = state.myIpythonEnabled;
+    myState.myOutputSpillLimit = state.myOutputSpillLimit;
+    myState.mySocketProtocolEnabled = state.mySocketProtocolEnabled;
   }
 
   public static class State {
@@ -93,6 +117,8 @@ public class PyConsoleOptions implements PersistentStateComponent<PyConsoleOptio
 
     public boolean myShowDebugConsoleByDefault = false;
     public boolean myIpythonEnabled = true;
+    public int myOutputSpillLimit = 10 * 1024 * 1024;
+    public boolean mySocketProtocolEnabled = false;
   }
 
   @Tag("console-settings")
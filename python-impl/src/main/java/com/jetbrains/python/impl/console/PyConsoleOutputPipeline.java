@@ -0,0 +1,247 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.console;
+
+import consulo.application.Application;
+import consulo.application.util.concurrent.AppExecutorUtil;
+import consulo.disposer.Disposable;
+import consulo.document.Document;
+import consulo.document.util.TextRange;
+import consulo.execution.ui.console.ConsoleViewContentType;
+import consulo.logging.Logger;
+import consulo.ui.ex.awt.UIUtil;
+import consulo.util.dataholder.Key;
+import consulo.util.io.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves output of the console process to the console view in batches.
+ * <p>
+ * Text read from the process is queued and printed on the dispatch thread at most every {@link #FLUSH_DELAY_MS} ms, adjacent
+ * chunks of the same type are printed at once. When the queue is full the reader thread waits, so a process printing faster than
+ * the console can show blocks on its output instead of filling the heap. Text printed to the view directly flushes the queue first,
+ * see {@link PythonConsoleView#print(String, ConsoleViewContentType)}. When the history grows above
+ * {@link PyConsoleOptions#getOutputSpillLimit()} characters, its older half is moved to a temporary file.
+ */
+public class PyConsoleOutputPipeline implements Disposable
+{
+	private static final Logger LOG = Logger.getInstance(PyConsoleOutputPipeline.class);
+
+	private static final int MAX_PENDING_CHARS = 1024 * 1024;
+	private static final int FLUSH_DELAY_MS = 20;
+
+	private static class Chunk
+	{
+		private final Key myOutputType;
+		private final StringBuilder myText;
+		private final boolean myMergeable;
+
+		private Chunk(Key outputType, String text, boolean mergeable)
+		{
+			myOutputType = outputType;
+			myText = new StringBuilder(text);
+			myMergeable = mergeable;
+		}
+	}
+
+	private final PythonConsoleView myConsoleView;
+	private final Object myLock = new Object();
+	private final ExecutorService mySpillExecutor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Python console output spill", 1);
+
+	private List<Chunk> myPending = new ArrayList<>();
+	private int myPendingChars;
+	private boolean myFlushScheduled;
+	private boolean myLastPlain = true;
+	private boolean myFlushing;
+	private volatile boolean myDisposed;
+
+	private int myPrintedChars;
+	private File mySpillFile;
+
+	public PyConsoleOutputPipeline(PythonConsoleView consoleView)
+	{
+		myConsoleView = consoleView;
+	}
+
+	/**
+	 * Queues text to be printed, waits while too much output is queued already unless called on the dispatch thread.
+	 */
+	public void append(String text, Key outputType)
+	{
+		if(text.isEmpty())
+		{
+			return;
+		}
+		boolean plain = PyConsoleUtil.isPlainOutput(text);
+		boolean canWait = !Application.get().isDispatchThread();
+		synchronized(myLock)
+		{
+			while(canWait && myPendingChars >= MAX_PENDING_CHARS && !myDisposed)
+			{
+				try
+				{
+					myLock.wait(100);
+				}
+				catch(InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			// Text that switches IPython output modes and the text right after it are printed separately, as the view expects
+			Chunk last = myPending.isEmpty() ? null : myPending.get(myPending.size() - 1);
+			boolean mergeable = plain && myLastPlain;
+			if(last != null && last.myMergeable && mergeable && last.myOutputType == outputType)
+			{
+				last.myText.append(text);
+			}
+			else
+			{
+				myPending.add(new Chunk(outputType, text, mergeable));
+			}
+			myLastPlain = plain;
+			myPendingChars += text.length();
+			if(!myFlushScheduled)
+			{
+				myFlushScheduled = true;
+				AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> UIUtil.invokeLaterIfNeeded(this::flush), FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Prints everything queued so far without waiting for the next scheduled flush.
+	 */
+	public void flushNow()
+	{
+		UIUtil.invokeLaterIfNeeded(this::flush);
+	}
+
+	@Override
+	public void dispose()
+	{
+		myDisposed = true;
+		synchronized(myLock)
+		{
+			myPending = new ArrayList<>();
+			myPendingChars = 0;
+			myLock.notifyAll();
+		}
+		mySpillExecutor.shutdown();
+	}
+
+	/**
+	 * Prints everything queued so far, must be called on the dispatch thread.
+	 */
+	void flush()
+	{
+		if(myFlushing)
+		{
+			return;
+		}
+		List<Chunk> chunks;
+		synchronized(myLock)
+		{
+			chunks = myPending;
+			myPending = new ArrayList<>();
+			myPendingChars = 0;
+			myFlushScheduled = false;
+			myLock.notifyAll();
+		}
+		if(myDisposed || chunks.isEmpty())
+		{
+			return;
+		}
+		myFlushing = true;
+		try
+		{
+			for(Chunk chunk : chunks)
+			{
+				myConsoleView.print(chunk.myText.toString(), chunk.myOutputType);
+				myPrintedChars += chunk.myText.length();
+			}
+		}
+		finally
+		{
+			myFlushing = false;
+		}
+		int limit = PyConsoleOptions.getInstance(myConsoleView.getProject()).getOutputSpillLimit();
+		if(limit > 0 && myPrintedChars > limit)
+		{
+			spillHistory(limit);
+		}
+	}
+
+	/**
+	 * Moves the history above half of the limit to the spill file, the recent output and the commands typed in the input editor
+	 * are kept.
+	 */
+	private void spillHistory(int limit)
+	{
+		myPrintedChars = 0;
+		myConsoleView.flushDeferredText();
+		Document document = myConsoleView.getHistoryViewer().getDocument();
+		int cutOffset = document.getTextLength() - limit / 2;
+		if(cutOffset <= 0)
+		{
+			return;
+		}
+		cutOffset = document.getLineStartOffset(document.getLineNumber(cutOffset));
+		if(cutOffset == 0)
+		{
+			return;
+		}
+		File file;
+		try
+		{
+			if(mySpillFile == null)
+			{
+				mySpillFile = FileUtil.createTempFile("python-console-output.", ".log", true);
+			}
+			file = mySpillFile;
+		}
+		catch(IOException e)
+		{
+			LOG.warn("Cannot create file for console output", e);
+			return;
+		}
+		String notice = "Earlier output was moved to " + file.getPath() + "\n";
+		String removed = document.getText(new TextRange(0, cutOffset));
+		String text = removed.startsWith(notice) ? removed.substring(notice.length()) : removed;
+		int end = cutOffset;
+		Application.get().runWriteAction(() -> document.replaceString(0, end, notice));
+		mySpillExecutor.execute(() ->
+		{
+			try
+			{
+				Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			}
+			catch(IOException e)
+			{
+				LOG.warn("Cannot write console output to " + file.getPath(), e);
+			}
+		});
+	}
+}
@@ -35,6 +35,7 @@ public class PyConsoleProcessHandler extends BaseProcessHandler
 	private final ProcessHandler myProcessHandler;
 	private final PythonConsoleView myConsoleView;
 	private final PydevConsoleCommunication myPydevConsoleCommunication;
+	private final PyConsoleOutputPipeline myOutputPipeline;
 
 	public PyConsoleProcessHandler(ProcessHandler processHandler,
 								   PythonConsoleView consoleView,
@@ -43,6 +44,9 @@ public class PyConsoleProcessHandler extends BaseProcessHandler
 		myProcessHandler = processHandler;
 		myConsoleView = consoleView;
 		myPydevConsoleCommunication = pydevConsoleCommunication;
+		myOutputPipeline = new PyConsoleOutputPipeline(consoleView);
+		Disposer.register(consoleView, myOutputPipeline);
+		consoleView.setOutputPipeline(myOutputPipeline);
 
 		processHandler.addProcessListener(new ProcessListener()
 		{
@@ -51,7 +55,13 @@ public class PyConsoleProcessHandler extends BaseProcessHandler
 			{
 				String string = PyConsoleUtil.processPrompts(myConsoleView, StringUtil.convertLineSeparators(event.getText()));
 
-				myConsoleView.print(string, outputType);
+				myOutputPipeline.append(string, outputType);
+			}
+
+			@Override
+			public void processTerminated(ProcessEvent event)
+			{
+				myOutputPipeline.flushNow();
 			}
 		});
 
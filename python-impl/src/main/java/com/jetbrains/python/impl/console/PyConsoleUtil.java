@@ -113,6 +113,13 @@ public class PyConsoleUtil {
     return text.contains("<--IPython");
   }
 
+  /**
+   * @return true if the text doesn't switch IPython output modes, so it can be printed together with adjacent output
+   */
+  static boolean isPlainOutput(String text) {
+    return !detectIPythonStart(text) && !detectIPythonEnd(text) && !detectSourcePrinting(text) && !text.startsWith("File:");
+  }
+
   public static boolean detectIPythonAutomagicOn(String text) {
     return text.contains("Automagic is ON, % prefix NOT needed for magic functions.");
   }
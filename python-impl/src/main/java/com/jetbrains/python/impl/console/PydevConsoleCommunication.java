@@ -59,6 +59,7 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
   private static final String GET_COMPLETIONS = "getCompletions";
   private static final String GET_DESCRIPTION = "getDescription";
   private static final String GET_FRAME = "getFrame";
+  private static final String GET_FRAME_CHANGES = "getFrameChanges";
   private static final String GET_VARIABLE = "getVariable";
   private static final String CHANGE_VARIABLE = "changeVariable";
   private static final String CONNECT_TO_DEBUGGER = "connectToDebugger";
@@ -66,7 +67,9 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
   private static final String CLOSE = "close";
   private static final String EVALUATE = "evaluate";
   private static final String GET_ARRAY = "getArray";
+  private static final String GET_ARRAY_STATS = "getArrayStats";
   private static final String PYDEVD_EXTRA_ENVS = "PYDEVD_EXTRA_ENVS";
+  private static final String VARIABLES_CHANGED = "VariablesChanged";
 
   /**
    * XML-RPC client for sending messages to the server.
@@ -100,6 +103,20 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
   private volatile boolean firstCommWorked = false;
 
   private boolean myExecuting;
+
+  /**
+   * Variables of the last loaded frame sorted by name here rather than in the order the console sends them, so changed
+   * variables keep their place. Patched with the changes reported by the console instead of reloading the whole frame,
+   * null until the first full load.
+   */
+  @Nullable
+  private SortedMap<String, PyDebugValue> myFrameVariables;
+  private final Object myFrameLock = new Object();
+  private boolean myFrameChangesUnsupported;
+  private long myFullFrameLoads;
+  private long myFullFrameNanos;
+  private long myIncrementalFrameLoads;
+  private long myIncrementalFrameNanos;
   private PythonDebugConsoleCommunication myDebugCommunication;
   private boolean myNeedsMore = false;
 
@@ -111,8 +128,21 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
    * @throws MalformedURLException
    */
   public PydevConsoleCommunication(Project project, int port, ProcessHandler process, int clientPort) throws Exception {
+    this(project, port, process, clientPort, false);
+  }
+
+  /**
+   * @param useSocket talk to the console over a persistent socket connection (pydevconsole started with {@code --socket})
+   *                  instead of XML-RPC, the client port is not used then
+   */
+  public PydevConsoleCommunication(Project project, int port, ProcessHandler process, int clientPort, boolean useSocket) throws Exception {
     super(project);
 
+    if (useSocket) {
+      this.myClient = new PydevConsoleSocketClient(process, port, this::handleServerRequest, this::handleServerNotification);
+      return;
+    }
+
     //start the server that'll handle input requests
     myWebServer = new WebServer(clientPort);
 
@@ -151,6 +181,9 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
           catch (Exception e) {
             //Ok, we can ignore this one on close.
           }
+          if (PydevConsoleCommunication.this.myClient instanceof PydevConsoleSocketClient) {
+            ((PydevConsoleSocketClient)PydevConsoleCommunication.this.myClient).close();
+          }
           PydevConsoleCommunication.this.myClient = null;
         }
       }.queue();
@@ -184,7 +217,10 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
     for (int i = 0; i < rpcRequest.getParameterCount(); i++) {
       params.add(rpcRequest.getParameter(i));
     }
+    return handleServerRequest(method, params);
+  }
 
+  private Object handleServerRequest(String method, List<Object> params) {
     if ("NotifyFinished".equals(method)) {
       return execNotifyFinished((Boolean)params.get(0));
     }
@@ -202,6 +238,20 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
     }
   }
 
+  private void handleServerNotification(String method) {
+    if (VARIABLES_CHANGED.equals(method)) {
+      notifyVariablesChanged();
+    }
+  }
+
+  /**
+   * @return true if the console pushes {@link ConsoleCommunicationListener#variablesChanged()} notifications itself,
+   * so the variables need not be reloaded after every command
+   */
+  public boolean isVariablesChangePushed() {
+    return myClient instanceof PydevConsoleSocketClient;
+  }
+
   private Object execNotifyAboutMagic(List<Object> params) {
     List<String> commands = (List<String>)params.get(0);
     boolean isAutoMagic = (Boolean)params.get(1);
@@ -500,22 +550,92 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
   @Override
   public XValueChildrenList loadFrame() throws PyDebuggerException {
     if (myClient != null) {
-      try {
-        Object ret = myClient.execute(GET_FRAME, new Object[]{});
-        if (ret instanceof String) {
-          return parseVars((String)ret, null);
+      synchronized (myFrameLock) {
+        try {
+          if (myFrameVariables == null || myFrameChangesUnsupported || !loadFrameChanges(myFrameVariables)) {
+            myFrameVariables = loadFullFrame();
+          }
         }
-        else {
-          checkError(ret);
+        catch (XmlRpcException e) {
+          // The console keeps its own snapshot, start over with a full load next time
+          myFrameVariables = null;
+          throw new PyDebuggerException("Get frame from console failed", e);
         }
-      }
-      catch (XmlRpcException e) {
-        throw new PyDebuggerException("Get frame from console failed", e);
+        catch (PyDebuggerException | RuntimeException e) {
+          myFrameVariables = null;
+          throw e;
+        }
+        XValueChildrenList list = new XValueChildrenList(myFrameVariables.size());
+        for (PyDebugValue value : myFrameVariables.values()) {
+          list.add(value.getName(), value);
+        }
+        return list;
       }
     }
     return new XValueChildrenList();
   }
 
+  private SortedMap<String, PyDebugValue> loadFullFrame() throws XmlRpcException, PyDebuggerException {
+    long start = System.nanoTime();
+    Object ret = myClient.execute(GET_FRAME, new Object[]{});
+    if (!(ret instanceof String)) {
+      checkError(ret);
+      return new TreeMap<>();
+    }
+    SortedMap<String, PyDebugValue> variables = new TreeMap<>();
+    for (PyDebugValue value : ProtocolParser.parseValues((String)ret, this)) {
+      variables.put(value.getName(), value);
+    }
+    long elapsed = System.nanoTime() - start;
+    myFullFrameLoads++;
+    myFullFrameNanos += elapsed;
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("Full frame refresh: %d variables in %.1f ms", variables.size(), elapsed / 1e6));
+    }
+    return variables;
+  }
+
+  /**
+   * Applies the variables changed since the previous load to the given ones.
+   *
+   * @return false if the console cannot report changes, so the frame has to be loaded fully
+   */
+  private boolean loadFrameChanges(SortedMap<String, PyDebugValue> variables) throws XmlRpcException, PyDebuggerException {
+    long start = System.nanoTime();
+    Object ret = myClient.execute(GET_FRAME_CHANGES, new Object[]{});
+    List<?> changes = ret instanceof List ? (List<?>)ret : ret instanceof Object[] && ((Object[])ret).length == 2 ? Arrays.asList((Object[])ret) : null;
+    if (changes == null || changes.size() != 2 || !(changes.get(0) instanceof String)) {
+      // Older helpers don't have getFrameChanges
+      LOG.debug("Console does not report frame changes: " + (ret instanceof Object[] ? Arrays.toString((Object[])ret) : ret));
+      myFrameChangesUnsupported = true;
+      return false;
+    }
+    Object removed = changes.get(1);
+    Collection<?> removedNames = removed instanceof Object[] ? Arrays.asList((Object[])removed) : removed instanceof Collection ? (Collection<?>)removed : Collections.emptyList();
+    for (Object name : removedNames) {
+      variables.remove(String.valueOf(name));
+    }
+    List<PyDebugValue> changed = ProtocolParser.parseValues((String)changes.get(0), this);
+    for (PyDebugValue value : changed) {
+      variables.put(value.getName(), value);
+    }
+    long elapsed = System.nanoTime() - start;
+    myIncrementalFrameLoads++;
+    myIncrementalFrameNanos += elapsed;
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format(
+        "Incremental frame refresh: %d changed, %d removed of %d variables in %.1f ms (average full refresh: %.1f ms, average incremental refresh: %.1f ms)",
+        changed.size(),
+        removedNames.size(),
+        variables.size(),
+        elapsed / 1e6,
+        myFullFrameLoads > 0 ? myFullFrameNanos / 1e6 / myFullFrameLoads : 0.0,
+        myIncrementalFrameNanos / 1e6 / myIncrementalFrameLoads
+      ));
+    }
+    return true;
+  }
+
   private XValueChildrenList parseVars(String ret, PyDebugValue parent) throws PyDebuggerException {
     List<PyDebugValue> values = ProtocolParser.parseValues(ret, this);
     XValueChildrenList list = new XValueChildrenList(values.size());
@@ -599,6 +719,25 @@ public class PydevConsoleCommunication extends AbstractConsoleCommunication impl
     return null;
   }
 
+  @Override
+  public ArrayStats getArrayStats(PyDebugValue var, int bins) throws PyDebuggerException {
+    if (myClient != null) {
+      try {
+        Object ret = myClient.execute(GET_ARRAY_STATS, new Object[]{var.getName(), bins});
+        if (ret instanceof String) {
+          return ProtocolParser.parseArrayStats((String)ret);
+        }
+        else {
+          checkError(ret);
+        }
+      }
+      catch (Exception e) {
+        throw new PyDebuggerException("Computing array statistics in console failed", e);
+      }
+    }
+    throw new PyDebuggerException("Console is not connected");
+  }
+
   @Nullable
   @Override
   public XSourcePosition getSourcePositionForName(String name, String parentType) {
@@ -135,6 +135,10 @@ public class PydevConsoleRunnerImpl implements PydevConsoleRunner {
     private GeneralCommandLine myGeneralCommandLine;
     protected int[] myPorts;
     private PydevConsoleCommunication myPydevConsoleCommunication;
+    /**
+     * Whether the console was started with a persistent socket connection instead of XML-RPC servers
+     */
+    private boolean myUseSocketProtocol;
     private ProcessHandler myProcessHandler;
     protected PydevConsoleExecuteActionHandler myConsoleExecuteActionHandler;
     private List<ConsoleListener> myConsoleListeners = consulo.util.collection.Lists.newLockFreeCopyOnWriteList();
@@ -376,6 +380,11 @@ public class PydevConsoleRunnerImpl implements PydevConsoleRunner {
         for (int port : ports) {
             group.addParameter(String.valueOf(port));
         }
+        // Only pydevconsole itself understands the socket protocol
+        myUseSocketProtocol = helper == PythonHelper.CONSOLE && PyConsoleOptions.getInstance(myProject).isSocketProtocolEnabled();
+        if (myUseSocketProtocol) {
+            group.addParameter("--socket");
+        }
 
         return cmd;
     }
@@ -394,7 +403,7 @@ public class PydevConsoleRunnerImpl implements PydevConsoleRunner {
 
         ProcessHandler handler = PythonProcessHandler.createProcessHandler(myGeneralCommandLine);
         try {
-            myPydevConsoleCommunication = new PydevConsoleCommunication(myProject, myPorts[0], handler, myPorts[1]);
+            myPydevConsoleCommunication = new PydevConsoleCommunication(myProject, myPorts[0], handler, myPorts[1], myUseSocketProtocol);
         }
         catch (Exception e) {
             throw new ExecutionException(e.getMessage());
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.console;
+
+import com.google.gson.*;
+import com.jetbrains.python.console.pydev.IPydevXmlRpcClient;
+import consulo.application.ApplicationManager;
+import consulo.logging.Logger;
+import consulo.process.ProcessHandler;
+import consulo.util.io.NetUtil;
+import org.apache.xmlrpc.XmlRpcException;
+import org.jspecify.annotations.Nullable;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Talks to pydevconsole started with {@code --socket} over a single persistent connection instead of XML-RPC.
+ * <p>
+ * Messages in both directions are a 4-byte big-endian length followed by a UTF-8 JSON object: requests carry an id, a method name
+ * and arguments, responses carry the id of the request and a result or an error, notifications carry a method name only.
+ * Any number of requests may be in flight, so callers don't wait for each other, and the console pushes notifications
+ * (e.g. {@code VariablesChanged}) without being asked.
+ * See {@code _pydev_bundle/pydev_console_socket.py} for the console side.
+ */
+public class PydevConsoleSocketClient implements IPydevXmlRpcClient {
+  private static final Logger LOG = Logger.getInstance(PydevConsoleSocketClient.class);
+  private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
+  private static final long TIME_LIMIT = 60000;
+  private static final int CONNECT_TIMEOUT = 1000;
+
+  /**
+   * Handles requests of the console to the IDE, e.g. {@code RequestInput} or {@code NotifyFinished}.
+   */
+  public interface RequestHandler {
+    Object handle(String method, List<Object> params) throws Exception;
+  }
+
+  private final ProcessHandler myProcess;
+  private final int myPort;
+  private final RequestHandler myRequestHandler;
+  private final Consumer<String> myNotificationHandler;
+  private final AtomicInteger myNextId = new AtomicInteger();
+  private final Map<Integer, CompletableFuture<Object>> myPendingRequests = new ConcurrentHashMap<>();
+
+  private Socket mySocket;
+  private DataOutputStream myOutput;
+
+  public PydevConsoleSocketClient(ProcessHandler process, int port, RequestHandler requestHandler, Consumer<String> notificationHandler) {
+    myProcess = process;
+    myPort = port;
+    myRequestHandler = requestHandler;
+    myNotificationHandler = notificationHandler;
+  }
+
+  @Override
+  public Object execute(String command, Object[] args) throws XmlRpcException {
+    return execute(command, args, TIME_LIMIT);
+  }
+
+  @Override
+  public Object execute(String command, Object[] args, long timeoutMillis) throws XmlRpcException {
+    CompletableFuture<Object> future;
+    try {
+      future = executeAsync(command, args);
+    }
+    catch (IOException e) {
+      throw new XmlRpcException(-1, "Failed to send request to console: " + e.getMessage(), e);
+    }
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    catch (TimeoutException e) {
+      myPendingRequests.values().remove(future);
+      throw new XmlRpcException(-1, "Timeout while connecting to server");
+    }
+    catch (ExecutionException e) {
+      // The same shape as errors reported by PydevXmlRpcClient
+      return new Object[]{e.getCause().getMessage()};
+    }
+    catch (InterruptedException e) {
+      myPendingRequests.values().remove(future);
+      Thread.currentThread().interrupt();
+      throw new XmlRpcException(-1, "Interrupted while waiting for console", e);
+    }
+  }
+
+  /**
+   * Sends a request without waiting for the previous ones to be answered.
+   */
+  public CompletableFuture<Object> executeAsync(String command, Object[] args) throws IOException {
+    ensureConnected();
+    int id = myNextId.incrementAndGet();
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    myPendingRequests.put(id, future);
+    Map<String, Object> request = new LinkedHashMap<>();
+    request.put("id", id);
+    request.put("method", command);
+    request.put("args", args);
+    try {
+      send(request);
+    }
+    catch (IOException e) {
+      myPendingRequests.remove(id);
+      throw e;
+    }
+    return future;
+  }
+
+  public synchronized void close() {
+    if (mySocket != null) {
+      try {
+        mySocket.close();
+      }
+      catch (IOException e) {
+        LOG.debug(e);
+      }
+    }
+    failPendingRequests("Console connection closed");
+  }
+
+  private synchronized void ensureConnected() throws IOException {
+    if (mySocket != null && !mySocket.isClosed()) {
+      return;
+    }
+    if (myProcess.isProcessTerminated()) {
+      throw new IOException("Console process terminated");
+    }
+    Socket socket = new Socket();
+    socket.setTcpNoDelay(true);
+    socket.connect(new InetSocketAddress(NetUtil.getLocalHostString(), myPort), CONNECT_TIMEOUT);
+    mySocket = socket;
+    myOutput = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    ApplicationManager.getApplication().executeOnPooledThread(() -> readMessages(socket, input));
+  }
+
+  private void send(Map<String, Object> message) throws IOException {
+    byte[] bytes = GSON.toJson(message).getBytes(StandardCharsets.UTF_8);
+    DataOutputStream output;
+    synchronized (this) {
+      output = myOutput;
+    }
+    if (output == null) {
+      throw new IOException("Console is not connected");
+    }
+    synchronized (output) {
+      output.writeInt(bytes.length);
+      output.write(bytes);
+      output.flush();
+    }
+  }
+
+  private void readMessages(Socket socket, DataInputStream input) {
+    try {
+      while (true) {
+        int length = input.readInt();
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        handleMessage(JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8)).getAsJsonObject());
+      }
+    }
+    catch (EOFException e) {
+      LOG.debug("Console closed the connection");
+    }
+    catch (IOException | RuntimeException e) {
+      if (!socket.isClosed()) {
+        LOG.warn("Failed to read message from console", e);
+      }
+    }
+    finally {
+      connectionLost(socket);
+    }
+  }
+
+  /**
+   * Closes a connection the console dropped, so the next request connects again: the console keeps listening for the IDE.
+   */
+  private synchronized void connectionLost(Socket socket) {
+    if (mySocket != socket) {
+      return;
+    }
+    failPendingRequests("Console connection closed");
+    try {
+      socket.close();
+    }
+    catch (IOException e) {
+      LOG.debug(e);
+    }
+    mySocket = null;
+    myOutput = null;
+  }
+
+  private void handleMessage(JsonObject message) {
+    JsonElement id = message.get("id");
+    JsonElement method = message.get("method");
+    if (method != null) {
+      List<Object> params = new ArrayList<>();
+      JsonElement args = message.get("args");
+      if (args != null && args.isJsonArray()) {
+        for (JsonElement arg : args.getAsJsonArray()) {
+          params.add(toJava(arg));
+        }
+      }
+      if (id == null || id.isJsonNull()) {
+        myNotificationHandler.accept(method.getAsString());
+      }
+      else {
+        // Requests like RequestInput block until the user answers, so they must not hold up the reader
+        ApplicationManager.getApplication().executeOnPooledThread(() -> handleRequest(id.getAsInt(), method.getAsString(), params));
+      }
+      return;
+    }
+    CompletableFuture<Object> future = id != null ? myPendingRequests.remove(id.getAsInt()) : null;
+    if (future == null) {
+      return;
+    }
+    JsonElement error = message.get("error");
+    if (error != null && !error.isJsonNull()) {
+      future.completeExceptionally(new XmlRpcException(error.getAsString()));
+    }
+    else {
+      future.complete(toJava(message.get("result")));
+    }
+  }
+
+  private void handleRequest(int id, String method, List<Object> params) {
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("id", id);
+    try {
+      response.put("result", myRequestHandler.handle(method, params));
+    }
+    catch (Exception e) {
+      response.put("error", String.valueOf(e.getMessage()));
+    }
+    try {
+      send(response);
+    }
+    catch (IOException e) {
+      LOG.debug("Failed to answer console request " + method, e);
+    }
+  }
+
+  private void failPendingRequests(String reason) {
+    for (Integer id : new ArrayList<>(myPendingRequests.keySet())) {
+      CompletableFuture<Object> future = myPendingRequests.remove(id);
+      if (future != null) {
+        future.completeExceptionally(new IOException(reason));
+      }
+    }
+  }
+
+  /**
+   * Converts JSON to the types the XML-RPC library produces, so results can be handled the same way for both transports.
+   */
+  @Nullable
+  private static Object toJava(@Nullable JsonElement element) {
+    if (element == null || element.isJsonNull()) {
+      return null;
+    }
+    if (element.isJsonArray()) {
+      Vector<Object> result = new Vector<>();
+      for (JsonElement item : element.getAsJsonArray()) {
+        result.add(toJava(item));
+      }
+      return result;
+    }
+    if (element.isJsonObject()) {
+      Hashtable<String, Object> result = new Hashtable<>();
+      for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+        Object value = toJava(entry.getValue());
+        if (value != null) {
+          result.put(entry.getKey(), value);
+        }
+      }
+      return result;
+    }
+    JsonPrimitive primitive = element.getAsJsonPrimitive();
+    if (primitive.isBoolean()) {
+      return primitive.getAsBoolean();
+    }
+    if (primitive.isNumber()) {
+      // XML-RPC keeps ints and doubles apart, so does the JSON text: 1 is an int, 1.0 is a double
+      String text = primitive.getAsString();
+      if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+        try {
+          return Integer.valueOf(text);
+        }
+        catch (NumberFormatException ignored) {
+        }
+      }
+      return primitive.getAsDouble();
+    }
+    return primitive.getAsString();
+  }
+}
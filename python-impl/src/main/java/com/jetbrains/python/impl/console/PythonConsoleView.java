@@ -92,6 +92,8 @@ public class PythonConsoleView extends consulo.ide.impl.idea.execution.console.L
 
   private XStandaloneVariablesView mySplitView;
   private ActionCallback myInitialized = new ActionCallback();
+  @Nullable
+  private PyConsoleOutputPipeline myOutputPipeline;
 
   public PythonConsoleView(Project project, String title, Sdk sdk) {
     super(project, title, PythonLanguage.getInstance());
@@ -227,6 +229,14 @@ public class PythonConsoleView extends consulo.ide.impl.idea.execution.console.L
     myExecuteActionHandler.processLine(statement);
   }
 
+  /**
+   * Sets the pipeline the output of the console process goes through, text printed directly is kept after the output queued
+   * before it.
+   */
+  public void setOutputPipeline(@Nullable PyConsoleOutputPipeline outputPipeline) {
+    myOutputPipeline = outputPipeline;
+  }
+
   public void printText(String text, ConsoleViewContentType outputType) {
     super.print(text, outputType);
   }
@@ -237,6 +247,13 @@ public class PythonConsoleView extends consulo.ide.impl.idea.execution.console.L
 
   @Override
   public void print(String text, ConsoleViewContentType outputType) {
+    if (myOutputPipeline != null) {
+      if (!ApplicationManager.getApplication().isDispatchThread()) {
+        UIUtil.invokeLaterIfNeeded(() -> print(text, outputType));
+        return;
+      }
+      myOutputPipeline.flush();
+    }
     detectIPython(text, outputType);
     if (PyConsoleUtil.detectIPythonEnd(text)) {
       myIsIPythonOutput = false;
@@ -328,12 +345,19 @@ public class PythonConsoleView extends consulo.ide.impl.idea.execution.console.L
     consoleCommunication.addCommunicationListener(new ConsoleCommunicationListener() {
       @Override
       public void commandExecuted(boolean more) {
-        view.rebuildView();
+        if (!consoleCommunication.isVariablesChangePushed()) {
+          view.rebuildView();
+        }
       }
 
       @Override
       public void inputRequested() {
       }
+
+      @Override
+      public void variablesChanged() {
+        view.rebuildView();
+      }
     });
     mySplitView = view;
     Disposer.register(this, (Disposable) view);
@@ -70,6 +70,7 @@ import consulo.process.ProcessHandler;
 import consulo.process.event.ProcessEvent;
 import consulo.process.event.ProcessListener;
 import consulo.project.Project;
+import consulo.python.impl.localize.PyLocalize;
 import consulo.ui.annotation.RequiredUIAccess;
 import consulo.ui.ex.action.AnActionEvent;
 import consulo.ui.ex.action.DefaultActionGroup;
@@ -77,6 +78,7 @@ import consulo.ui.ex.action.Presentation;
 import consulo.ui.ex.action.ToggleAction;
 import consulo.ui.ex.awt.Messages;
 import consulo.ui.ex.awt.UIUtil;
+import consulo.util.collection.ContainerUtil;
 import consulo.util.dataholder.Key;
 import consulo.util.lang.ref.SimpleReference;
 import consulo.virtualFileSystem.VirtualFile;
@@ -86,6 +88,10 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static javax.swing.SwingUtilities.invokeLater;
 
@@ -98,6 +104,10 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
   private static final Logger LOG = Logger.getInstance("#com.jetbrains.python.debugger.PyDebugProcess");
   private static final int CONNECTION_TIMEOUT = 60000;
+  // values loaded while the process stays suspended are kept by the variables tree, don't let huge containers exhaust the heap
+  private static final int MAX_RESIDENT_VALUES = 100000;
+  // total time of evaluating a breakpoint condition after which the console shows a warning
+  private static final double SLOW_CONDITION_SECONDS = 1;
 
   private final ProcessDebugger myDebugger;
   private final XBreakpointHandler[] myBreakpointHandlers;
@@ -110,7 +120,14 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
   private final List<PyThreadInfo> mySuspendedThreads = Collections.synchronizedList(Lists.<PyThreadInfo>newArrayList());
   private final Map<String, XValueChildrenList> myStackFrameCache = Maps.newHashMap();
+  private final PyFrameValuesCache myFrameValuesCache = new PyFrameValuesCache();
+  private final AtomicInteger myResidentValues = new AtomicInteger();
+  private final Set<PyReferrersLoader.Search> myReferrersSearches = ConcurrentHashMap.newKeySet();
+  // breakpoints whose conditions were reported to take too long, to warn only once
+  private final Set<PySourcePosition> mySlowConditions = ConcurrentHashMap.newKeySet();
   private final Map<String, PyDebugValue> myNewVariableValue = Maps.newHashMap();
+  private final AtomicLong myReceivedSignatures = new AtomicLong();
+  private final AtomicLong myCoalescedSignatures = new AtomicLong();
   private boolean myDownloadSources = false;
 
   private boolean myClosing = false;
@@ -323,6 +340,7 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
     getSession().rebuildViews();
     registerBreakpoints();
     setShowReturnValues(PyDebuggerSettings.getInstance().isWatchReturnValues());
+    myDebugger.setSignatureBatching(true);
   }
 
   @Override
@@ -335,6 +353,39 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
     PySignatureCacheManager.getInstance(getSession().getProject()).recordSignature(myPositionConverter.convertSignature(signature));
   }
 
+  @Override
+  public void recordSignatures(List<PySignature> signatures, int coalescedCount) {
+    PySignatureCacheManager cacheManager = PySignatureCacheManager.getInstance(getSession().getProject());
+    for (PySignature signature : signatures) {
+      cacheManager.recordSignature(myPositionConverter.convertSignature(signature));
+    }
+    long received = myReceivedSignatures.addAndGet(signatures.size());
+    long coalesced = myCoalescedSignatures.addAndGet(coalescedCount);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(String.format("Received %d call signatures, %d calls coalesced by the debugger (%d and %d in total)",
+                              signatures.size(), coalescedCount, received, coalesced));
+    }
+  }
+
+  @Override
+  public void recordConditionStats(List<PyConditionStats> stats) {
+    for (PyConditionStats conditionStats : stats) {
+      PySourcePosition position = conditionStats.getPosition();
+      XLineBreakpoint breakpoint = myRegisteredBreakpoints.get(position);
+      if (breakpoint == null) {
+        continue;
+      }
+      breakpoint.putUserData(PyLineBreakpointType.CONDITION_STATS, conditionStats);
+      // the text shown for the breakpoint is computed from the stats, the manager refreshes the gutter and the breakpoint views
+      XDebuggerManager.getInstance(getSession().getProject()).getBreakpointManager().updateBreakpointPresentation(breakpoint, null, null);
+      if (conditionStats.getTime() >= SLOW_CONDITION_SECONDS && mySlowConditions.add(position)) {
+        String description = PyLineBreakpointType.getConditionDescription(conditionStats);
+        printToConsole(PyLocalize.debuggerSlowConditionWarning(position.getFile(), String.valueOf(position.getLine()), description).get() + "\n",
+                       ConsoleViewContentType.SYSTEM_OUTPUT);
+      }
+    }
+  }
+
   @Override
   public void recordLogEvent(PyConcurrencyEvent event) {
     PyConcurrencyService.getInstance(getSession().getProject()).recordEvent(getSession(), event, event.isAsyncio());
@@ -534,6 +585,8 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
   public void startSmartStepInto(String functionName) {
     dropFrameCaches();
+    cancelReferrersSearches();
+    myResidentValues.set(0);
     if (isConnected()) {
       for (PyThreadInfo suspendedThread : mySuspendedThreads) {
         myDebugger.smartStepInto(suspendedThread.getId(), functionName);
@@ -597,6 +650,9 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
   private void passToAllThreads(ResumeOrStepCommand.Mode mode) {
     dropFrameCaches();
+    myFrameValuesCache.clear();
+    cancelReferrersSearches();
+    myResidentValues.set(0);
     if (isConnected()) {
       for (PyThreadInfo thread : myDebugger.getThreads()) {
         myDebugger.resumeOrStep(thread.getId(), mode);
@@ -606,6 +662,8 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
   private void passToCurrentThread(@Nullable XSuspendContext context, ResumeOrStepCommand.Mode mode) {
     dropFrameCaches();
+    cancelReferrersSearches();
+    myResidentValues.set(0);
     if (isConnected()) {
       String threadId = threadIdBeforeResumeOrStep(context);
 
@@ -679,6 +737,12 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
   public PyDebugValue evaluate(String expression, boolean execute, boolean doTrunc) throws PyDebuggerException {
     dropFrameCaches();
     PyStackFrame frame = currentFrame();
+    if (execute) {
+      myFrameValuesCache.clear();
+    }
+    else {
+      myFrameValuesCache.dropFrame(frame);
+    }
     return evaluate(expression, execute, frame, doTrunc);
   }
 
@@ -688,6 +752,7 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
   public void consoleExec(String command, PyDebugCallback<String> callback) {
     dropFrameCaches();
+    myFrameValuesCache.clear();
     try {
       PyStackFrame frame = currentFrame();
       myDebugger.consoleExec(frame.getThreadId(), frame.getFrameId(), command, callback);
@@ -709,6 +774,21 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
     return applyNewValue(myStackFrameCache.get(frame.getThreadFrameId()), frame.getThreadFrameId());
   }
 
+  @Override
+  public PyDebugValuesPage loadFramePage(int offset, int limit) throws PyDebuggerException {
+    PyStackFrame frame = currentFrame();
+    String key = "FRAME@" + offset;
+    PyDebugValuesPage page = myFrameValuesCache.get(frame, key);
+    String digest = myFrameValuesCache.getDigest(frame, key);
+    while (page == null) {
+      PyDebugValuesPage loaded = myDebugger.loadFramePage(frame.getThreadId(), frame.getFrameId(), offset, residentLimit(limit), digest);
+      page = myFrameValuesCache.update(frame, key, loaded);
+      digest = null;
+    }
+    myResidentValues.addAndGet(page.getValues().size());
+    return new PyDebugValuesPage(applyNewValue(page.getValues(), frame.getThreadFrameId()), page.getNextOffset(), page.getTotal());
+  }
+
   private XValueChildrenList applyNewValue(XValueChildrenList pyDebugValues, String threadFrameId) {
     if (myNewVariableValue.containsKey(threadFrameId)) {
       PyDebugValue newValue = myNewVariableValue.get(threadFrameId);
@@ -736,6 +816,32 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
     return myDebugger.loadVariable(frame.getThreadId(), frame.getFrameId(), debugValue);
   }
 
+  @Override
+  public PyDebugValuesPage loadVariablePage(PyDebugValue var, int offset, int limit) throws PyDebuggerException {
+    PyStackFrame frame = currentFrame();
+    // values found by id, e.g. referrers, don't belong to the frame
+    String key = var.getId() == null && var.getVariableLocator() == null ? var.getEvaluationExpression() + "@" + offset : null;
+    PyDebugValuesPage page = key != null ? myFrameValuesCache.get(frame, key) : null;
+    String digest = key != null ? myFrameValuesCache.getDigest(frame, key) : null;
+    PyDebugValue debugValue = var.setName(var.getFullName());
+    while (page == null) {
+      PyDebugValuesPage loaded =
+        myDebugger.loadVariablePage(frame.getThreadId(), frame.getFrameId(), debugValue, offset, residentLimit(limit), digest);
+      page = key != null ? myFrameValuesCache.update(frame, key, loaded) : loaded;
+      digest = null;
+    }
+    myResidentValues.addAndGet(page.getValues().size());
+    return page;
+  }
+
+  private int residentLimit(int limit) throws PyDebuggerException {
+    int available = MAX_RESIDENT_VALUES - myResidentValues.get();
+    if (available <= 0) {
+      throw new PyDebuggerException("Too many values are loaded, resume or step to load more");
+    }
+    return Math.min(limit, available);
+  }
+
   @Override
   public void loadReferrers(PyReferringObjectsValue var, PyDebugCallback<XValueChildrenList> callback) {
     try {
@@ -747,11 +853,74 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
     }
   }
 
+  @Override
+  public PyReferrersLoader.Search loadReferrers(PyReferringObjectsValue var,
+                                                @Nullable PyReferrersLoader.Search previous,
+                                                int offset,
+                                                int limit,
+                                                PyReferrersLoader.Listener listener) {
+    PyStackFrame frame;
+    try {
+      frame = currentFrame();
+    }
+    catch (PyDebuggerException e) {
+      listener.error(e);
+      return () -> {
+      };
+    }
+    // a finished search is forgotten, it may finish before it's added
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<PyReferrersLoader.Search> started = new AtomicReference<>();
+    Runnable forget = () -> {
+      done.set(true);
+      PyReferrersLoader.Search search = started.get();
+      if (search != null) {
+        myReferrersSearches.remove(search);
+      }
+    };
+    PyReferrersLoader.Search search = myDebugger.loadReferrers(frame.getThreadId(), frame.getFrameId(), var, previous, offset, limit, new PyReferrersLoader.Listener() {
+      @Override
+      public void referrersFound(XValueChildrenList referrers) {
+        listener.referrersFound(referrers);
+      }
+
+      @Override
+      public void finished(int nextOffset, int total) {
+        forget.run();
+        listener.finished(nextOffset, total);
+      }
+
+      @Override
+      public void error(PyDebuggerException exception) {
+        forget.run();
+        listener.error(exception);
+      }
+    });
+    started.set(search);
+    myReferrersSearches.add(search);
+    if (done.get()) {
+      myReferrersSearches.remove(search);
+    }
+    return search;
+  }
+
+  /**
+   * The debugger looks for referrers in the suspended thread, so a search still running would hold up resuming it.
+   * Cancelling a finished search does nothing.
+   */
+  private void cancelReferrersSearches() {
+    for (PyReferrersLoader.Search search : myReferrersSearches) {
+      myReferrersSearches.remove(search);
+      search.cancel();
+    }
+  }
+
   @Override
   public void changeVariable(PyDebugValue var, String value) throws PyDebuggerException {
     PyStackFrame frame = currentFrame();
     PyDebugValue newValue = myDebugger.changeVariable(frame.getThreadId(), frame.getFrameId(), var, value);
     myNewVariableValue.put(frame.getThreadFrameId(), newValue);
+    myFrameValuesCache.clear();
   }
 
   @Nullable
@@ -774,6 +943,12 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
     return myDebugger.loadArrayItems(frame.getThreadId(), frame.getFrameId(), var, rowOffset, colOffset, rows, cols, format);
   }
 
+  @Override
+  public ArrayStats getArrayStats(PyDebugValue var, int bins) throws PyDebuggerException {
+    PyStackFrame frame = currentFrame();
+    return myDebugger.loadArrayStats(frame.getThreadId(), frame.getFrameId(), var, bins);
+  }
+
   @Nullable
   public String loadSource(String path) {
     return myDebugger.loadSource(path);
@@ -828,6 +1003,9 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
   public void addBreakpoint(PySourcePosition position, XLineBreakpoint breakpoint) {
     myRegisteredBreakpoints.put(position, breakpoint);
+    // the debugger counts from zero for a breakpoint set again, e.g. with another condition
+    breakpoint.putUserData(PyLineBreakpointType.CONDITION_STATS, null);
+    mySlowConditions.remove(position);
     if (isConnected()) {
       String conditionExpression =
         breakpoint.getConditionExpression() == null ? null : breakpoint.getConditionExpression().getExpression();
@@ -884,6 +1062,7 @@ public class PyDebugProcess extends XDebugProcess implements IPyDebugProcess, Pr
 
       List<PyStackFrameInfo> frames = threadInfo.getFrames();
       if (frames != null) {
+        myFrameValuesCache.threadSuspended(threadInfo.getId(), ContainerUtil.map(frames, PyStackFrameInfo::getId));
         PySuspendContext suspendContext = createSuspendContext(threadInfo);
 
         XBreakpoint<?> breakpoint = null;
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.debugger;
+
+import com.jetbrains.python.debugger.PyDebugValue;
+import com.jetbrains.python.debugger.PyDebugValuesPage;
+import consulo.execution.debug.frame.XValue;
+import consulo.execution.debug.frame.XValueChildrenList;
+import consulo.logging.Logger;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pages of frame variables and of their children loaded per thread, e.g. for trees rebuilt by the views.
+ * <p>
+ * A page is returned as is only during the suspension it was loaded or confirmed in. Once the thread has run, even a frame
+ * waiting for a call to return may see its variables changed through global or nonlocal assignments or by in-place mutation
+ * of the objects they refer to, so the page is requested again with its digest and kept only if the debugger finds it unchanged.
+ */
+class PyFrameValuesCache {
+    private static final Logger LOG = Logger.getInstance(PyFrameValuesCache.class);
+
+    private static class Entry {
+        private final PyDebugValuesPage myPage;
+        private final long mySuspension;
+
+        private Entry(PyDebugValuesPage page, long suspension) {
+            myPage = page;
+            mySuspension = suspension;
+        }
+    }
+
+    private static class ThreadPages {
+        private final AtomicLong mySuspension = new AtomicLong();
+        // frame id -> pages by key
+        private final Map<String, Map<String, Entry>> myFrames = new ConcurrentHashMap<>();
+    }
+
+    private final Map<String, ThreadPages> myThreads = new ConcurrentHashMap<>();
+    private final AtomicLong myReusedPages = new AtomicLong();
+    private final AtomicLong mySavedChars = new AtomicLong();
+
+    /**
+     * @return page loaded or confirmed while the thread is suspended this time
+     */
+    @Nullable
+    public PyDebugValuesPage get(PyStackFrame frame, String key) {
+        ThreadPages thread = myThreads.get(frame.getThreadId());
+        Entry entry = getEntry(thread, frame, key);
+        if (entry == null || entry.mySuspension != thread.mySuspension.get()) {
+            return null;
+        }
+        return copyOf(entry.myPage);
+    }
+
+    /**
+     * @return digest to send with the request of the page, null if there is no page to compare with
+     */
+    @Nullable
+    public String getDigest(PyStackFrame frame, String key) {
+        Entry entry = getEntry(myThreads.get(frame.getThreadId()), frame, key);
+        return entry != null ? entry.myPage.getDigest() : null;
+    }
+
+    /**
+     * Stores the page loaded from the debugger or, if the debugger found the cached page unchanged, confirms the cached one
+     *
+     * @return page to show, null if the page was unchanged but isn't cached anymore and has to be loaded without the digest
+     */
+    @Nullable
+    public PyDebugValuesPage update(PyStackFrame frame, String key, PyDebugValuesPage loaded) {
+        ThreadPages thread = myThreads.computeIfAbsent(frame.getThreadId(), id -> new ThreadPages());
+        Map<String, Entry> pages = thread.myFrames.computeIfAbsent(frame.getFrameId(), id -> new ConcurrentHashMap<>());
+        long suspension = thread.mySuspension.get();
+        if (loaded.isUnchanged()) {
+            Entry cached = pages.get(key);
+            if (cached == null || loaded.getDigest() == null || !loaded.getDigest().equals(cached.myPage.getDigest())) {
+                return null;
+            }
+            pages.put(key, new Entry(cached.myPage, suspension));
+            long reused = myReusedPages.incrementAndGet();
+            long saved = mySavedChars.addAndGet(Math.max(cached.myPage.getSize() - loaded.getSize(), 0));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Reused %s of frame %s (%d pages and %d chars of responses saved in total)",
+                                        key, frame.getThreadFrameId(), reused, saved));
+            }
+            return copyOf(cached.myPage);
+        }
+        pages.put(key, new Entry(loaded, suspension));
+        return loaded;
+    }
+
+    /**
+     * Called when the thread is suspended again: the pages loaded before it ran have to be confirmed, pages of the frames
+     * which have left the stack are dropped
+     */
+    public void threadSuspended(String threadId, Collection<String> frameIds) {
+        ThreadPages thread = myThreads.get(threadId);
+        if (thread != null) {
+            thread.mySuspension.incrementAndGet();
+            thread.myFrames.keySet().retainAll(frameIds);
+        }
+    }
+
+    public void dropFrame(PyStackFrame frame) {
+        ThreadPages thread = myThreads.get(frame.getThreadId());
+        if (thread != null) {
+            thread.myFrames.remove(frame.getFrameId());
+        }
+    }
+
+    public void clear() {
+        myThreads.clear();
+    }
+
+    @Nullable
+    private static Entry getEntry(@Nullable ThreadPages thread, PyStackFrame frame, String key) {
+        Map<String, Entry> pages = thread != null ? thread.myFrames.get(frame.getFrameId()) : null;
+        return pages != null ? pages.get(key) : null;
+    }
+
+    /**
+     * Values remember how many of their children are shown, so every node gets its own copies
+     */
+    private static PyDebugValuesPage copyOf(PyDebugValuesPage page) {
+        XValueChildrenList values = page.getValues();
+        XValueChildrenList copies = new XValueChildrenList(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            XValue value = values.getValue(i);
+            copies.add(values.getName(i), value instanceof PyDebugValue debugValue ? debugValue.copy() : value);
+        }
+        return new PyDebugValuesPage(copies, page.getNextOffset(), page.getTotal(), page.getSize(), page.getDigest(), false);
+    }
+}
@@ -16,8 +16,13 @@
 
 package com.jetbrains.python.impl.debugger;
 
+import com.jetbrains.python.debugger.PyConditionStats;
 import consulo.annotation.component.ExtensionImpl;
+import consulo.execution.debug.breakpoint.XBreakpointProperties;
+import consulo.execution.debug.breakpoint.XLineBreakpoint;
 import consulo.execution.debug.breakpoint.XLineBreakpointTypeBase;
+import consulo.python.impl.localize.PyLocalize;
+import consulo.util.dataholder.Key;
 
 
 @ExtensionImpl
@@ -25,6 +30,11 @@ public class PyLineBreakpointType extends XLineBreakpointTypeBase
 {
 	public static final String ID = "python-line";
 
+	/**
+	 * Cost of the condition reported by the debugger in the last session
+	 */
+	public static final Key<PyConditionStats> CONDITION_STATS = Key.create("python.breakpoint.condition.stats");
+
 	public static PyLineBreakpointType getInstance()
 	{
 		return EXTENSION_POINT_NAME.findExtensionOrFail(PyLineBreakpointType.class);
@@ -40,4 +50,26 @@ public class PyLineBreakpointType extends XLineBreakpointTypeBase
 	{
 		return "reference.dialogs.breakpoints";
 	}
+
+	@Override
+	public String getDisplayText(XLineBreakpoint<XBreakpointProperties> breakpoint)
+	{
+		String text = super.getDisplayText(breakpoint);
+		PyConditionStats stats = breakpoint.getUserData(CONDITION_STATS);
+		return stats != null ? PyLocalize.debuggerBreakpointConditionStats(text, getConditionDescription(stats)).get() : text;
+	}
+
+	/**
+	 * @return e.g. "evaluated 1000 times, true 2 times, 15 ms"
+	 */
+	public static String getConditionDescription(PyConditionStats stats)
+	{
+		String evaluations = String.valueOf(stats.getEvaluations());
+		String hits = String.valueOf(stats.getHits());
+		if(stats.getTime() >= 1)
+		{
+			return PyLocalize.debuggerConditionStatsSeconds(evaluations, hits, String.format("%.1f", stats.getTime())).get();
+		}
+		return PyLocalize.debuggerConditionStatsMilliseconds(evaluations, hits, String.valueOf(Math.round(stats.getTime() * 1000))).get();
+	}
 }
@@ -19,13 +19,15 @@ package com.jetbrains.python.impl.debugger;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
-import com.google.common.collect.Lists;
 import com.jetbrains.python.debugger.PySignature;
 import com.jetbrains.python.psi.PyClass;
 import com.jetbrains.python.psi.PyFunction;
 import consulo.annotation.component.ServiceImpl;
 import consulo.application.progress.ProgressManager;
+import consulo.application.util.concurrent.AppExecutorUtil;
 import consulo.content.ContentIterator;
+import consulo.disposer.Disposable;
+import consulo.index.io.data.DataInputOutputUtil;
 import consulo.language.psi.PsiFile;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.logging.Logger;
@@ -33,7 +35,6 @@ import consulo.module.content.ProjectFileIndex;
 import consulo.project.Project;
 import consulo.project.content.scope.ProjectScopes;
 import consulo.ui.ex.awt.Messages;
-import consulo.util.collection.ArrayUtil;
 import consulo.util.lang.StringUtil;
 import consulo.util.lang.ref.Ref;
 import consulo.virtualFileSystem.FileAttribute;
@@ -43,36 +44,118 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 import org.jspecify.annotations.Nullable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * Keeps signatures collected at run time per file as a table function -> parameter -> types.
+ * <p>
+ * Recording a signature only updates the table in memory, changed tables are written to the file attribute
+ * in batches by a background writer.
+ *
  * @author traff
  */
 @ServiceImpl
 @Singleton
-public class PySignatureCacheManagerImpl extends PySignatureCacheManager {
+public class PySignatureCacheManagerImpl extends PySignatureCacheManager implements Disposable {
   protected static final Logger LOG = Logger.getInstance(PySignatureCacheManagerImpl.class);
 
   private final static boolean SHOULD_OVERWRITE_TYPES = false;
 
-  public static final FileAttribute CALL_SIGNATURES_ATTRIBUTE = new FileAttribute("call.signatures.attribute", 1, true);
+  private static final long FLUSH_DELAY_MS = 1000;
+
+  public static final FileAttribute CALL_SIGNATURES_ATTRIBUTE = new FileAttribute("call.signatures.attribute", 2, true);
+
+  /**
+   * Collected types of one file, guarded by itself
+   */
+  private static class SignatureTable {
+    private final Map<String, Map<String, Set<String>>> myFunctions = new HashMap<>();
+
+    /**
+     * @return true if the table has changed
+     */
+    private boolean add(PySignature signature) {
+      Map<String, Set<String>> parameters = myFunctions.get(signature.getFunctionName());
+      boolean changed = false;
+      if (parameters == null || SHOULD_OVERWRITE_TYPES) {
+        parameters = new LinkedHashMap<>();
+        myFunctions.put(signature.getFunctionName(), parameters);
+        changed = true;
+      }
+      for (PySignature.NamedParameter param : signature.getArgs()) {
+        Set<String> types = parameters.get(param.getName());
+        if (types == null) {
+          types = new LinkedHashSet<>();
+          parameters.put(param.getName(), types);
+          changed = true;
+        }
+        changed |= types.addAll(param.getTypesList());
+      }
+      return changed;
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+      DataInputOutputUtil.writeINT(out, myFunctions.size());
+      for (Map.Entry<String, Map<String, Set<String>>> function : myFunctions.entrySet()) {
+        out.writeUTF(function.getKey());
+        DataInputOutputUtil.writeINT(out, function.getValue().size());
+        for (Map.Entry<String, Set<String>> parameter : function.getValue().entrySet()) {
+          out.writeUTF(parameter.getKey());
+          DataInputOutputUtil.writeINT(out, parameter.getValue().size());
+          for (String type : parameter.getValue()) {
+            out.writeUTF(type);
+          }
+        }
+      }
+    }
+
+    private void read(DataInputStream in) throws IOException {
+      int functionCount = DataInputOutputUtil.readINT(in);
+      for (int i = 0; i < functionCount; i++) {
+        String function = in.readUTF();
+        Map<String, Set<String>> parameters = new LinkedHashMap<>();
+        int parameterCount = DataInputOutputUtil.readINT(in);
+        for (int j = 0; j < parameterCount; j++) {
+          String parameter = in.readUTF();
+          Set<String> types = new LinkedHashSet<>();
+          int typeCount = DataInputOutputUtil.readINT(in);
+          for (int k = 0; k < typeCount; k++) {
+            types.add(in.readUTF());
+          }
+          parameters.put(parameter, types);
+        }
+        myFunctions.put(function, parameters);
+      }
+    }
+  }
 
   private final Project myProject;
 
-  private final LoadingCache<VirtualFile, String> mySignatureCache = CacheBuilder.newBuilder()
+  private final LoadingCache<VirtualFile, SignatureTable> mySignatureCache = CacheBuilder.newBuilder()
     .maximumSize(1000)
     .expireAfterAccess(10, TimeUnit.MINUTES)
     .build(
-      new CacheLoader<VirtualFile, String>() {
+      new CacheLoader<VirtualFile, SignatureTable>() {
         @Override
-        public String load(VirtualFile key) throws Exception {
-          return readAttributeFromFile(key);
+        public SignatureTable load(VirtualFile key) throws Exception {
+          // A table evicted before it was written must not be replaced with the outdated content of the attribute
+          SignatureTable dirty = myDirtyTables.get(key);
+          return dirty != null ? dirty : readAttributeFromFile(key);
         }
       });
 
+  private final Map<VirtualFile, SignatureTable> myDirtyTables = new ConcurrentHashMap<>();
+  private final AtomicBoolean myFlushScheduled = new AtomicBoolean();
+  private final ExecutorService myWriter = AppExecutorUtil.createBoundedApplicationPoolExecutor("Python call signatures writer", 1);
+
   @Inject
   public PySignatureCacheManagerImpl(Project project) {
     myProject = project;
@@ -89,93 +172,92 @@ public class PySignatureCacheManagerImpl extends PySignatureCacheManager {
   }
 
   private void recordSignature(VirtualFile file, PySignature signature) {
-    String dataString = readAttribute(file);
-
-    String[] lines;
-    if (dataString != null) {
-      lines = dataString.split("\n");
+    SignatureTable table = getTable(file);
+    if (table == null) {
+      return;
     }
-    else {
-      lines = ArrayUtil.EMPTY_STRING_ARRAY;
+    boolean changed;
+    synchronized (table) {
+      changed = table.add(signature);
     }
-
-    boolean found = false;
-    int i = 0;
-    for (String sign : lines) {
-      String[] parts = sign.split("\t");
-      if (parts.length > 0 && parts[0].equals(signature.getFunctionName())) {
-        found = true;
-        if (SHOULD_OVERWRITE_TYPES) {
-          lines[i] = signatureToString(signature);
-        }
-        else {
-          //noinspection ConstantConditions
-          lines[i] = signatureToString(stringToSignature(file.
-            getCanonicalPath(), lines[i]).addAllArgs(signature));
-        }
-      }
-      i++;
+    if (changed) {
+      myDirtyTables.put(file, table);
+      scheduleFlush();
     }
-    if (!found) {
-      String[] lines2 = new String[lines.length + 1];
-      System.arraycopy(lines, 0, lines2, 0, lines.length);
+  }
 
-      lines2[lines2.length - 1] = signatureToString(signature);
-      lines = lines2;
+  private void scheduleFlush() {
+    if (myFlushScheduled.compareAndSet(false, true)) {
+      AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> myWriter.execute(this::flush), FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
     }
-
-    String attrString = StringUtil.join(lines, "\n");
-
-    writeAttribute(file, attrString);
   }
 
-  private void writeAttribute(VirtualFile file, String attrString) {
-    String cachedValue = mySignatureCache.asMap().get(file);
-    if (!attrString.equals(cachedValue)) {
-      mySignatureCache.put(file, attrString);
-      writeAttributeToAFile(file, attrString);
+  private void flush() {
+    myFlushScheduled.set(false);
+    for (VirtualFile file : new ArrayList<>(myDirtyTables.keySet())) {
+      SignatureTable table = myDirtyTables.remove(file);
+      if (table != null && file.isValid()) {
+        writeAttributeToAFile(file, table);
+      }
     }
   }
 
-  private static void writeAttributeToAFile(VirtualFile file, String attrString) {
-    try {
-      CALL_SIGNATURES_ATTRIBUTE.writeAttributeBytes(file, attrString.getBytes());
+  private static void writeAttributeToAFile(VirtualFile file, SignatureTable table) {
+    try (DataOutputStream out = CALL_SIGNATURES_ATTRIBUTE.writeAttribute(file)) {
+      synchronized (table) {
+        table.write(out);
+      }
     }
     catch (IOException e) {
-      LOG.warn("Can't write attribute " + file.getCanonicalPath() + " " + attrString);
+      LOG.warn("Can't write attribute " + file.getCanonicalPath(), e);
     }
   }
 
-  private static String signatureToString(PySignature signature) {
-    return signature.getFunctionName() + "\t" + StringUtil.join(arguments(signature), "\t");
-  }
-
-  private static List<String> arguments(PySignature signature) {
-    List<String> res = Lists.newArrayList();
-    for (PySignature.NamedParameter param : signature.getArgs()) {
-      res.add(param.getName() + ":" + param.getTypeQualifiedName());
-    }
-    return res;
-  }
-
   @Nullable
   public String findParameterType(PyFunction function, String name) {
-    PySignature signature = findSignature(function);
-    if (signature != null) {
-      return signature.getArgTypeQualifiedName(name);
+    VirtualFile file = getFile(function);
+    SignatureTable table = file != null ? getTable(file) : null;
+    if (table == null) {
+      return null;
     }
-    return null;
+    Set<String> types;
+    synchronized (table) {
+      Map<String, Set<String>> parameters = table.myFunctions.get(getFunctionName(function));
+      types = parameters != null ? parameters.get(name) : null;
+      if (types == null) {
+        return null;
+      }
+      types = new LinkedHashSet<>(types);
+    }
+    return new PySignature(file.getCanonicalPath(), getFunctionName(function)).addArgument(name, joinTypes(types)).getArgTypeQualifiedName(name);
   }
 
   @Nullable
   public PySignature findSignature(PyFunction function) {
     VirtualFile file = getFile(function);
-    if (file != null) {
-      return readSignatureAttributeFromFile(file, getFunctionName(function));
-    }
-    else {
+    SignatureTable table = file != null ? getTable(file) : null;
+    if (table == null) {
       return null;
     }
+    String functionName = getFunctionName(function);
+    synchronized (table) {
+      Map<String, Set<String>> parameters = table.myFunctions.get(functionName);
+      if (parameters == null) {
+        return null;
+      }
+      PySignature signature = new PySignature(file.getCanonicalPath(), functionName);
+      for (Map.Entry<String, Set<String>> parameter : parameters.entrySet()) {
+        signature.addArgument(parameter.getKey(), joinTypes(parameter.getValue()));
+      }
+      return signature;
+    }
+  }
+
+  /**
+   * Joins the types the way {@link PySignature.NamedParameter} parses them back
+   */
+  private static String joinTypes(Collection<String> types) {
+    return StringUtil.join(types, " or ");
   }
 
   private static String getFunctionName(PyFunction function) {
@@ -194,73 +276,26 @@ public class PySignatureCacheManagerImpl extends PySignatureCacheManager {
   }
 
   @Nullable
-  private PySignature readSignatureAttributeFromFile(VirtualFile file, String name) {
-    String content = readAttribute(file);
-
-    if (content != null) {
-      String[] lines = content.split("\n");
-      for (String sign : lines) {
-        String[] parts = sign.split("\t");
-        if (parts.length > 0 && parts[0].equals(name)) {
-          return stringToSignature(file.getCanonicalPath(), sign);
-        }
-      }
-    }
-
-    return null;
-  }
-
-  @Nullable
-  private String readAttribute(VirtualFile file) {
+  private SignatureTable getTable(VirtualFile file) {
     try {
-      String attrContent = mySignatureCache.get(file);
-      if (!StringUtil.isEmpty(attrContent)) {
-        return attrContent;
-      }
+      return mySignatureCache.get(file);
     }
     catch (ExecutionException e) {
-      //pass
+      return null;
     }
-    return null;
   }
 
-  private static String readAttributeFromFile(VirtualFile file) {
-    byte[] data;
-    try {
-      data = CALL_SIGNATURES_ATTRIBUTE.readAttributeBytes(file);
+  private static SignatureTable readAttributeFromFile(VirtualFile file) {
+    SignatureTable table = new SignatureTable();
+    try (DataInputStream in = CALL_SIGNATURES_ATTRIBUTE.readAttribute(file)) {
+      if (in != null) {
+        table.read(in);
+      }
     }
     catch (Exception e) {
-      data = null;
-    }
-
-    String content;
-    if (data != null && data.length > 0) {
-      content = new String(data);
-    }
-    else {
-      content = null;
-    }
-    return content != null ? content : "";
-  }
-
-
-  @Nullable
-  private static PySignature stringToSignature(String path, String string) {
-    String[] parts = string.split("\t");
-    if (parts.length > 0) {
-      PySignature signature = new PySignature(path, parts[0]);
-      for (int i = 1; i < parts.length; i++) {
-        String[] var = parts[i].split(":");
-        if (var.length == 2) {
-          signature = signature.addArgument(var[0], var[1]);
-        }
-        else {
-          throw new IllegalStateException("Should be <name>:<type> format. " + parts[i] + " instead.");
-        }
-      }
-      return signature;
+      table.myFunctions.clear();
     }
-    return null;
+    return table;
   }
 
   @Nullable
@@ -275,6 +310,11 @@ public class PySignatureCacheManagerImpl extends PySignatureCacheManager {
     return file != null ? file.getOriginalFile().getVirtualFile() : null;
   }
 
+  @Override
+  public void dispose() {
+    myWriter.shutdown();
+    flush();
+  }
 
   @Override
   public void clearCache() {
@@ -286,9 +326,18 @@ public class PySignatureCacheManagerImpl extends PySignatureCacheManager {
         ProjectFileIndex.SERVICE.getInstance(myProject).iterateContent(new ContentIterator() {
           @Override
           public boolean processFile(VirtualFile fileOrDir) {
-            if (readAttribute(fileOrDir) != null) {
-              writeAttribute(fileOrDir, "");
-              deleted.set(true);
+            SignatureTable table = fileOrDir.isDirectory() ? null : getTable(fileOrDir);
+            if (table != null) {
+              boolean cleared;
+              synchronized (table) {
+                cleared = !table.myFunctions.isEmpty();
+                table.myFunctions.clear();
+              }
+              if (cleared) {
+                myDirtyTables.remove(fileOrDir);
+                writeAttributeToAFile(fileOrDir, table);
+                deleted.set(true);
+              }
             }
             if (ProgressManager.getInstance().getProgressIndicator().isCanceled()) {
               return false;
@@ -16,6 +16,7 @@
 package com.jetbrains.python.impl.debugger;
 
 import com.jetbrains.python.debugger.PyDebugValue;
+import com.jetbrains.python.debugger.PyDebugValuesPage;
 import com.jetbrains.python.debugger.PyDebuggerException;
 import com.jetbrains.python.debugger.PyFrameAccessor;
 import com.jetbrains.python.debugger.PyStackFrameInfo;
@@ -40,9 +41,32 @@ import consulo.virtualFileSystem.VirtualFile;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 public class PyStackFrame extends XStackFrame {
+    /**
+     * Variables loaded into a node page by page: the offset of the next page and the groups added to the node so far,
+     * values of later pages are added to the groups instead of creating them again.
+     */
+    private static class PagingState {
+        private final XCompositeNode myNode;
+        private int myOffset;
+        private final Map<String, XValue> myReturnedValues = new ConcurrentHashMap<>();
+        private final List<Map<String, XValue>> mySpecialValuesGroups = new ArrayList<>();
+        private boolean myReturnedValuesAdded;
+        private boolean mySpecialValuesAdded;
+
+        private PagingState(XCompositeNode node) {
+            myNode = node;
+            IntStream.range(0, NUMBER_OF_GROUPS).mapToObj(i -> new ConcurrentHashMap<String, XValue>()).forEach(mySpecialValuesGroups::add);
+        }
+
+        private boolean hasSpecialValues() {
+            return mySpecialValuesGroups.stream().anyMatch(group -> !group.isEmpty());
+        }
+    }
+
     private static final Logger LOG = Logger.getInstance("#com.jetbrains.python.pydev.PyStackFrame");
 
     private static final Object STACK_FRAME_EQUALITY_OBJECT = new Object();
@@ -54,10 +78,14 @@ public class PyStackFrame extends XStackFrame {
     public static final int SPECIAL_TYPES_IND = DUNDER_VALUES_IND + 1;
     public static final int IPYTHON_VALUES_IND = SPECIAL_TYPES_IND + 1;
     public static final int NUMBER_OF_GROUPS = IPYTHON_VALUES_IND + 1;
+    private static final int VARIABLES_PAGE_SIZE = 500;
 
     private Project myProject;
     private final PyFrameAccessor myDebugProcess;
     private final PyStackFrameInfo myFrameInfo;
+    // variables loaded into the last node, a new node (e.g. after the views are rebuilt) starts from the first page again
+    @Nullable
+    private volatile PagingState myPagingState;
     private final XSourcePosition myPosition;
 
     public PyStackFrame(Project project, PyFrameAccessor debugProcess, PyStackFrameInfo frameInfo, XSourcePosition position) {
@@ -122,11 +150,19 @@ public class PyStackFrame extends XStackFrame {
         if (node.isObsolete()) {
             return;
         }
+        // the same node asks again when its "more" link is clicked
+        PagingState current = myPagingState;
+        PagingState state = current != null && current.myNode == node ? current : new PagingState(node);
+        myPagingState = state;
         Application.get().executeOnPooledThread(() -> {
             try {
-                XValueChildrenList values = myDebugProcess.loadFrame();
+                PyDebugValuesPage page = myDebugProcess.loadFramePage(state.myOffset, VARIABLES_PAGE_SIZE);
                 if (!node.isObsolete()) {
-                    addChildren(node, values);
+                    state.myOffset = page.getNextOffset();
+                    addChildren(node, page.getValues(), !page.hasMore(), state);
+                    if (page.hasMore()) {
+                        node.tooManyChildren(page.getRemaining());
+                    }
                 }
             }
             catch (PyDebuggerException e) {
@@ -139,23 +175,23 @@ public class PyStackFrame extends XStackFrame {
     }
 
     protected void addChildren(XCompositeNode node, @Nullable XValueChildrenList children) {
+        addChildren(node, children, true, new PagingState(node));
+    }
+
+    private static void addChildren(XCompositeNode node, @Nullable XValueChildrenList children, boolean last, PagingState state) {
         if (children == null) {
-            node.addChildren(XValueChildrenList.EMPTY, true);
+            node.addChildren(XValueChildrenList.EMPTY, last);
             return;
         }
         PyDebuggerSettings debuggerSettings = PyDebuggerSettings.getInstance();
         XValueChildrenList filteredChildren = new XValueChildrenList();
-        Map<String, XValue> returnedValues = new HashMap<>();
-        List<Map<String, XValue>> specialValuesGroups = new ArrayList<>();
-        IntStream.range(0, NUMBER_OF_GROUPS).mapToObj(i -> new HashMap()).forEach(specialValuesGroups::add);
-        boolean isSpecialEmpty = true;
 
         for (int i = 0; i < children.size(); i++) {
             XValue value = children.getValue(i);
             String name = children.getName(i);
             if (value instanceof PyDebugValue pyValue) {
                 if (pyValue.isReturnedVal() && debuggerSettings.isWatchReturnValues()) {
-                    returnedValues.put(name, value);
+                    state.myReturnedValues.put(name, value);
                 }
                 else if (!debuggerSettings.isSimplifiedView()) {
                     filteredChildren.add(name, value);
@@ -172,8 +208,7 @@ public class PyStackFrame extends XStackFrame {
                         groupIndex = SPECIAL_TYPES_IND;
                     }
                     if (groupIndex > -1) {
-                        specialValuesGroups.get(groupIndex).put(name, value);
-                        isSpecialEmpty = false;
+                        state.mySpecialValuesGroups.get(groupIndex).put(name, value);
                     }
                     else {
                         filteredChildren.add(name, value);
@@ -181,16 +216,20 @@ public class PyStackFrame extends XStackFrame {
                 }
             }
         }
-        node.addChildren(filteredChildren, returnedValues.isEmpty() && isSpecialEmpty);
-        if (!returnedValues.isEmpty()) {
-            addReturnedValuesGroup(node, returnedValues);
+        boolean addReturnedValues = !state.myReturnedValuesAdded && !state.myReturnedValues.isEmpty();
+        boolean addSpecialValues = !state.mySpecialValuesAdded && state.hasSpecialValues();
+        node.addChildren(filteredChildren, last && !addReturnedValues && !addSpecialValues);
+        if (addReturnedValues) {
+            state.myReturnedValuesAdded = true;
+            addReturnedValuesGroup(node, state.myReturnedValues, last && !addSpecialValues);
         }
-        if (!isSpecialEmpty) {
-            addSpecialValuesGroup(node, specialValuesGroups);
+        if (addSpecialValues) {
+            state.mySpecialValuesAdded = true;
+            addSpecialValuesGroup(node, state.mySpecialValuesGroups, last);
         }
     }
 
-    private static void addReturnedValuesGroup(XCompositeNode node, Map<String, XValue> returnedValues) {
+    private static void addReturnedValuesGroup(XCompositeNode node, Map<String, XValue> returnedValues, boolean last) {
         List<XValueGroup> group = new ArrayList<>();
         group.add(new XValueGroup(RETURN_VALUES_GROUP_NAME) {
             @Override
@@ -208,10 +247,10 @@ public class PyStackFrame extends XStackFrame {
                 return ExecutionDebugIconGroup.nodeMethodlevelwatch();
             }
         });
-        node.addChildren(XValueChildrenList.topGroups(group), true);
+        node.addChildren(XValueChildrenList.topGroups(group), last);
     }
 
-    private static void addSpecialValuesGroup(XCompositeNode node, List<Map<String, XValue>> specialValuesGroups) {
+    private static void addSpecialValuesGroup(XCompositeNode node, List<Map<String, XValue>> specialValuesGroups, boolean last) {
         List<XValueGroup> group = new ArrayList<>();
         group.add(new XValueGroup(SPECIAL_VARIABLES_GROUP_NAME) {
             @Override
@@ -231,7 +270,7 @@ public class PyStackFrame extends XStackFrame {
                 return PythonImplIconGroup.pythonDebugSpecialvar();
             }
         });
-        node.addChildren(XValueChildrenList.topGroups(group), true);
+        node.addChildren(XValueChildrenList.topGroups(group), last);
     }
 
     public String getThreadId() {
@@ -81,7 +81,7 @@ class ArrayTableCellRenderer extends DefaultTableCellRenderer implements Colored
 			{
 				try
 				{
-					double rangedValue = PyNumericViewUtil.getRangedValue(value.toString(), myType, myMin, myMax, myComplexMax, myComplexMin);
+					double rangedValue = getRangedValue(table, value, row, col);
 					this.setBackground(PyNumericViewUtil.rangedValueToColor(rangedValue));
 				}
 				catch(NumberFormatException ignored)
@@ -97,6 +97,20 @@ class ArrayTableCellRenderer extends DefaultTableCellRenderer implements Colored
 		return this;
 	}
 
+	private double getRangedValue(JTable table, Object value, int row, int col)
+	{
+		if(myType != null && "iuf".contains(myType) && table.getModel() instanceof AsyncArrayTableModel model)
+		{
+			// Numbers are kept unboxed in the chunk, don't parse them back from the text
+			double number = model.getNumericValueAt(table.convertRowIndexToModel(row), table.convertColumnIndexToModel(col));
+			if(!Double.isNaN(number))
+			{
+				return (number - myMin) / (myMax - myMin);
+			}
+		}
+		return PyNumericViewUtil.getRangedValue(value.toString(), myType, myMin, myMax, myComplexMax, myComplexMin);
+	}
+
 	public void setMin(double min)
 	{
 		myMin = min;
@@ -35,6 +35,9 @@ import consulo.util.concurrent.ConcurrencyUtil;
 import consulo.ui.ex.awt.UIUtil;
 import com.jetbrains.python.debugger.ArrayChunk;
 import com.jetbrains.python.debugger.ArrayChunkBuilder;
+import com.jetbrains.python.debugger.ArrayColumn;
+import com.jetbrains.python.debugger.ArrayStats;
+import org.jspecify.annotations.Nullable;
 
 /**
  * @author traff
@@ -48,6 +51,7 @@ public class AsyncArrayTableModel extends AbstractTableModel
 	private int myRows;
 	private int myColumns;
 	private final TableChunkDatasource myProvider;
+	private volatile ArrayStats myStats;
 
 
 	private final ExecutorService myExecutorService = ConcurrencyUtil.newSingleThreadExecutor("Python async table");
@@ -87,30 +91,19 @@ public class AsyncArrayTableModel extends AbstractTableModel
 	@Override
     public Object getValueAt(int row, int col)
 	{
-		Pair<Integer, Integer> key = itemToChunkKey(row, col);
-
 		try
 		{
-			ListenableFuture<ArrayChunk> chunk = myChunkCache.get(key);
-
-			if(chunk.isDone())
+			ArrayChunk chunk = getLoadedChunk(row, col);
+			if(chunk != null)
 			{
-				Object[][] data = chunk.get().getData();
 				int r = row % CHUNK_ROW_SIZE;
 				int c = col % CHUNK_COL_SIZE;
 
-				if(r < data.length)
+				if(r < chunk.getDataRows() && c < chunk.getDataColumns())
 				{
-					if(c < data[r].length)
-					{
-						return myProvider.correctStringValue(data[r][c]);
-					}
+					return myProvider.correctStringValue(chunk.getText(r, c));
 				}
 			}
-			else
-			{
-				chunk.addListener(() -> UIUtil.invokeLaterIfNeeded(() -> fireTableCellUpdated(row, col)), myExecutorService);
-			}
 			return EMPTY_CELL_VALUE;
 		}
 		catch(Exception e)
@@ -120,6 +113,43 @@ public class AsyncArrayTableModel extends AbstractTableModel
 		}
 	}
 
+	/**
+	 * @return value of the cell as a number read from the column it is stored in, NaN if it isn't a number or isn't loaded yet
+	 */
+	public double getNumericValueAt(int row, int col)
+	{
+		Future<ArrayChunk> future = myChunkCache.getIfPresent(itemToChunkKey(row, col));
+		if(future == null || !future.isDone())
+		{
+			return Double.NaN;
+		}
+		try
+		{
+			ArrayChunk chunk = future.get();
+			int r = row % CHUNK_ROW_SIZE;
+			int c = col % CHUNK_COL_SIZE;
+			return r < chunk.getDataRows() && c < chunk.getDataColumns() ? chunk.getDouble(r, c) : Double.NaN;
+		}
+		catch(Exception e)
+		{
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * @return the chunk with the cell, or null if it is still loading, the cell is updated once it is loaded
+	 */
+	private ArrayChunk getLoadedChunk(int row, int col) throws Exception
+	{
+		ListenableFuture<ArrayChunk> chunk = myChunkCache.get(itemToChunkKey(row, col));
+		if(chunk.isDone())
+		{
+			return chunk.get();
+		}
+		chunk.addListener(() -> UIUtil.invokeLaterIfNeeded(() -> fireTableCellUpdated(row, col)), myExecutorService);
+		return null;
+	}
+
 	private static Pair<Integer, Integer> itemToChunkKey(int row, int col)
 	{
 		return Pair.create(getPageRowStart(row), getPageColStart(col));
@@ -153,6 +183,27 @@ public class AsyncArrayTableModel extends AbstractTableModel
 		return myRows;
 	}
 
+	/**
+	 * @param stats statistics computed by the debugger to show in the column headers, null to show the plain headers
+	 */
+	public void setStats(@Nullable ArrayStats stats)
+	{
+		myStats = stats;
+	}
+
+	@Nullable
+	public ArrayStats getStats()
+	{
+		return myStats;
+	}
+
+	@Nullable
+	public ArrayStats.Stats getColumnStats(int col)
+	{
+		ArrayStats stats = myStats;
+		return stats != null ? stats.getColumn(col) : null;
+	}
+
 	public void changeValue(int row, int col, Object value)
 	{
 		Future<ArrayChunk> chunk = myChunkCache.getIfPresent(itemToChunkKey(row, col));
@@ -160,7 +211,7 @@ public class AsyncArrayTableModel extends AbstractTableModel
 		{
 			try
 			{
-				chunk.get().getData()[row - getPageRowStart(row)][col - getPageColStart(col)] = value;
+				chunk.get().setText(row - getPageRowStart(row), col - getPageColStart(col), String.valueOf(value));
 			}
 			catch(Exception e)
 			{
@@ -175,18 +226,17 @@ public class AsyncArrayTableModel extends AbstractTableModel
 
 	public void addToCache(final ArrayChunk chunk)
 	{
-		Object[][] data = chunk.getData();
-		int cols = data.length;
-		int rows = data[0].length;
+		int rows = chunk.getDataRows();
+		int cols = chunk.getDataColumns();
 		for(int roffset = 0; roffset < rows / CHUNK_ROW_SIZE; roffset++)
 		{
 			for(int coffset = 0; coffset < cols / CHUNK_COL_SIZE; coffset++)
 			{
 				Pair<Integer, Integer> key = itemToChunkKey(roffset * CHUNK_ROW_SIZE, coffset * CHUNK_COL_SIZE);
-				final Object[][] chunkData = new Object[CHUNK_ROW_SIZE][CHUNK_COL_SIZE];
-				for(int r = 0; r < CHUNK_ROW_SIZE; r++)
+				final ArrayColumn[] chunkData = new ArrayColumn[CHUNK_COL_SIZE];
+				for(int c = 0; c < CHUNK_COL_SIZE; c++)
 				{
-					System.arraycopy(data[roffset * CHUNK_ROW_SIZE + r], coffset * 30, chunkData[r], 0, CHUNK_COL_SIZE);
+					chunkData[c] = chunk.getColumnData(coffset * CHUNK_COL_SIZE + c).slice(roffset * CHUNK_ROW_SIZE, (roffset + 1) * CHUNK_ROW_SIZE);
 				}
 				myChunkCache.put(key, new ListenableFuture<ArrayChunk>()
 				{
@@ -217,14 +267,14 @@ public class AsyncArrayTableModel extends AbstractTableModel
 					@Override
 					public ArrayChunk get() throws InterruptedException, ExecutionException
 					{
-						return new ArrayChunkBuilder().setValue(chunk.getValue()).setSlicePresentation(null).setRows(0).setColumns(0).setMax(null).setMin(null).setFormat(null).setType(null).setData
+						return new ArrayChunkBuilder().setValue(chunk.getValue()).setSlicePresentation(null).setRows(0).setColumns(0).setMax(null).setMin(null).setFormat(null).setType(null).setColumnData
 								(chunkData).createArrayChunk();
 					}
 
 					@Override
 					public ArrayChunk get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
 					{
-						return new ArrayChunkBuilder().setValue(chunk.getValue()).setSlicePresentation(null).setRows(0).setColumns(0).setMax(null).setMin(null).setFormat(null).setType(null).setData
+						return new ArrayChunkBuilder().setValue(chunk.getValue()).setSlicePresentation(null).setRows(0).setColumns(0).setMax(null).setMin(null).setFormat(null).setType(null).setColumnData
 								(chunkData).createArrayChunk();
 					}
 				});
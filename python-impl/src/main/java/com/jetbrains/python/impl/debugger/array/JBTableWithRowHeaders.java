@@ -34,6 +34,9 @@ import javax.swing.table.JTableHeader;
 import javax.swing.table.TableModel;
 
 import com.google.common.base.Strings;
+import com.jetbrains.python.debugger.ArrayStats;
+import com.jetbrains.python.impl.debugger.containerview.PyNumericViewUtil;
+import consulo.util.lang.StringUtil;
 import consulo.ui.ex.awt.JBScrollPane;
 import consulo.ui.ex.awt.table.JBTable;
 
@@ -216,6 +219,17 @@ public class JBTableWithRowHeaders extends JBTable
 		public Component getTableCellRendererComponent(JTable table, Object value, boolean selected, boolean focused, int row, int column)
 		{
 			super.getTableCellRendererComponent(table, value, selected, focused, row, column);
+			setToolTipText(null);
+			if(table.getModel() instanceof AsyncArrayTableModel model)
+			{
+				ArrayStats.Stats stats = model.getColumnStats(table.convertColumnIndexToModel(column));
+				if(stats != null && stats.isNumeric())
+				{
+					setText("<html><center>" + StringUtil.escapeXmlEntities(String.valueOf(value)) + "<br><small>" + PyNumericViewUtil.formatNumber(stats.getMin()) + " \u2026 " +
+							PyNumericViewUtil.formatNumber(stats.getMax()) + "</small></center></html>");
+					setToolTipText(PyNumericViewUtil.getStatsDescription(stats));
+				}
+			}
 			int selectedColumn = table.getSelectedColumn();
 			if(selectedColumn == column)
 			{
@@ -42,6 +42,8 @@ public class NumericContainerRendererForm
 	protected JBTableWithRowHeaders myTable;
 	protected EditorTextField myFormatTextField;
 	protected JCheckBox myColoredCheckbox;
+	protected JCheckBox myStatisticsCheckbox;
+	protected PyHistogramComponent myHistogram;
 	protected JPanel myFormatPanel;
 	protected JPanel myMainPanel;
 	protected JLabel myFormatLabel;
@@ -73,6 +75,16 @@ public class NumericContainerRendererForm
 		return myColoredCheckbox;
 	}
 
+	public JCheckBox getStatisticsCheckbox()
+	{
+		return myStatisticsCheckbox;
+	}
+
+	public PyHistogramComponent getHistogram()
+	{
+		return myHistogram;
+	}
+
 	public JBScrollPane getScrollPane()
 	{
 		return myScrollPane;
@@ -107,6 +119,8 @@ public class NumericContainerRendererForm
 			}
 		};
 
+		myHistogram = new PyHistogramComponent();
+
 		myTable = new JBTableWithRowHeaders();
 		myScrollPane = myTable.getScrollPane();
 	}
@@ -30,6 +30,7 @@ import consulo.document.RangeMarker;
 import consulo.project.Project;
 import consulo.ui.ex.awt.UIUtil;
 import com.jetbrains.python.debugger.ArrayChunk;
+import com.jetbrains.python.debugger.ArrayStats;
 import com.jetbrains.python.debugger.PyDebugValue;
 import com.jetbrains.python.debugger.PyDebuggerException;
 import com.jetbrains.python.impl.debugger.array.AsyncArrayTableModel;
@@ -42,6 +43,7 @@ public abstract class NumericContainerViewTable implements TableChunkDatasource
 {
 	protected final static int COLUMNS_IN_DEFAULT_VIEW = 1000;
 	protected final static int ROWS_IN_DEFAULT_VIEW = 1000;
+	private static final int HISTOGRAM_BINS = 20;
 	protected static final Logger LOG = Logger.getInstance("#com.jetbrains.python.debugger.containerview.NumericContainerViewTable");
 	protected final PyDebugValue myValue;
 	protected final ViewNumericContainerDialog myDialog;
@@ -51,6 +53,7 @@ public abstract class NumericContainerViewTable implements TableChunkDatasource
 	protected String myDtypeKind;
 	protected ColoredCellRenderer myTableCellRenderer;
 	protected AsyncArrayTableModel myPagingModel;
+	private ArrayStats myStats;
 
 	public NumericContainerViewTable(Project project, ViewNumericContainerDialog dialog, PyDebugValue value)
 	{
@@ -80,6 +83,17 @@ public abstract class NumericContainerViewTable implements TableChunkDatasource
 		);
 		myValue = value;
 		myTable = myComponent.getTable();
+		myComponent.getStatisticsCheckbox().addItemListener(e -> {
+			if(myComponent.getStatisticsCheckbox().isSelected() && myStats == null)
+			{
+				loadStats();
+			}
+			else
+			{
+				showStats();
+			}
+		});
+		myTable.getColumnModel().getSelectionModel().addListSelectionListener(e -> updateHistogram());
 	}
 
 
@@ -117,9 +131,76 @@ public abstract class NumericContainerViewTable implements TableChunkDatasource
 			{
 				myTable.setDefaultRenderer(myTable.getColumnClass(0), myTableCellRenderer);
 			}
+			if(myComponent.getStatisticsCheckbox().isSelected())
+			{
+				loadStats();
+			}
 		});
 	}
 
+	/**
+	 * Asks the debugger for statistics of the whole container, the cells are not loaded for them
+	 */
+	private void loadStats()
+	{
+		String slice = getSliceText();
+		PyDebugValue slicedValue = createSlicedValue(slice);
+		ApplicationManager.getApplication().executeOnPooledThread(() -> {
+			try
+			{
+				ArrayStats stats = slicedValue.getFrameAccessor().getArrayStats(slicedValue, HISTOGRAM_BINS);
+				UIUtil.invokeLaterIfNeeded(() -> {
+					// The slice could be changed while the statistics were computed
+					if(slice.equals(getSliceText()))
+					{
+						myStats = stats;
+						showStats();
+					}
+				});
+			}
+			catch(PyDebuggerException e)
+			{
+				showError(e.getMessage());
+			}
+		});
+	}
+
+	private void showStats()
+	{
+		boolean visible = myComponent.getStatisticsCheckbox().isSelected() && myStats != null;
+		if(myPagingModel != null)
+		{
+			myPagingModel.setStats(visible ? myStats : null);
+		}
+		myComponent.getHistogram().setVisible(visible);
+		updateHistogram();
+		myTable.getTableHeader().resizeAndRepaint();
+		myComponent.getMainPanel().revalidate();
+	}
+
+	/**
+	 * Shows the histogram of the selected column, or of all the values if there are no statistics for columns
+	 */
+	private void updateHistogram()
+	{
+		ArrayStats stats = myStats;
+		if(stats == null)
+		{
+			return;
+		}
+		int column = myTable.getSelectedColumn() >= 0 ? myTable.convertColumnIndexToModel(myTable.getSelectedColumn()) : 0;
+		ArrayStats.Stats columnStats = stats.getColumn(column);
+		if(columnStats != null)
+		{
+			String label = columnStats.getLabel() != null ? columnStats.getLabel() : String.valueOf(column);
+			myComponent.getHistogram().setStats(columnStats, "Column " + label);
+		}
+		else
+		{
+			myComponent.getHistogram().setStats(stats.getTotal(), "All values");
+		}
+	}
+
 	private void disableColor()
 	{
 		myTableCellRenderer.setColored(false);
@@ -140,6 +221,7 @@ public abstract class NumericContainerViewTable implements TableChunkDatasource
 	private void initTableModel(boolean inPlace)
 	{
 		myPagingModel = createTableModel(myPagingModel.getRowCount(), myPagingModel.getColumnCount());
+		myPagingModel.setStats(myComponent.getStatisticsCheckbox().isSelected() ? myStats : null);
 
 		UIUtil.invokeLaterIfNeeded(() -> {
 			myTable.setModel(myPagingModel);
@@ -233,18 +315,14 @@ public abstract class NumericContainerViewTable implements TableChunkDatasource
 	{
 		initComponent();
 		myComponent.getSliceTextField().setText(slice);
+		myStats = null;
 
 		ApplicationManager.getApplication().executeOnPooledThread(() -> {
-			PyDebugValue value = getDebugValue();
-			PyDebugValue parent = value.getParent();
-			PyDebugValue slicedValue = new PyDebugValue(slice, value.getType(), null, value.getValue(), value.isContainer(), value.isReturnedVal(), value.isErrorOnEval(), value.isIPythonHidden
-					(), parent, value.getFrameAccessor());
-
 			String format = getFormat().isEmpty() ? "%" : getFormat();
 
 			try
 			{
-				initUi(value.getFrameAccessor().getArrayItems(slicedValue, 0, 0, -1, -1, format), inPlace);
+				initUi(myValue.getFrameAccessor().getArrayItems(createSlicedValue(slice), 0, 0, -1, -1, format), inPlace);
 			}
 			catch(PyDebuggerException e)
 			{
@@ -262,11 +340,17 @@ public abstract class NumericContainerViewTable implements TableChunkDatasource
 	@Override
 	public ArrayChunk getChunk(int rowOffset, int colOffset, int rows, int cols) throws PyDebuggerException
 	{
-		PyDebugValue slicedValue = new PyDebugValue(getSliceText(), myValue.getType(), myValue.getTypeQualifier(), myValue.getValue(), myValue.isContainer(), myValue.isErrorOnEval(), myValue
-				.isReturnedVal(), myValue.isIPythonHidden(), myValue.getParent(), myValue.getFrameAccessor());
-
 		String format = getFormat().isEmpty() ? "%" : getFormat();
-		return myValue.getFrameAccessor().getArrayItems(slicedValue, rowOffset, colOffset, rows, cols, format);
+		return myValue.getFrameAccessor().getArrayItems(createSlicedValue(getSliceText()), rowOffset, colOffset, rows, cols, format);
+	}
+
+	/**
+	 * @return the shown value with the slice typed by the user as its expression
+	 */
+	private PyDebugValue createSlicedValue(String slice)
+	{
+		return new PyDebugValue(slice, myValue.getType(), myValue.getTypeQualifier(), myValue.getValue(), myValue.isContainer(), myValue.isReturnedVal(), myValue.isIPythonHidden(),
+				myValue.isErrorOnEval(), myValue.getParent(), myValue.getFrameAccessor());
 	}
 
 	public abstract boolean isNumeric();
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.debugger.containerview;
+
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+
+import javax.swing.JComponent;
+
+import com.jetbrains.python.debugger.ArrayStats;
+import consulo.ui.ex.JBColor;
+import consulo.ui.ex.awt.JBUI;
+import consulo.ui.ex.awt.UIUtil;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Bar chart of the histogram computed by the debugger for an array or one of its columns
+ */
+public class PyHistogramComponent extends JComponent
+{
+	private static final int HEIGHT = 80;
+
+	private ArrayStats.Stats myStats;
+	private String myTitle = "";
+
+	public PyHistogramComponent()
+	{
+		setVisible(false);
+	}
+
+	public void setStats(@Nullable ArrayStats.Stats stats, String title)
+	{
+		myStats = stats;
+		myTitle = title;
+		setToolTipText(stats != null && stats.isNumeric() ? PyNumericViewUtil.getStatsDescription(stats) : null);
+		repaint();
+	}
+
+	@Override
+	public Dimension getPreferredSize()
+	{
+		return new Dimension(super.getPreferredSize().width, JBUI.scale(HEIGHT));
+	}
+
+	@Override
+	protected void paintComponent(Graphics g)
+	{
+		super.paintComponent(g);
+		if(getFont() != null)
+		{
+			g.setFont(getFont().deriveFont(getFont().getSize2D() - 1));
+		}
+		FontMetrics metrics = g.getFontMetrics();
+		int lineHeight = metrics.getHeight();
+		int width = getWidth();
+		int chartHeight = getHeight() - 2 * lineHeight;
+
+		g.setColor(UIUtil.getLabelForeground());
+		ArrayStats.Stats stats = myStats;
+		if(stats == null || stats.getHistogram().length == 0 || chartHeight <= 0)
+		{
+			g.drawString(stats == null ? myTitle : myTitle + ": no numbers to show", 0, metrics.getAscent());
+			return;
+		}
+		String summary = myTitle + "   mean " + PyNumericViewUtil.formatNumber(stats.getMean()) + (stats.getNanCount() > 0 ? ", " + stats.getNanCount() + " NaN" : "");
+		g.drawString(summary, 0, metrics.getAscent());
+
+		long[] histogram = stats.getHistogram();
+		long highest = 1;
+		for(long count : histogram)
+		{
+			highest = Math.max(highest, count);
+		}
+		double barWidth = (double) width / histogram.length;
+		int bottom = lineHeight + chartHeight;
+		g.setColor(JBColor.BLUE);
+		for(int i = 0; i < histogram.length; i++)
+		{
+			int barHeight = (int) Math.round((double) histogram[i] / highest * chartHeight);
+			int left = (int) Math.round(i * barWidth);
+			int right = (int) Math.round((i + 1) * barWidth);
+			g.fillRect(left, bottom - barHeight, Math.max(1, right - left - 1), barHeight);
+		}
+
+		g.setColor(UIUtil.getLabelForeground());
+		String min = PyNumericViewUtil.formatNumber(stats.getHistogramMin());
+		String max = PyNumericViewUtil.formatNumber(stats.getHistogramMax());
+		g.drawString(min, 0, bottom + metrics.getAscent());
+		g.drawString(max, width - metrics.stringWidth(max), bottom + metrics.getAscent());
+	}
+}
@@ -16,9 +16,11 @@
 package com.jetbrains.python.impl.debugger.containerview;
 
 import java.awt.Color;
+import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.jetbrains.python.debugger.ArrayStats;
 import consulo.util.lang.Pair;
 
 /**
@@ -48,6 +50,35 @@ public class PyNumericViewUtil
 		return 0;
 	}
 
+	/**
+	 * @return text for a tooltip with the statistics computed by the debugger
+	 */
+	public static String getStatsDescription(ArrayStats.Stats stats)
+	{
+		StringBuilder result = new StringBuilder("<html>");
+		result.append("Min: ").append(formatNumber(stats.getMin())).append("<br>");
+		result.append("Max: ").append(formatNumber(stats.getMax())).append("<br>");
+		result.append("Mean: ").append(formatNumber(stats.getMean())).append("<br>");
+		result.append("Count: ").append(stats.getCount());
+		if(stats.getNanCount() > 0)
+		{
+			result.append("<br>NaN: ").append(stats.getNanCount());
+		}
+		return result.append("</html>").toString();
+	}
+
+	/**
+	 * @return short presentation of a number for headers and charts
+	 */
+	public static String formatNumber(double value)
+	{
+		if(value == Math.rint(value) && Math.abs(value) < 1e15)
+		{
+			return Long.toString((long) value);
+		}
+		return String.format(Locale.US, "%.5g", value);
+	}
+
 	public static Color rangedValueToColor(double rangedValue)
 	{
 		//noinspection UseJBColor
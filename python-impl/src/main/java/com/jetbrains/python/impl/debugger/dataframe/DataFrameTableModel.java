@@ -52,11 +52,11 @@ public class DataFrameTableModel extends AsyncArrayTableModel
 		{
 			return value;
 		}
-		TableValueDescriptor descriptor = createValueWithDescriptor(col, value);
+		TableValueDescriptor descriptor = createValueWithDescriptor(row, col, value);
 		return descriptor != null ? descriptor : AsyncArrayTableModel.EMPTY_CELL_VALUE;
 	}
 
-	private TableValueDescriptor createValueWithDescriptor(int frameCol, Object value)
+	private TableValueDescriptor createValueWithDescriptor(int row, int frameCol, Object value)
 	{
 		ArrayChunk.ColHeader header = myColHeaders.get(frameCol);
 		if(header == null)
@@ -64,7 +64,7 @@ public class DataFrameTableModel extends AsyncArrayTableModel
 			return null;
 		}
 
-		return new TableValueDescriptor(value.toString(), header);
+		return new TableValueDescriptor(value.toString(), getNumericValueAt(row, frameCol), header);
 	}
 
 
@@ -25,11 +25,21 @@ import com.jetbrains.python.impl.debugger.containerview.PyNumericViewUtil;
 public class TableValueDescriptor
 {
 	private final String myValue;
+	private final double myNumber;
 	private final ArrayChunk.ColHeader myHeader;
 
 	public TableValueDescriptor(String value, ArrayChunk.ColHeader header)
+	{
+		this(value, Double.NaN, header);
+	}
+
+	/**
+	 * @param number value of the cell as stored in the chunk, NaN if it isn't a number
+	 */
+	public TableValueDescriptor(String value, double number, ArrayChunk.ColHeader header)
 	{
 		myValue = value;
+		myNumber = number;
 		myHeader = header;
 	}
 
@@ -70,7 +80,15 @@ public class TableValueDescriptor
 			max = Double.parseDouble(maxValue);
 		}
 
-		return (min == max) ? 0 : PyNumericViewUtil.getRangedValue(myValue, dataType, min, max, minValue, maxValue);
+		if(min == max)
+		{
+			return 0;
+		}
+		if("iuf".contains(dataType) && !Double.isNaN(myNumber))
+		{
+			return (myNumber - min) / (max - min);
+		}
+		return PyNumericViewUtil.getRangedValue(myValue, dataType, min, max, minValue, maxValue);
 	}
 
 	@Override
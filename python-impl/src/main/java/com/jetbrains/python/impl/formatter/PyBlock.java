@@ -23,9 +23,7 @@ import static com.jetbrains.python.impl.psi.PyUtil.as;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.jspecify.annotations.Nullable;
 
@@ -50,7 +48,6 @@ import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiErrorElement;
 import consulo.language.psi.PsiWhiteSpace;
 import consulo.language.ast.TokenType;
-import consulo.language.codeStyle.CodeStyleSettingsManager;
 import consulo.language.codeStyle.CommonCodeStyleSettings;
 import consulo.language.ast.IElementType;
 import consulo.language.ast.TokenSet;
@@ -86,7 +83,6 @@ public class PyBlock implements ASTBlock
 	private final Wrap myWrap;
 	private final PyBlockContext myContext;
 	private List<PyBlock> mySubBlocks = null;
-	private Map<ASTNode, PyBlock> mySubBlockByNode = null;
 	private Alignment myChildAlignment;
 	private final Alignment myDictAlignment;
 	private final Wrap myDictWrapping;
@@ -140,16 +136,40 @@ public class PyBlock implements ASTBlock
 	{
 		if(mySubBlocks == null)
 		{
-			mySubBlockByNode = buildSubBlocks();
-			mySubBlocks = new ArrayList<>(mySubBlockByNode.values());
+			mySubBlocks = buildSubBlocks();
 		}
 		return Collections.<Block>unmodifiableList(mySubBlocks);
 	}
 
+	/**
+	 * Sub-blocks are ordered by their start offsets, so the block of a child node is found by a binary search
+	 * instead of keeping a node to block map for every block of the file.
+	 */
 	@Nullable
 	private PyBlock getSubBlockByNode(ASTNode node)
 	{
-		return mySubBlockByNode.get(node);
+		int offset = node.getStartOffset();
+		int low = 0;
+		int high = mySubBlocks.size() - 1;
+		while(low <= high)
+		{
+			int middle = (low + high) >>> 1;
+			PyBlock block = mySubBlocks.get(middle);
+			int blockOffset = block.getNode().getStartOffset();
+			if(blockOffset < offset)
+			{
+				low = middle + 1;
+			}
+			else if(blockOffset > offset)
+			{
+				high = middle - 1;
+			}
+			else
+			{
+				return block.getNode() == node ? block : null;
+			}
+		}
+		return null;
 	}
 
 	@Nullable
@@ -158,9 +178,9 @@ public class PyBlock implements ASTBlock
 		return mySubBlocks.get(index);
 	}
 
-	private Map<ASTNode, PyBlock> buildSubBlocks()
+	private List<PyBlock> buildSubBlocks()
 	{
-		Map<ASTNode, PyBlock> blocks = new LinkedHashMap<>();
+		List<PyBlock> blocks = new ArrayList<>();
 		for(ASTNode child = myNode.getFirstChildNode(); child != null; child = child.getTreeNext())
 		{
 
@@ -176,9 +196,9 @@ public class PyBlock implements ASTBlock
 				continue;
 			}
 
-			blocks.put(child, buildSubBlock(child));
+			blocks.add(buildSubBlock(child));
 		}
-		return Collections.unmodifiableMap(blocks);
+		return blocks;
 	}
 
 	private PyBlock buildSubBlock(ASTNode child)
@@ -270,7 +290,7 @@ public class PyBlock implements ASTBlock
 			}
 		}
 
-		PyCodeStyleSettings settings = CodeStyleSettingsManager.getSettings(child.getPsi().getProject()).getCustomSettings(PyCodeStyleSettings.class);
+		PyCodeStyleSettings settings = myContext.getPySettings();
 		if(parentType == PyElementTypes.LIST_LITERAL_EXPRESSION || parentType == PyElementTypes.LIST_COMP_EXPRESSION)
 		{
 			if(childType == PyTokenTypes.RBRACKET || childType == PyTokenTypes.LBRACKET)
@@ -69,7 +69,7 @@ public class PythonFormattingModelBuilder implements FormattingModelBuilder, Cus
 				.none().beforeInside(ANNOTATION, TYPE_DECLARATION_STATEMENT).none().beforeInside(ANNOTATION, ASSIGNMENT_STATEMENT).none().afterInside(COLON, ANNOTATION).spaces(1).afterInside(RARROW,
 						ANNOTATION).spaces(1)
 
-				.between(allButLambda(), PARAMETER_LIST).spaceIf(commonSettings.SPACE_BEFORE_METHOD_PARENTHESES)
+				.between(ALL_BUT_LAMBDA, PARAMETER_LIST).spaceIf(commonSettings.SPACE_BEFORE_METHOD_PARENTHESES)
 
 				.betweenInside(COMMA, RBRACE, DICT_LITERAL_EXPRESSION).spaceIf(pySettings.SPACE_WITHIN_BRACES | commonSettings.SPACE_AFTER_COMMA, pySettings.DICT_NEW_LINE_BEFORE_RIGHT_BRACE)
 				.afterInside(LBRACE, DICT_LITERAL_EXPRESSION).spaceIf(pySettings.SPACE_WITHIN_BRACES, pySettings.DICT_NEW_LINE_AFTER_LEFT_BRACE).beforeInside(RBRACE, DICT_LITERAL_EXPRESSION).spaceIf
@@ -103,11 +103,10 @@ public class PythonFormattingModelBuilder implements FormattingModelBuilder, Cus
 	private static final TokenSet SINGLE_SPACE_KEYWORDS = TokenSet.create(IN_KEYWORD, AND_KEYWORD, OR_KEYWORD, IS_KEYWORD, IF_KEYWORD, ELIF_KEYWORD, FOR_KEYWORD, RETURN_KEYWORD, RAISE_KEYWORD,
 			ASSERT_KEYWORD, CLASS_KEYWORD, DEF_KEYWORD, DEL_KEYWORD, EXEC_KEYWORD, GLOBAL_KEYWORD, IMPORT_KEYWORD, LAMBDA_KEYWORD, NOT_KEYWORD, WHILE_KEYWORD, YIELD_KEYWORD);
 
-	private static TokenSet allButLambda()
-	{
-		PythonLanguage pythonLanguage = PythonLanguage.getInstance();
-		return TokenSet.create(IElementType.enumerate(type -> type != LAMBDA_KEYWORD && type.getLanguage().isKindOf(pythonLanguage)));
-	}
+	/**
+	 * Enumerating all registered element types is expensive, so the set is computed once rather than for every formatting model.
+	 */
+	private static final TokenSet ALL_BUT_LAMBDA = TokenSet.create(IElementType.enumerate(type -> type != LAMBDA_KEYWORD && type.getLanguage().isKindOf(PythonLanguage.getInstance())));
 
 	private static void printAST(ASTNode node, int indent)
 	{
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import consulo.python.impl.localize.PyLocalize;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Call tree merged from the stacks sent by the sampling profiler helper.
+ * <p>
+ * The root has a child for every thread, below them a node stands for a function called from its parent. Nodes are only added,
+ * never removed, so the views may keep them between updates. Lines of the protocol are described in {@code sampling_profiler.py}.
+ */
+public class PyCallTree
+{
+	public static class Function
+	{
+		private final String myFile;
+		private final String myName;
+		private final int myFirstLine;
+
+		public Function(String file, String name, int firstLine)
+		{
+			myFile = file;
+			myName = name;
+			myFirstLine = firstLine;
+		}
+
+		public String getFile()
+		{
+			return myFile;
+		}
+
+		public String getName()
+		{
+			return myName;
+		}
+
+		public int getFirstLine()
+		{
+			return myFirstLine;
+		}
+	}
+
+	public static class Node
+	{
+		private final Node myParent;
+		private final Function myFunction;
+		private final String myName;
+		private final Map<Object, Node> myChildren = new LinkedHashMap<>();
+		private final Map<Integer, Long> myLineSamples = new HashMap<>();
+		private List<Node> mySortedChildren;
+		private long mySamples;
+		private long mySelfSamples;
+
+		private Node(@Nullable Node parent, @Nullable Function function, String name)
+		{
+			myParent = parent;
+			myFunction = function;
+			myName = name;
+		}
+
+		@Nullable
+		public Node getParent()
+		{
+			return myParent;
+		}
+
+		/**
+		 * @return null for the root and the thread nodes
+		 */
+		@Nullable
+		public Function getFunction()
+		{
+			return myFunction;
+		}
+
+		public String getName()
+		{
+			return myName;
+		}
+
+		/**
+		 * @return number of samples in which the function was on the stack at this place
+		 */
+		public long getSamples()
+		{
+			return mySamples;
+		}
+
+		/**
+		 * @return number of samples in which the function was on the top of the stack at this place
+		 */
+		public long getSelfSamples()
+		{
+			return mySelfSamples;
+		}
+
+		/**
+		 * @return line the function was at in most of the samples, 0 if unknown
+		 */
+		public int getHottestLine()
+		{
+			int line = 0;
+			long samples = -1;
+			for(Map.Entry<Integer, Long> entry : myLineSamples.entrySet())
+			{
+				if(entry.getValue() > samples)
+				{
+					line = entry.getKey();
+					samples = entry.getValue();
+				}
+			}
+			return line;
+		}
+
+		/**
+		 * @return children with the most samples first
+		 */
+		public List<Node> getChildren()
+		{
+			if(mySortedChildren == null)
+			{
+				List<Node> children = new ArrayList<>(myChildren.values());
+				children.sort((a, b) -> Long.compare(b.mySamples, a.mySamples));
+				mySortedChildren = Collections.unmodifiableList(children);
+			}
+			return mySortedChildren;
+		}
+
+		private Node getOrCreateChild(Object key, @Nullable Function function, String name)
+		{
+			Node child = myChildren.get(key);
+			if(child == null)
+			{
+				child = new Node(this, function, name);
+				myChildren.put(key, child);
+			}
+			mySortedChildren = null;
+			return child;
+		}
+
+		@Override
+		public String toString()
+		{
+			return myName;
+		}
+	}
+
+	private final Map<Integer, Function> myFunctions = new HashMap<>();
+	private final Node myRoot = new Node(null, null, PyLocalize.profilerAllThreads().get());
+	private long mySampleCount;
+	private double mySamplingTime;
+
+	public Node getRoot()
+	{
+		return myRoot;
+	}
+
+	/**
+	 * @return number of times the profiler looked at the stacks, each of them gives a sample for every thread
+	 */
+	public long getSampleCount()
+	{
+		return mySampleCount;
+	}
+
+	/**
+	 * @return seconds the profiler spent looking at the stacks
+	 */
+	public double getSamplingTime()
+	{
+		return mySamplingTime;
+	}
+
+	/**
+	 * @return false if the line isn't understood and was skipped
+	 */
+	public boolean addLine(String line)
+	{
+		String[] parts = line.split("\t", -1);
+		try
+		{
+			switch(parts[0])
+			{
+				case "F":
+					if(parts.length != 5)
+					{
+						return false;
+					}
+					myFunctions.put(Integer.parseInt(parts[1]), new Function(parts[2], parts[3], Integer.parseInt(parts[4])));
+					return true;
+				case "S":
+					return parts.length == 4 && addStack(parts[1], Long.parseLong(parts[2]), parts[3]);
+				case "T":
+					if(parts.length != 3)
+					{
+						return false;
+					}
+					mySampleCount = Long.parseLong(parts[1]);
+					mySamplingTime = Double.parseDouble(parts[2]);
+					return true;
+				default:
+					return false;
+			}
+		}
+		catch(NumberFormatException e)
+		{
+			return false;
+		}
+	}
+
+	private boolean addStack(String thread, long count, String frames)
+	{
+		String[] ids = frames.isEmpty() ? new String[0] : frames.split(",");
+		Function[] functions = new Function[ids.length];
+		int[] lines = new int[ids.length];
+		for(int i = 0; i < ids.length; i++)
+		{
+			int colon = ids[i].indexOf(':');
+			if(colon < 0)
+			{
+				return false;
+			}
+			functions[i] = myFunctions.get(Integer.parseInt(ids[i].substring(0, colon)));
+			lines[i] = Integer.parseInt(ids[i].substring(colon + 1));
+			if(functions[i] == null)
+			{
+				return false;
+			}
+		}
+
+		Node node = myRoot.getOrCreateChild(thread, null, thread);
+		myRoot.mySamples += count;
+		node.mySamples += count;
+		for(int i = 0; i < functions.length; i++)
+		{
+			node = node.getOrCreateChild(functions[i], functions[i], functions[i].getName());
+			node.mySamples += count;
+			node.myLineSamples.merge(lines[i], count, Long::sum);
+		}
+		node.mySelfSamples += count;
+		return true;
+	}
+}
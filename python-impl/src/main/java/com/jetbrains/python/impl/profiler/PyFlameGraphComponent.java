@@ -0,0 +1,239 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.profiler;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.swing.JComponent;
+
+import consulo.ui.ex.JBColor;
+import consulo.ui.ex.awt.JBUI;
+import consulo.ui.ex.awt.UIUtil;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Flame graph of a {@link PyCallTree} drawn from the root down: the width of a frame is proportional to its samples.
+ * <p>
+ * Clicking a frame zooms into it, clicking one of the frames above the zoomed one zooms out, double clicking navigates.
+ */
+public class PyFlameGraphComponent extends JComponent
+{
+	private static final int MIN_FRAME_WIDTH = 2;
+
+	private final PyCallTree myCallTree;
+	private final Consumer<PyCallTree.Node> myNavigator;
+	private PyCallTree.Node myZoomed;
+
+	public PyFlameGraphComponent(PyCallTree callTree, Consumer<PyCallTree.Node> navigator)
+	{
+		myCallTree = callTree;
+		myNavigator = navigator;
+		myZoomed = callTree.getRoot();
+		setToolTipText("");
+		addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				PyCallTree.Node node = findNode(e.getX(), e.getY());
+				if(node == null)
+				{
+					return;
+				}
+				if(e.getClickCount() == 2)
+				{
+					myNavigator.accept(node);
+				}
+				else if(e.getClickCount() == 1)
+				{
+					zoom(node);
+				}
+			}
+		});
+	}
+
+	public void zoom(PyCallTree.Node node)
+	{
+		myZoomed = node;
+		revalidate();
+		repaint();
+	}
+
+	private int getRowHeight()
+	{
+		return getFontMetrics(getFont()).getHeight() + JBUI.scale(4);
+	}
+
+	@Override
+	public Dimension getPreferredSize()
+	{
+		return new Dimension(super.getPreferredSize().width, (getAncestors().size() + getDepth(myZoomed)) * getRowHeight());
+	}
+
+	@Override
+	public String getToolTipText(MouseEvent event)
+	{
+		PyCallTree.Node node = findNode(event.getX(), event.getY());
+		if(node == null)
+		{
+			return null;
+		}
+		PyCallTree.Function function = node.getFunction();
+		String location = function == null ? "" : "<br>" + function.getFile() + ":" + node.getHottestLine();
+		return "<html>" + node.getName() + location + "<br>" + PyProfilerView.formatSamples(node, myCallTree.getRoot()) + "</html>";
+	}
+
+	@Override
+	protected void paintComponent(Graphics g)
+	{
+		super.paintComponent(g);
+		g.setFont(getFont());
+		FontMetrics metrics = g.getFontMetrics();
+		int rowHeight = getRowHeight();
+		int width = getWidth();
+
+		int y = 0;
+		for(PyCallTree.Node ancestor : getAncestors())
+		{
+			paintFrame(g, metrics, ancestor, 0, width, y, rowHeight);
+			y += rowHeight;
+		}
+		if(myZoomed.getSamples() > 0)
+		{
+			paintNode(g, metrics, myZoomed, 0, width, y, rowHeight);
+		}
+	}
+
+	private void paintNode(Graphics g, FontMetrics metrics, PyCallTree.Node node, double x, double width, int y, int rowHeight)
+	{
+		paintFrame(g, metrics, node, (int) Math.round(x), (int) Math.round(x + width) - (int) Math.round(x), y, rowHeight);
+		double childX = x;
+		for(PyCallTree.Node child : node.getChildren())
+		{
+			double childWidth = width * child.getSamples() / node.getSamples();
+			// children are sorted, so the rest are too narrow as well
+			if(childWidth < MIN_FRAME_WIDTH)
+			{
+				break;
+			}
+			paintNode(g, metrics, child, childX, childWidth, y + rowHeight, rowHeight);
+			childX += childWidth;
+		}
+	}
+
+	private static void paintFrame(Graphics g, FontMetrics metrics, PyCallTree.Node node, int x, int width, int y, int rowHeight)
+	{
+		g.setColor(getColor(node));
+		g.fillRect(x, y, Math.max(1, width - 1), rowHeight - 1);
+		String text = node.getName();
+		int padding = JBUI.scale(2);
+		if(width - 2 * padding < metrics.stringWidth("…"))
+		{
+			return;
+		}
+		while(text.length() > 1 && metrics.stringWidth(text) > width - 2 * padding)
+		{
+			text = text.substring(0, text.length() - 2) + "…";
+		}
+		g.setColor(JBColor.BLACK);
+		g.drawString(text, x + padding, y + (rowHeight - metrics.getHeight()) / 2 + metrics.getAscent());
+	}
+
+	private static Color getColor(PyCallTree.Node node)
+	{
+		PyCallTree.Function function = node.getFunction();
+		if(function == null)
+		{
+			return UIUtil.getPanelBackground().darker();
+		}
+		// frames of one file share the hue, so modules are easy to tell apart
+		int hash = function.getFile().hashCode();
+		int red = 205 + Math.floorMod(hash, 50);
+		int green = 90 + Math.floorMod(hash >> 8, 130);
+		int blue = 40 + Math.floorMod(hash >> 16, 50);
+		return new Color(red, green, blue);
+	}
+
+	@Nullable
+	private PyCallTree.Node findNode(int x, int y)
+	{
+		int row = y / getRowHeight();
+		List<PyCallTree.Node> ancestors = getAncestors();
+		if(row < ancestors.size())
+		{
+			return ancestors.get(row);
+		}
+		PyCallTree.Node node = myZoomed;
+		double left = 0;
+		double width = getWidth();
+		for(int i = ancestors.size(); i < row; i++)
+		{
+			PyCallTree.Node found = null;
+			for(PyCallTree.Node child : node.getChildren())
+			{
+				double childWidth = width * child.getSamples() / node.getSamples();
+				if(childWidth < MIN_FRAME_WIDTH)
+				{
+					break;
+				}
+				if(x >= left && x < left + childWidth)
+				{
+					found = child;
+					width = childWidth;
+					break;
+				}
+				left += childWidth;
+			}
+			if(found == null)
+			{
+				return null;
+			}
+			node = found;
+		}
+		return node;
+	}
+
+	/**
+	 * @return nodes above the zoomed one, the root first
+	 */
+	private List<PyCallTree.Node> getAncestors()
+	{
+		List<PyCallTree.Node> ancestors = new ArrayList<>();
+		for(PyCallTree.Node node = myZoomed.getParent(); node != null; node = node.getParent())
+		{
+			ancestors.add(0, node);
+		}
+		return ancestors;
+	}
+
+	private static int getDepth(PyCallTree.Node node)
+	{
+		int depth = 0;
+		for(PyCallTree.Node child : node.getChildren())
+		{
+			depth = Math.max(depth, getDepth(child));
+		}
+		return depth + 1;
+	}
+}
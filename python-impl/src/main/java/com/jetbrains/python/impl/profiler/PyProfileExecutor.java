@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.profiler;
+
+import consulo.annotation.component.ExtensionImpl;
+import consulo.execution.executor.Executor;
+import consulo.localize.LocalizeValue;
+import consulo.project.ui.wm.ToolWindowId;
+import consulo.python.impl.icon.PythonImplIconGroup;
+import consulo.python.impl.localize.PyLocalize;
+import consulo.ui.image.Image;
+
+/**
+ * Runs Python configurations under the sampling profiler, the results are shown in the Run tool window
+ */
+@ExtensionImpl
+public class PyProfileExecutor extends Executor
+{
+	public static final String EXECUTOR_ID = "PythonSamplingProfiler";
+
+	@Override
+	public String getToolWindowId()
+	{
+		return ToolWindowId.RUN;
+	}
+
+	@Override
+	public Image getToolWindowIcon()
+	{
+		return PythonImplIconGroup.pythonProfile();
+	}
+
+	@Override
+	public Image getIcon()
+	{
+		return PythonImplIconGroup.pythonProfile();
+	}
+
+	@Override
+	public LocalizeValue getDescription()
+	{
+		return PyLocalize.profilerExecutorDescription();
+	}
+
+	@Override
+	public LocalizeValue getActionName()
+	{
+		return PyLocalize.profilerExecutorActionName();
+	}
+
+	@Override
+	public LocalizeValue getStartActionText()
+	{
+		return PyLocalize.profilerExecutorStartActionText();
+	}
+
+	@Override
+	public String getId()
+	{
+		return EXECUTOR_ID;
+	}
+
+	@Override
+	public String getContextActionId()
+	{
+		return "PythonProfileClass";
+	}
+
+	@Override
+	public String getHelpId()
+	{
+		return null;
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.profiler;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import com.jetbrains.python.impl.PythonHelper;
+import com.jetbrains.python.impl.debugger.PyDebugRunner;
+import com.jetbrains.python.impl.run.AbstractPythonRunConfiguration;
+import com.jetbrains.python.impl.run.CommandLinePatcher;
+import com.jetbrains.python.impl.run.PythonCommandLineState;
+import com.jetbrains.python.impl.sdk.PySdkUtil;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.application.ApplicationManager;
+import consulo.content.bundle.Sdk;
+import consulo.document.FileDocumentManager;
+import consulo.execution.DefaultExecutionResult;
+import consulo.execution.ExecutionResult;
+import consulo.execution.configuration.RunProfile;
+import consulo.execution.configuration.RunProfileState;
+import consulo.execution.runner.DefaultProgramRunner;
+import consulo.execution.runner.ExecutionEnvironment;
+import consulo.execution.runner.RunContentBuilder;
+import consulo.execution.ui.RunContentDescriptor;
+import consulo.logging.Logger;
+import consulo.process.ExecutionException;
+import consulo.process.ProcessHandler;
+import consulo.process.cmd.ParamsGroup;
+import consulo.process.event.ProcessAdapter;
+import consulo.process.event.ProcessEvent;
+import consulo.python.impl.localize.PyLocalize;
+
+/**
+ * Runs the script under {@code sampling_profiler.py}: a helper thread of the process looks at the stacks of the other threads
+ * every {@link #SAMPLING_INTERVAL_MS} ms, nothing is traced, so the script runs at almost its usual speed.
+ */
+@ExtensionImpl
+public class PyProfileRunner extends DefaultProgramRunner
+{
+	private static final Logger LOG = Logger.getInstance(PyProfileRunner.class);
+	private static final int SAMPLING_INTERVAL_MS = 10;
+
+	@Override
+	public String getRunnerId()
+	{
+		return "PyProfileRunner";
+	}
+
+	@Override
+	public boolean canRun(String executorId, RunProfile profile)
+	{
+		return executorId.equals(PyProfileExecutor.EXECUTOR_ID) && profile instanceof AbstractPythonRunConfiguration;
+	}
+
+	@Override
+	protected RunContentDescriptor doExecute(RunProfileState state, ExecutionEnvironment env) throws ExecutionException
+	{
+		if(!(state instanceof PythonCommandLineState))
+		{
+			throw new ExecutionException(PyLocalize.profilerConfigurationNotSupported().get());
+		}
+		// the helper connects back to a local socket and the view opens the sampled files locally
+		Sdk sdk = ((PythonCommandLineState) state).getSdk();
+		if(sdk != null && PySdkUtil.isRemote(sdk))
+		{
+			throw new ExecutionException(PyLocalize.profilerRemoteSdkNotSupported().get());
+		}
+		FileDocumentManager.getInstance().saveAllDocuments();
+
+		ServerSocket serverSocket = PythonCommandLineState.createServerSocket();
+		ExecutionResult result;
+		try
+		{
+			result = ((PythonCommandLineState) state).execute(env.getExecutor(),
+					createProfilerPatcher(serverSocket.getLocalPort()),
+					PyDebugRunner.createRunConfigPatcher(state, env.getRunProfile()));
+		}
+		catch(ExecutionException | RuntimeException e)
+		{
+			closeQuietly(serverSocket);
+			throw e;
+		}
+
+		PyProfilerView view = new PyProfilerView(env.getProject(), result.getExecutionConsole(), SAMPLING_INTERVAL_MS);
+		PyProfileSamplesReader reader = new PyProfileSamplesReader(serverSocket, view::addLines);
+		ProcessHandler processHandler = result.getProcessHandler();
+		processHandler.addProcessListener(new ProcessAdapter()
+		{
+			@Override
+			public void processTerminated(ProcessEvent event)
+			{
+				reader.stopAccepting();
+			}
+		});
+		ApplicationManager.getApplication().executeOnPooledThread(reader);
+
+		ExecutionResult profiledResult = new DefaultExecutionResult(view, processHandler, result.getActions());
+		return new RunContentBuilder(profiledResult, env).showRunContent(env.getContentToReuse());
+	}
+
+	private static CommandLinePatcher createProfilerPatcher(int port)
+	{
+		return commandLine ->
+		{
+			ParamsGroup profilerParams = commandLine.getParametersList().getParamsGroup(PythonCommandLineState.GROUP_PROFILER);
+			assert profilerParams != null;
+
+			PythonHelper.SAMPLING_PROFILER.addToGroup(profilerParams, commandLine);
+			profilerParams.addParameter("127.0.0.1");
+			profilerParams.addParameter(String.valueOf(port));
+			profilerParams.addParameter(String.valueOf(SAMPLING_INTERVAL_MS));
+		};
+	}
+
+	private static void closeQuietly(ServerSocket serverSocket)
+	{
+		try
+		{
+			serverSocket.close();
+		}
+		catch(IOException e)
+		{
+			LOG.debug(e);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.profiler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import consulo.logging.Logger;
+import consulo.ui.ex.awt.UIUtil;
+
+/**
+ * Accepts the connection of the sampling profiler helper and passes batches of its lines to the view on the dispatch thread.
+ * <p>
+ * A batch ends with the totals line, so the view is updated about once a second however many stacks the helper sends.
+ */
+class PyProfileSamplesReader implements Runnable
+{
+	private static final Logger LOG = Logger.getInstance(PyProfileSamplesReader.class);
+
+	private final ServerSocket myServerSocket;
+	private final Consumer<List<String>> myConsumer;
+
+	PyProfileSamplesReader(ServerSocket serverSocket, Consumer<List<String>> consumer)
+	{
+		myServerSocket = serverSocket;
+		myConsumer = consumer;
+	}
+
+	@Override
+	public void run()
+	{
+		try (Socket socket = accept())
+		{
+			if(socket == null)
+			{
+				return;
+			}
+			BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			List<String> batch = new ArrayList<>();
+			String line;
+			while((line = reader.readLine()) != null)
+			{
+				batch.add(line);
+				if(line.startsWith("T\t"))
+				{
+					List<String> lines = batch;
+					UIUtil.invokeLaterIfNeeded(() -> myConsumer.accept(lines));
+					batch = new ArrayList<>();
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			LOG.debug("Sampling profiler connection is closed", e);
+		}
+	}
+
+	/**
+	 * Stops waiting for the helper, e.g. when the process exits before connecting; samples already being read are not lost.
+	 */
+	void stopAccepting()
+	{
+		try
+		{
+			myServerSocket.close();
+		}
+		catch(IOException e)
+		{
+			LOG.debug(e);
+		}
+	}
+
+	private Socket accept()
+	{
+		try
+		{
+			return myServerSocket.accept();
+		}
+		catch(IOException e)
+		{
+			// closed because the process has exited
+			return null;
+		}
+		finally
+		{
+			stopAccepting();
+		}
+	}
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.profiler;
+
+import java.awt.BorderLayout;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.JTree;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+import com.jetbrains.python.debugger.PyPositionConverter;
+import com.jetbrains.python.impl.debugger.PyLocalPositionConverter;
+import consulo.disposer.Disposer;
+import consulo.execution.debug.XSourcePosition;
+import consulo.execution.ui.ExecutionConsole;
+import consulo.project.Project;
+import consulo.python.impl.localize.PyLocalize;
+import consulo.ui.ex.SimpleTextAttributes;
+import consulo.ui.ex.awt.JBLabel;
+import consulo.ui.ex.awt.JBScrollPane;
+import consulo.ui.ex.awt.JBSplitter;
+import consulo.ui.ex.awt.JBUI;
+import consulo.ui.ex.awt.tree.ColoredTreeCellRenderer;
+import consulo.ui.ex.awt.tree.Tree;
+
+/**
+ * Output of a profiled process next to the call tree and the flame graph of its samples, both updated while the process runs
+ */
+public class PyProfilerView implements ExecutionConsole
+{
+	private final Project myProject;
+	private final ExecutionConsole myConsole;
+	private final int myIntervalMs;
+	private final long myStartTime = System.nanoTime();
+	private final PyPositionConverter myPositionConverter = new PyLocalPositionConverter();
+
+	private final PyCallTree myCallTree = new PyCallTree();
+	private final CallTreeModel myTreeModel = new CallTreeModel();
+	private final Tree myTree = new Tree(myTreeModel);
+	private final PyFlameGraphComponent myFlameGraph = new PyFlameGraphComponent(myCallTree, this::navigate);
+	private final JBLabel myStatus = new JBLabel(PyLocalize.profilerWaitingForSamples().get());
+	private final JBSplitter myComponent = new JBSplitter(true, 0.3f);
+
+	public PyProfilerView(Project project, ExecutionConsole console, int intervalMs)
+	{
+		myProject = project;
+		myConsole = console;
+		myIntervalMs = intervalMs;
+		Disposer.register(this, console);
+
+		myTree.setRootVisible(false);
+		myTree.setShowsRootHandles(true);
+		myTree.setCellRenderer(new CallTreeRenderer());
+		myTree.addTreeSelectionListener(e ->
+		{
+			TreePath path = e.getNewLeadSelectionPath();
+			if(path != null)
+			{
+				myFlameGraph.zoom((PyCallTree.Node) path.getLastPathComponent());
+			}
+		});
+		myTree.addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				TreePath path = myTree.getPathForLocation(e.getX(), e.getY());
+				if(e.getClickCount() == 2 && path != null)
+				{
+					navigate((PyCallTree.Node) path.getLastPathComponent());
+				}
+			}
+		});
+		myTree.addKeyListener(new KeyAdapter()
+		{
+			@Override
+			public void keyPressed(KeyEvent e)
+			{
+				TreePath path = myTree.getSelectionPath();
+				if(e.getKeyCode() == KeyEvent.VK_ENTER && path != null)
+				{
+					navigate((PyCallTree.Node) path.getLastPathComponent());
+				}
+			}
+		});
+
+		JBSplitter profile = new JBSplitter(false, 0.4f);
+		profile.setFirstComponent(new JBScrollPane(myTree));
+		profile.setSecondComponent(new JBScrollPane(myFlameGraph));
+		JPanel profilePanel = new JPanel(new BorderLayout());
+		myStatus.setBorder(JBUI.Borders.empty(2, 4));
+		profilePanel.add(myStatus, BorderLayout.NORTH);
+		profilePanel.add(profile, BorderLayout.CENTER);
+
+		myComponent.setFirstComponent(console.getComponent());
+		myComponent.setSecondComponent(profilePanel);
+	}
+
+	/**
+	 * Adds a batch of lines sent by the profiler helper, must be called on the dispatch thread
+	 */
+	public void addLines(List<String> lines)
+	{
+		for(String line : lines)
+		{
+			myCallTree.addLine(line);
+		}
+
+		// nodes are kept between updates, so the paths expanded and selected before are still valid
+		List<TreePath> expanded = new ArrayList<>();
+		Enumeration<TreePath> paths = myTree.getExpandedDescendants(new TreePath(myCallTree.getRoot()));
+		while(paths != null && paths.hasMoreElements())
+		{
+			expanded.add(paths.nextElement());
+		}
+		TreePath[] selected = myTree.getSelectionPaths();
+		myTreeModel.fireStructureChanged();
+		myTree.expandPath(new TreePath(myCallTree.getRoot()));
+		for(TreePath path : expanded)
+		{
+			myTree.expandPath(path);
+		}
+		myTree.setSelectionPaths(selected);
+
+		myFlameGraph.revalidate();
+		myFlameGraph.repaint();
+		myStatus.setText(getStatusText());
+	}
+
+	private String getStatusText()
+	{
+		double elapsed = (System.nanoTime() - myStartTime) / 1e9;
+		double overhead = elapsed > 0 ? 100 * myCallTree.getSamplingTime() / elapsed : 0;
+		return PyLocalize.profilerStatus(
+				String.valueOf(myCallTree.getSampleCount()),
+				String.valueOf(myIntervalMs),
+				String.format("%.2f", overhead)).get();
+	}
+
+	static String formatSamples(PyCallTree.Node node, PyCallTree.Node root)
+	{
+		double percent = root.getSamples() > 0 ? 100.0 * node.getSamples() / root.getSamples() : 0;
+		return PyLocalize.profilerNodeSamples(
+				String.format("%.1f", percent),
+				String.valueOf(node.getSamples()),
+				String.valueOf(node.getSelfSamples())).get();
+	}
+
+	private void navigate(PyCallTree.Node node)
+	{
+		PyCallTree.Function function = node.getFunction();
+		if(function == null)
+		{
+			return;
+		}
+		int line = node.getHottestLine() > 0 ? node.getHottestLine() : function.getFirstLine();
+		XSourcePosition position = myPositionConverter.convertFromPython(myPositionConverter.create(function.getFile(), line));
+		if(position != null)
+		{
+			position.createNavigatable(myProject).navigate(true);
+		}
+	}
+
+	@Override
+	public JComponent getComponent()
+	{
+		return myComponent;
+	}
+
+	@Override
+	public JComponent getPreferredFocusableComponent()
+	{
+		return myConsole.getPreferredFocusableComponent();
+	}
+
+	@Override
+	public void dispose()
+	{
+	}
+
+	private class CallTreeModel implements TreeModel
+	{
+		private final List<TreeModelListener> myListeners = new ArrayList<>();
+
+		private void fireStructureChanged()
+		{
+			TreeModelEvent event = new TreeModelEvent(this, new TreePath(myCallTree.getRoot()));
+			for(TreeModelListener listener : new ArrayList<>(myListeners))
+			{
+				listener.treeStructureChanged(event);
+			}
+		}
+
+		@Override
+		public Object getRoot()
+		{
+			return myCallTree.getRoot();
+		}
+
+		@Override
+		public Object getChild(Object parent, int index)
+		{
+			return ((PyCallTree.Node) parent).getChildren().get(index);
+		}
+
+		@Override
+		public int getChildCount(Object parent)
+		{
+			return ((PyCallTree.Node) parent).getChildren().size();
+		}
+
+		@Override
+		public boolean isLeaf(Object node)
+		{
+			return ((PyCallTree.Node) node).getChildren().isEmpty();
+		}
+
+		@Override
+		public void valueForPathChanged(TreePath path, Object newValue)
+		{
+		}
+
+		@Override
+		public int getIndexOfChild(Object parent, Object child)
+		{
+			return ((PyCallTree.Node) parent).getChildren().indexOf(child);
+		}
+
+		@Override
+		public void addTreeModelListener(TreeModelListener l)
+		{
+			myListeners.add(l);
+		}
+
+		@Override
+		public void removeTreeModelListener(TreeModelListener l)
+		{
+			myListeners.remove(l);
+		}
+	}
+
+	private class CallTreeRenderer extends ColoredTreeCellRenderer
+	{
+		@Override
+		public void customizeCellRenderer(JTree tree, Object value, boolean selected, boolean expanded, boolean leaf, int row, boolean hasFocus)
+		{
+			PyCallTree.Node node = (PyCallTree.Node) value;
+			append(node.getName(), node.getFunction() == null ? SimpleTextAttributes.REGULAR_BOLD_ATTRIBUTES : SimpleTextAttributes.REGULAR_ATTRIBUTES);
+			append("  " + formatSamples(node, myCallTree.getRoot()), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+			PyCallTree.Function function = node.getFunction();
+			if(function != null)
+			{
+				append("  " + function.getFile() + ":" + node.getHottestLine(), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+			}
+		}
+	}
+}
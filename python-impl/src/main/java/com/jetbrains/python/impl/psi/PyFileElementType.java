@@ -24,6 +24,7 @@ import com.jetbrains.python.impl.parsing.PyParser;
 import com.jetbrains.python.impl.parsing.StatementParsing;
 import com.jetbrains.python.impl.psi.impl.stubs.PyFileStubBuilder;
 import com.jetbrains.python.impl.psi.impl.stubs.PyFileStubImpl;
+import com.jetbrains.python.impl.psi.stubs.PyDocStringIndex;
 import com.jetbrains.python.psi.LanguageLevel;
 import com.jetbrains.python.psi.PyFile;
 import com.jetbrains.python.psi.stubs.PyFileStub;
@@ -54,6 +55,11 @@ import java.util.List;
 public class PyFileElementType extends IStubFileElementType<PyFileStub> {
   public static PyFileElementType INSTANCE = new PyFileElementType(PythonLanguage.getInstance());
 
+  /**
+   * Docstrings longer than this are kept in stubs only partially, the full text is read from {@link PyDocStringIndex} on demand.
+   */
+  public static final int MAX_STUB_DOCSTRING_LENGTH = 256;
+
   protected PyFileElementType(Language language) {
     super(language);
   }
@@ -66,7 +72,7 @@ public class PyFileElementType extends IStubFileElementType<PyFileStub> {
   @Override
   public int getStubVersion() {
     // Don't forget to update versions of indexes that use the updated stub-based elements
-    return 58;
+    return 62;
   }
 
   @Nullable
@@ -204,6 +210,19 @@ public class PyFileElementType extends IStubFileElementType<PyFileStub> {
     }
   }
 
+  @Nullable
+  public static String truncateStubDocString(@Nullable String docString) {
+    return isStubDocStringTruncated(docString) ? docString.substring(0, MAX_STUB_DOCSTRING_LENGTH) : docString;
+  }
+
+  public static boolean isStubDocStringTruncated(@Nullable String docString) {
+    return docString != null && docString.length() > MAX_STUB_DOCSTRING_LENGTH;
+  }
+
+  public static int getFullDocStringHash(@Nullable String docString) {
+    return isStubDocStringTruncated(docString) ? docString.hashCode() : 0;
+  }
+
   @Nullable
   public static List<String> readNullableList(StubInputStream dataStream) throws IOException {
     boolean hasNames = dataStream.readBoolean();
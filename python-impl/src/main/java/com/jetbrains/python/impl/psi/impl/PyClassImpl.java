@@ -28,6 +28,7 @@ import com.jetbrains.python.impl.psi.impl.stubs.PyClassElementType;
 import com.jetbrains.python.impl.psi.resolve.PyResolveUtil;
 import com.jetbrains.python.impl.psi.resolve.QualifiedNameFinder;
 import com.jetbrains.python.impl.psi.stubs.PropertyStubStorage;
+import com.jetbrains.python.impl.psi.stubs.PyDocStringIndex;
 import com.jetbrains.python.impl.psi.types.PyClassTypeImpl;
 import com.jetbrains.python.impl.psi.types.PyImportedModuleType;
 import com.jetbrains.python.impl.psi.types.PyModuleType;
@@ -95,6 +96,42 @@ public class PyClassImpl extends PyBaseElementImpl<PyClassStub> implements PyCla
    */
   private final Object myAncestorsCacheLock = new Object();
 
+  /**
+   * Set-based views over ancestors used for constant time subclass checks.
+   * Lazy for the same reason as {@link #myAncestorsCache}, guarded by {@link #myAncestorsCacheLock}.
+   */
+  private TypeEvalContextBasedCache<AncestorSets> myAncestorSetsCache;
+
+  /**
+   * Immutable lookup sets built once per context from {@link #getAncestorTypes(TypeEvalContext)}.
+   */
+  private static final class AncestorSets {
+    private final Set<PyClassLikeType> myTypes;
+    private final Set<PyClass> myClasses;
+    private final Set<String> myQualifiedNames;
+
+    private AncestorSets(List<PyClassLikeType> ancestorTypes) {
+      Set<PyClassLikeType> types = new HashSet<>(ancestorTypes);
+      Set<PyClass> classes = new HashSet<>();
+      Set<String> qualifiedNames = new HashSet<>();
+      for (PyClassLikeType type : ancestorTypes) {
+        if (type == null) {
+          continue;
+        }
+        if (type instanceof PyClassType) {
+          classes.add(((PyClassType)type).getPyClass());
+        }
+        String qName = type.getClassQName();
+        if (qName != null) {
+          qualifiedNames.add(qName);
+        }
+      }
+      myTypes = Collections.unmodifiableSet(types);
+      myClasses = Collections.unmodifiableSet(classes);
+      myQualifiedNames = Collections.unmodifiableSet(qualifiedNames);
+    }
+  }
+
   /**
    * Engine to create list of ancestors based on context
    */
@@ -173,6 +210,30 @@ public class PyClassImpl extends PyBaseElementImpl<PyClassStub> implements PyCla
     }
   }
 
+  /**
+   * @return ancestor sets cache. It is created lazily if needed.
+   */
+  private TypeEvalContextBasedCache<AncestorSets> getAncestorSetsCache() {
+    if (myAncestorSetsCache != null) {
+      return myAncestorSetsCache;
+    }
+    synchronized (myAncestorsCacheLock) {
+      if (myAncestorSetsCache == null) {
+        myAncestorSetsCache = new TypeEvalContextBasedCache<>(CachedValuesManager.getManager(getProject()),
+                                                              context -> new AncestorSets(getAncestorTypes(context)));
+      }
+      return myAncestorSetsCache;
+    }
+  }
+
+  /**
+   * Same elements as {@link #getAncestorTypes(TypeEvalContext)} (including {@code null} for unresolved ancestors),
+   * but as an immutable set cached per context, so membership checks do not copy the ancestors list.
+   */
+  public Set<PyClassLikeType> getAncestorTypeSet(TypeEvalContext context) {
+    return getAncestorSetsCache().getValue(context).myTypes;
+  }
+
   @Override
   @RequiredWriteAction
   public PsiElement setName(String name) throws IncorrectOperationException {
@@ -281,12 +342,8 @@ public class PyClassImpl extends PyBaseElementImpl<PyClassStub> implements PyCla
     if (this == parent) {
       return true;
     }
-    for (PyClass superclass : getAncestorClasses(context)) {
-      if (parent == superclass) {
-        return true;
-      }
-    }
-    return false;
+    TypeEvalContext contextToUse = (context != null ? context : TypeEvalContext.codeInsightFallback(getProject()));
+    return getAncestorSetsCache().getValue(contextToUse).myClasses.contains(parent);
   }
 
   @Override
@@ -297,12 +354,7 @@ public class PyClassImpl extends PyBaseElementImpl<PyClassStub> implements PyCla
     if (superClassQName.equals(getQualifiedName())) {
       return true;
     }
-    for (PyClassLikeType type : getAncestorTypes(context)) {
-      if (type != null && superClassQName.equals(type.getClassQName())) {
-        return true;
-      }
-    }
-    return false;
+    return getAncestorSetsCache().getValue(context).myQualifiedNames.contains(superClassQName);
   }
 
   @Override
@@ -1272,7 +1324,13 @@ public class PyClassImpl extends PyBaseElementImpl<PyClassStub> implements PyCla
   public String getDocStringValue() {
     PyClassStub stub = getStub();
     if (stub != null) {
-      return stub.getDocString();
+      if (!stub.isDocStringTruncated()) {
+        return stub.getDocString();
+      }
+      String docString = PyDocStringIndex.find(this, stub.getDocString(), stub.getFullDocStringHash());
+      if (docString != null) {
+        return docString;
+      }
     }
     return DocStringUtil.getDocStringValue(this);
   }
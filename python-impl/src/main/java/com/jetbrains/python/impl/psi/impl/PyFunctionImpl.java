@@ -25,7 +25,9 @@ import com.jetbrains.python.impl.documentation.docstrings.DocStringUtil;
 import com.jetbrains.python.impl.psi.PsiQuery;
 import com.jetbrains.python.impl.psi.PyKnownDecoratorUtil;
 import com.jetbrains.python.impl.psi.PyUtil;
+import com.jetbrains.python.impl.psi.impl.stubs.PyReturnTypeSummaryBuilder;
 import com.jetbrains.python.impl.psi.resolve.QualifiedNameFinder;
+import com.jetbrains.python.impl.psi.stubs.PyDocStringIndex;
 import com.jetbrains.python.impl.psi.types.*;
 import com.jetbrains.python.impl.sdk.PythonSdkType;
 import com.jetbrains.python.psi.*;
@@ -33,6 +35,7 @@ import com.jetbrains.python.psi.impl.PyPsiUtils;
 import com.jetbrains.python.psi.impl.PyTypeProvider;
 import com.jetbrains.python.psi.stubs.PyClassStub;
 import com.jetbrains.python.psi.stubs.PyFunctionStub;
+import com.jetbrains.python.psi.stubs.PyReturnTypeSummary;
 import com.jetbrains.python.psi.stubs.PyTargetExpressionStub;
 import com.jetbrains.python.psi.types.PyClassLikeType;
 import com.jetbrains.python.psi.types.PyClassType;
@@ -223,7 +226,67 @@ public class PyFunctionImpl extends PyBaseElementImpl<PyFunctionStub> implements
             return getReturnStatementType(context);
         }
 
-        return null;
+        return getReturnTypeFromSummary();
+    }
+
+    /**
+     * Approximates the return type with the syntactic summary of return statements kept in the stub,
+     * used when data flow analysis is not allowed for this function, e.g. for functions from other files.
+     */
+    @Nullable
+    @RequiredReadAction
+    private PyType getReturnTypeFromSummary() {
+        PyFunctionStub stub = getStub();
+        PyReturnTypeSummary summary = stub != null ? stub.getReturnTypeSummary() : PyReturnTypeSummaryBuilder.build(this);
+        if (summary == null) {
+            return null;
+        }
+        if (!summary.hasReturnStatements() && isGeneratedStub()) {
+            return PyNames.INIT.equals(getName()) ? PyNoneType.INSTANCE : null;
+        }
+        Set<PyType> types = new LinkedHashSet<>();
+        for (PyReturnTypeSummary.Kind kind : summary.getReturns()) {
+            types.add(getReturnTypeFromSummary(kind));
+        }
+        if (summary.isEndReachable()) {
+            types.add(PyNoneType.INSTANCE);
+        }
+        return PyUnionType.union(types);
+    }
+
+    @Nullable
+    @RequiredReadAction
+    private PyType getReturnTypeFromSummary(PyReturnTypeSummary.Kind kind) {
+        PyBuiltinCache cache = PyBuiltinCache.getInstance(this);
+        switch (kind) {
+            case NONE:
+                return PyNoneType.INSTANCE;
+            case SELF:
+                PyClass containingClass = getContainingClass();
+                return containingClass != null ? new PyClassTypeImpl(containingClass, false) : null;
+            case BOOL:
+                return cache.getBoolType();
+            case INT:
+                return cache.getIntType();
+            case FLOAT:
+                return cache.getFloatType();
+            case COMPLEX:
+                return cache.getComplexType();
+            case BYTES:
+                return cache.getBytesType(LanguageLevel.forElement(this));
+            case UNICODE:
+                return cache.getUnicodeType(LanguageLevel.forElement(this));
+            case LIST:
+                return cache.getListType();
+            case DICT:
+                return cache.getDictType();
+            case SET:
+                return cache.getSetType();
+            case TUPLE:
+                return cache.getTupleType();
+            default:
+                return null;
+        }
     }
 
     @Nullable
@@ -472,7 +535,13 @@ public class PyFunctionImpl extends PyBaseElementImpl<PyFunctionStub> implements
     public String getDocStringValue() {
         PyFunctionStub stub = getStub();
         if (stub != null) {
-            return stub.getDocString();
+            if (!stub.isDocStringTruncated()) {
+                return stub.getDocString();
+            }
+            String docString = PyDocStringIndex.find(this, stub.getDocString(), stub.getFullDocStringHash());
+            if (docString != null) {
+                return docString;
+            }
         }
         return DocStringUtil.getDocStringValue(this);
     }
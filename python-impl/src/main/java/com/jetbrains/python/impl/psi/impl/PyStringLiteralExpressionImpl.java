@@ -275,6 +275,18 @@ public class PyStringLiteralExpressionImpl extends PyElementImpl implements PySt
     @Override
     @RequiredReadAction
     public PyType getType(TypeEvalContext context, TypeEvalContext.Key key) {
+        if (isUnicodeLiteral()) {
+            return PyBuiltinCache.getInstance(this).getUnicodeType(LanguageLevel.forElement(this));
+        }
+        return PyBuiltinCache.getInstance(this).getBytesType(LanguageLevel.forElement(this));
+    }
+
+    /**
+     * @return true if the literal evaluates to a unicode string with respect to its prefix, language level and
+     * {@code unicode_literals} future import, false if it is a byte string
+     */
+    @RequiredReadAction
+    public boolean isUnicodeLiteral() {
         List<ASTNode> nodes = getStringNodes();
         if (nodes.size() > 0) {
             String text = getStringNodes().get(0).getText();
@@ -288,12 +300,10 @@ public class PyStringLiteralExpressionImpl extends PyElementImpl implements PySt
                     file.hasImportFromFuture(FutureFeature
                         .UNICODE_LITERALS)
                 );
-                if (PyTokenTypes.UNICODE_NODES.contains(type)) {
-                    return PyBuiltinCache.getInstance(this).getUnicodeType(LanguageLevel.forElement(this));
-                }
+                return PyTokenTypes.UNICODE_NODES.contains(type);
             }
         }
-        return PyBuiltinCache.getInstance(this).getBytesType(LanguageLevel.forElement(this));
+        return false;
     }
 
     @Override
@@ -29,6 +29,7 @@ import com.jetbrains.python.impl.psi.PyUtil;
 import com.jetbrains.python.impl.psi.impl.references.PyQualifiedReference;
 import com.jetbrains.python.impl.psi.impl.references.PyTargetReference;
 import com.jetbrains.python.impl.psi.resolve.QualifiedNameFinder;
+import com.jetbrains.python.impl.psi.stubs.PyDocStringIndex;
 import com.jetbrains.python.impl.psi.types.*;
 import com.jetbrains.python.psi.*;
 import com.jetbrains.python.psi.impl.PyPsiUtils;
@@ -687,7 +688,13 @@ public class PyTargetExpressionImpl extends PyBaseElementImpl<PyTargetExpression
     public String getDocStringValue() {
         PyTargetExpressionStub stub = getStub();
         if (stub != null) {
-            return stub.getDocString();
+            if (!stub.isDocStringTruncated()) {
+                return stub.getDocString();
+            }
+            String docString = PyDocStringIndex.find(this, stub.getDocString(), stub.getFullDocStringHash());
+            if (docString != null) {
+                return docString;
+            }
         }
         return DocStringUtil.getDocStringValue(this);
     }
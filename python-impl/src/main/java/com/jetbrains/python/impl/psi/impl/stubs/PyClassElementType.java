@@ -69,13 +69,16 @@ public class PyClassElementType extends PyStubElementType<PyClassStub, PyClass>
     @RequiredReadAction
     public PyClassStub createStub(PyClass psi, StubElement parentStub)
 	{
+		String docString = PyPsiUtils.strValue(psi.getDocStringExpression());
         return new PyClassStubImpl(
             psi.getName(),
             parentStub,
             getSuperClassQNames(psi),
             PyPsiUtils.toQualifiedName(psi.getMetaClassExpression()),
             psi.getOwnSlots(),
-            PyPsiUtils.strValue(psi.getDocStringExpression()),
+            PyFileElementType.truncateStubDocString(docString),
+            PyFileElementType.isStubDocStringTruncated(docString),
+            PyFileElementType.getFullDocStringHash(docString),
             getStubElementType()
         );
 	}
@@ -134,6 +137,11 @@ public class PyClassElementType extends PyStubElementType<PyClassStub, PyClass>
 
 		String docString = pyClassStub.getDocString();
 		dataStream.writeUTFFast(docString != null ? docString : "");
+		dataStream.writeBoolean(pyClassStub.isDocStringTruncated());
+		if(pyClassStub.isDocStringTruncated())
+		{
+			dataStream.writeInt(pyClassStub.getFullDocStringHash());
+		}
 	}
 
 	@Override
@@ -154,8 +162,10 @@ public class PyClassElementType extends PyStubElementType<PyClassStub, PyClass>
 
 		String docStringInStub = dataStream.readUTFFast();
 		String docString = docStringInStub.length() > 0 ? docStringInStub : null;
+		boolean docStringTruncated = dataStream.readBoolean();
+		int fullDocStringHash = docStringTruncated ? dataStream.readInt() : 0;
 
-		return new PyClassStubImpl(name, parentStub, superClasses, metaClass, slots, docString, getStubElementType());
+		return new PyClassStubImpl(name, parentStub, superClasses, metaClass, slots, docString, docStringTruncated, fullDocStringHash, getStubElementType());
 	}
 
 	@Override
@@ -46,12 +46,17 @@ public class PyClassStubImpl extends StubBase<PyClass> implements PyClassStub
 	@Nullable
 	private final String myDocString;
 
+	private final boolean myDocStringTruncated;
+	private final int myFullDocStringHash;
+
 	public PyClassStubImpl(@Nullable String name,
 			@Nullable StubElement parentStub,
 			Map<QualifiedName, QualifiedName> superClasses,
 			@Nullable QualifiedName metaClass,
 			@Nullable List<String> slots,
 			@Nullable String docString,
+			boolean docStringTruncated,
+			int fullDocStringHash,
 			IStubElementType stubElementType)
 	{
 		super(parentStub, stubElementType);
@@ -60,6 +65,8 @@ public class PyClassStubImpl extends StubBase<PyClass> implements PyClassStub
 		myMetaClass = metaClass;
 		mySlots = slots;
 		myDocString = docString;
+		myDocStringTruncated = docStringTruncated;
+		myFullDocStringHash = fullDocStringHash;
 	}
 
 	@Nullable
@@ -96,6 +103,18 @@ public class PyClassStubImpl extends StubBase<PyClass> implements PyClassStub
 		return myDocString;
 	}
 
+	@Override
+	public boolean isDocStringTruncated()
+	{
+		return myDocStringTruncated;
+	}
+
+	@Override
+	public int getFullDocStringHash()
+	{
+		return myFullDocStringHash;
+	}
+
 	@Override
 	public String toString()
 	{
@@ -28,6 +28,7 @@ import consulo.language.psi.stub.StubInputStream;
 import consulo.language.psi.stub.StubOutputStream;
 import consulo.index.io.StringRef;
 import com.jetbrains.python.impl.PyElementTypes;
+import com.jetbrains.python.impl.psi.PyFileElementType;
 import com.jetbrains.python.psi.PyFunction;
 import com.jetbrains.python.psi.PyStringLiteralExpression;
 import com.jetbrains.python.psi.PyStubElementType;
@@ -35,6 +36,7 @@ import com.jetbrains.python.impl.psi.impl.PyFunctionImpl;
 import com.jetbrains.python.psi.impl.PyPsiUtils;
 import com.jetbrains.python.impl.psi.stubs.PyFunctionNameIndex;
 import com.jetbrains.python.psi.stubs.PyFunctionStub;
+import com.jetbrains.python.psi.stubs.PyReturnTypeSummary;
 
 /**
  * @author max
@@ -70,8 +72,18 @@ public class PyFunctionElementType extends PyStubElementType<PyFunctionStub, PyF
 		PyFunctionImpl function = (PyFunctionImpl) psi;
 		String message = function.extractDeprecationMessage();
 		PyStringLiteralExpression docStringExpression = function.getDocStringExpression();
+		String docString = PyPsiUtils.strValue(docStringExpression);
 		String typeComment = function.getTypeCommentAnnotation();
-		return new PyFunctionStubImpl(psi.getName(), PyPsiUtils.strValue(docStringExpression), message, function.isAsync(), typeComment, parentStub, getStubElementType());
+		return new PyFunctionStubImpl(psi.getName(),
+				PyFileElementType.truncateStubDocString(docString),
+				PyFileElementType.isStubDocStringTruncated(docString),
+				PyFileElementType.getFullDocStringHash(docString),
+				message,
+				function.isAsync(),
+				typeComment,
+				PyReturnTypeSummaryBuilder.build(function),
+				parentStub,
+				getStubElementType());
 	}
 
 	@Override
@@ -79,9 +91,15 @@ public class PyFunctionElementType extends PyStubElementType<PyFunctionStub, PyF
 	{
 		dataStream.writeName(stub.getName());
 		dataStream.writeUTFFast(StringUtil.notNullize(stub.getDocString()));
+		dataStream.writeBoolean(stub.isDocStringTruncated());
+		if(stub.isDocStringTruncated())
+		{
+			dataStream.writeInt(stub.getFullDocStringHash());
+		}
 		dataStream.writeName(stub.getDeprecationMessage());
 		dataStream.writeBoolean(stub.isAsync());
 		dataStream.writeName(stub.getTypeComment());
+		PyReturnTypeSummaryBuilder.serialize(stub.getReturnTypeSummary(), dataStream);
 	}
 
 	@Override
@@ -89,15 +107,21 @@ public class PyFunctionElementType extends PyStubElementType<PyFunctionStub, PyF
 	{
 		String name = StringRef.toString(dataStream.readName());
 		String docString = dataStream.readUTFFast();
+		boolean docStringTruncated = dataStream.readBoolean();
+		int fullDocStringHash = docStringTruncated ? dataStream.readInt() : 0;
 		StringRef deprecationMessage = dataStream.readName();
 		boolean isAsync = dataStream.readBoolean();
 		StringRef typeComment = dataStream.readName();
+		PyReturnTypeSummary returnTypeSummary = PyReturnTypeSummaryBuilder.deserialize(dataStream);
         return new PyFunctionStubImpl(
             name,
             StringUtil.nullize(docString),
+            docStringTruncated,
+            fullDocStringHash,
             deprecationMessage == null ? null : deprecationMessage.getString(),
             isAsync,
             typeComment == null ? null : typeComment.getString(),
+            returnTypeSummary,
             parentStub,
             getStubElementType()
         );
@@ -22,29 +22,40 @@ import consulo.language.psi.stub.StubBase;
 import consulo.language.psi.stub.StubElement;
 import com.jetbrains.python.psi.PyFunction;
 import com.jetbrains.python.psi.stubs.PyFunctionStub;
+import com.jetbrains.python.psi.stubs.PyReturnTypeSummary;
 
 public class PyFunctionStubImpl extends StubBase<PyFunction> implements PyFunctionStub
 {
 	private final String myName;
 	private final String myDocString;
+	private final boolean myDocStringTruncated;
+	private final int myFullDocStringHash;
 	private final String myDeprecationMessage;
 	private final boolean myAsync;
 	private final String myTypeComment;
+	@Nullable
+	private final PyReturnTypeSummary myReturnTypeSummary;
 
 	public PyFunctionStubImpl(@Nullable String name,
 			@Nullable String docString,
+			boolean docStringTruncated,
+			int fullDocStringHash,
 			@Nullable String deprecationMessage,
 			boolean isAsync,
 			@Nullable String typeComment,
+			@Nullable PyReturnTypeSummary returnTypeSummary,
 			StubElement parent,
 			IStubElementType stubElementType)
 	{
 		super(parent, stubElementType);
 		myName = name;
 		myDocString = docString;
+		myDocStringTruncated = docStringTruncated;
+		myFullDocStringHash = fullDocStringHash;
 		myDeprecationMessage = deprecationMessage;
 		myAsync = isAsync;
 		myTypeComment = typeComment;
+		myReturnTypeSummary = returnTypeSummary;
 	}
 
 	@Nullable
@@ -61,6 +72,18 @@ public class PyFunctionStubImpl extends StubBase<PyFunction> implements PyFuncti
 		return myDocString;
 	}
 
+	@Override
+	public boolean isDocStringTruncated()
+	{
+		return myDocStringTruncated;
+	}
+
+	@Override
+	public int getFullDocStringHash()
+	{
+		return myFullDocStringHash;
+	}
+
 	@Nullable
 	@Override
 	public String getDeprecationMessage()
@@ -81,6 +104,13 @@ public class PyFunctionStubImpl extends StubBase<PyFunction> implements PyFuncti
 		return myAsync;
 	}
 
+	@Nullable
+	@Override
+	public PyReturnTypeSummary getReturnTypeSummary()
+	{
+		return myReturnTypeSummary;
+	}
+
 	@Override
 	public String toString()
 	{
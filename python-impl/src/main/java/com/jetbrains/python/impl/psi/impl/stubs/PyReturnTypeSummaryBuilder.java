@@ -0,0 +1,352 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.psi.impl.stubs;
+
+import com.jetbrains.python.impl.PyElementTypes;
+import com.jetbrains.python.impl.psi.impl.PyStringLiteralExpressionImpl;
+import com.jetbrains.python.psi.*;
+import com.jetbrains.python.psi.stubs.PyReturnTypeSummary;
+import consulo.annotation.access.RequiredReadAction;
+import consulo.language.ast.IElementType;
+import consulo.language.psi.stub.StubInputStream;
+import consulo.language.psi.stub.StubOutputStream;
+import consulo.language.psi.util.PsiTreeUtil;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects {@link PyReturnTypeSummary} from the AST of a function and (de)serializes it as a part of {@link PyFunctionStubImpl}.
+ */
+public class PyReturnTypeSummaryBuilder
+{
+	private static final Set<String> PLACEHOLDER_DECORATORS = Set.of("abstractmethod", "abstractproperty", "overload");
+
+	private PyReturnTypeSummaryBuilder()
+	{
+	}
+
+	/**
+	 * @return summary of the function returns or null if some of them cannot be summarized syntactically
+	 */
+	@Nullable
+	@RequiredReadAction
+	public static PyReturnTypeSummary build(PyFunction function)
+	{
+		SummaryVisitor visitor = new SummaryVisitor(function);
+		PyStatementList statements = function.getStatementList();
+		statements.accept(visitor);
+		if(visitor.myUnknown || visitor.myHasYields)
+		{
+			return null;
+		}
+		if(visitor.myReturns.isEmpty() && (visitor.myHasRaises || isPlaceholder(function)))
+		{
+			return null;
+		}
+		return new PyReturnTypeSummary(visitor.myReturns, canCompleteNormally(statements));
+	}
+
+	public static void serialize(@Nullable PyReturnTypeSummary summary, StubOutputStream dataStream) throws IOException
+	{
+		dataStream.writeBoolean(summary != null);
+		if(summary == null)
+		{
+			return;
+		}
+		List<PyReturnTypeSummary.Kind> returns = summary.getReturns();
+		dataStream.writeVarInt(returns.size());
+		for(PyReturnTypeSummary.Kind kind : returns)
+		{
+			dataStream.writeVarInt(kind.ordinal());
+		}
+		dataStream.writeBoolean(summary.isEndReachable());
+	}
+
+	@Nullable
+	public static PyReturnTypeSummary deserialize(StubInputStream dataStream) throws IOException
+	{
+		if(!dataStream.readBoolean())
+		{
+			return null;
+		}
+		int size = dataStream.readVarInt();
+		List<PyReturnTypeSummary.Kind> returns = new ArrayList<>(size);
+		PyReturnTypeSummary.Kind[] kinds = PyReturnTypeSummary.Kind.values();
+		for(int i = 0; i < size; i++)
+		{
+			returns.add(kinds[dataStream.readVarInt()]);
+		}
+		return new PyReturnTypeSummary(returns, dataStream.readBoolean());
+	}
+
+	/**
+	 * Abstract methods, overloads and bodies of only {@code pass}, {@code ...} and a docstring don't tell what the function returns.
+	 */
+	@RequiredReadAction
+	private static boolean isPlaceholder(PyFunction function)
+	{
+		PyDecoratorList decoratorList = function.getDecoratorList();
+		if(decoratorList != null)
+		{
+			for(PyDecorator decorator : decoratorList.getDecorators())
+			{
+				String name = decorator.getName();
+				if(PLACEHOLDER_DECORATORS.contains(name))
+				{
+					return true;
+				}
+			}
+		}
+		for(PyStatement statement : function.getStatementList().getStatements())
+		{
+			if(statement instanceof PyPassStatement)
+			{
+				continue;
+			}
+			if(statement instanceof PyExpressionStatement)
+			{
+				PyExpression expression = ((PyExpressionStatement) statement).getExpression();
+				if(expression instanceof PyStringLiteralExpression ||
+						expression instanceof PyNoneLiteralExpression && ((PyNoneLiteralExpression) expression).isEllipsis())
+				{
+					continue;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Conservative syntactic check: only return and raise statements, and compound statements all of whose branches end
+	 * with them, are known to leave the function.
+	 */
+	private static boolean canCompleteNormally(@Nullable PyStatementList statementList)
+	{
+		if(statementList == null)
+		{
+			return true;
+		}
+		PyStatement[] statements = statementList.getStatements();
+		return statements.length == 0 || canCompleteNormally(statements[statements.length - 1]);
+	}
+
+	private static boolean canCompleteNormally(PyStatement statement)
+	{
+		if(statement instanceof PyReturnStatement || statement instanceof PyRaiseStatement)
+		{
+			return false;
+		}
+		if(statement instanceof PyIfStatement)
+		{
+			PyIfStatement ifStatement = (PyIfStatement) statement;
+			PyElsePart elsePart = ifStatement.getElsePart();
+			if(elsePart == null || canCompleteNormally(ifStatement.getIfPart().getStatementList()))
+			{
+				return true;
+			}
+			for(PyIfPart elifPart : ifStatement.getElifParts())
+			{
+				if(canCompleteNormally(elifPart.getStatementList()))
+				{
+					return true;
+				}
+			}
+			return canCompleteNormally(elsePart.getStatementList());
+		}
+		if(statement instanceof PyTryExceptStatement)
+		{
+			PyTryExceptStatement tryStatement = (PyTryExceptStatement) statement;
+			PyFinallyPart finallyPart = tryStatement.getFinallyPart();
+			if(finallyPart != null && !canCompleteNormally(finallyPart.getStatementList()))
+			{
+				return false;
+			}
+			PyElsePart elsePart = tryStatement.getElsePart();
+			if(canCompleteNormally(tryStatement.getTryPart().getStatementList()) &&
+					(elsePart == null || canCompleteNormally(elsePart.getStatementList())))
+			{
+				return true;
+			}
+			for(PyExceptPart exceptPart : tryStatement.getExceptParts())
+			{
+				if(canCompleteNormally(exceptPart.getStatementList()))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+		if(statement instanceof PyWithStatement)
+		{
+			return canCompleteNormally(((PyWithStatement) statement).getStatementList());
+		}
+		if(statement instanceof PyWhileStatement)
+		{
+			PyExpression condition = ((PyWhileStatement) statement).getWhilePart().getCondition();
+			boolean infinite = condition instanceof PyBoolLiteralExpression && ((PyBoolLiteralExpression) condition).getValue();
+			return !infinite || hasBreak(statement);
+		}
+		return true;
+	}
+
+	private static boolean hasBreak(PyStatement loop)
+	{
+		for(PyBreakStatement breakStatement : PsiTreeUtil.findChildrenOfType(loop, PyBreakStatement.class))
+		{
+			if(breakStatement.getLoopStatement() == loop)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static class SummaryVisitor extends PyRecursiveElementVisitor
+	{
+		private final PyFunction myFunction;
+		private final List<PyReturnTypeSummary.Kind> myReturns = new ArrayList<>();
+		private boolean myUnknown = false;
+		private boolean myHasYields = false;
+		private boolean myHasRaises = false;
+
+		private SummaryVisitor(PyFunction function)
+		{
+			myFunction = function;
+		}
+
+		@Override
+		@RequiredReadAction
+		public void visitPyReturnStatement(PyReturnStatement node)
+		{
+			PyReturnTypeSummary.Kind kind = summarize(node.getExpression());
+			if(kind == null)
+			{
+				myUnknown = true;
+			}
+			else
+			{
+				myReturns.add(kind);
+			}
+		}
+
+		@Override
+		public void visitPyYieldExpression(PyYieldExpression node)
+		{
+			myHasYields = true;
+		}
+
+		@Override
+		public void visitPyRaiseStatement(PyRaiseStatement node)
+		{
+			myHasRaises = true;
+		}
+
+		@Override
+		public void visitPyFunction(PyFunction node)
+		{
+			// Ignore nested functions
+		}
+
+		@Override
+		public void visitPyClass(PyClass node)
+		{
+			// Ignore nested classes
+		}
+
+		@Override
+		public void visitPyLambdaExpression(PyLambdaExpression node)
+		{
+			// Ignore lambdas
+		}
+
+		@Nullable
+		@RequiredReadAction
+		private PyReturnTypeSummary.Kind summarize(@Nullable PyExpression expression)
+		{
+			if(expression == null || expression instanceof PyNoneLiteralExpression && !((PyNoneLiteralExpression) expression).isEllipsis())
+			{
+				return PyReturnTypeSummary.Kind.NONE;
+			}
+			if(expression instanceof PyBoolLiteralExpression)
+			{
+				return PyReturnTypeSummary.Kind.BOOL;
+			}
+			if(expression instanceof PyNumericLiteralExpression)
+			{
+				IElementType type = expression.getNode().getElementType();
+				if(type == PyElementTypes.INTEGER_LITERAL_EXPRESSION)
+				{
+					return PyReturnTypeSummary.Kind.INT;
+				}
+				if(type == PyElementTypes.FLOAT_LITERAL_EXPRESSION)
+				{
+					return PyReturnTypeSummary.Kind.FLOAT;
+				}
+				if(type == PyElementTypes.IMAGINARY_LITERAL_EXPRESSION)
+				{
+					return PyReturnTypeSummary.Kind.COMPLEX;
+				}
+				return null;
+			}
+			if(expression instanceof PyStringLiteralExpressionImpl)
+			{
+				return ((PyStringLiteralExpressionImpl) expression).isUnicodeLiteral() ? PyReturnTypeSummary.Kind.UNICODE : PyReturnTypeSummary.Kind.BYTES;
+			}
+			if(expression instanceof PyListLiteralExpression)
+			{
+				return PyReturnTypeSummary.Kind.LIST;
+			}
+			if(expression instanceof PyDictLiteralExpression)
+			{
+				return PyReturnTypeSummary.Kind.DICT;
+			}
+			if(expression instanceof PySetLiteralExpression)
+			{
+				return PyReturnTypeSummary.Kind.SET;
+			}
+			if(expression instanceof PyTupleExpression)
+			{
+				return PyReturnTypeSummary.Kind.TUPLE;
+			}
+			if(expression instanceof PyReferenceExpression && isSelfParameter((PyReferenceExpression) expression))
+			{
+				return PyReturnTypeSummary.Kind.SELF;
+			}
+			return null;
+		}
+
+		@RequiredReadAction
+		private boolean isSelfParameter(PyReferenceExpression expression)
+		{
+			if(expression.isQualified() || myFunction.getContainingClass() == null || myFunction.getModifier() != null)
+			{
+				return false;
+			}
+			PyParameter[] parameters = myFunction.getParameterList().getParameters();
+			if(parameters.length == 0)
+			{
+				return false;
+			}
+			String selfName = parameters[0].getName();
+			return selfName != null && selfName.equals(expression.getReferencedName());
+		}
+	}
+}
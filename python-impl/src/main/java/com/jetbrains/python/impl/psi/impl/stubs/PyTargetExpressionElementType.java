@@ -19,6 +19,7 @@ import com.jetbrains.python.PyNames;
 import com.jetbrains.python.impl.PyElementTypes;
 import com.jetbrains.python.impl.PythonDialectsTokenSetProvider;
 import com.jetbrains.python.impl.documentation.docstrings.DocStringUtil;
+import com.jetbrains.python.impl.psi.PyFileElementType;
 import com.jetbrains.python.impl.psi.PyUtil;
 import com.jetbrains.python.impl.psi.impl.PyTargetExpressionImpl;
 import com.jetbrains.python.impl.psi.stubs.PyInstanceAttributeIndex;
@@ -48,7 +49,8 @@ import java.io.IOException;
  */
 public class PyTargetExpressionElementType extends PyStubElementType<PyTargetExpressionStub, PyTargetExpression>
 {
-	private CustomTargetExpressionStubType[] myCustomStubTypes;
+	// Element types are shared by all threads building stubs, so the lazily loaded extensions must be safely published
+	private volatile CustomTargetExpressionStubType[] myCustomStubTypes;
 
 	public PyTargetExpressionElementType()
 	{
@@ -62,11 +64,13 @@ public class PyTargetExpressionElementType extends PyStubElementType<PyTargetExp
 
 	private CustomTargetExpressionStubType[] getCustomStubTypes()
 	{
-		if(myCustomStubTypes == null)
+		CustomTargetExpressionStubType[] customStubTypes = myCustomStubTypes;
+		if(customStubTypes == null)
 		{
-			myCustomStubTypes = Extensions.getExtensions(CustomTargetExpressionStubType.EP_NAME);
+			customStubTypes = Extensions.getExtensions(CustomTargetExpressionStubType.EP_NAME);
+			myCustomStubTypes = customStubTypes;
 		}
-		return myCustomStubTypes;
+		return customStubTypes;
 	}
 
 	public PsiElement createElement(ASTNode node)
@@ -83,14 +87,17 @@ public class PyTargetExpressionElementType extends PyStubElementType<PyTargetExp
 	{
 		String name = psi.getName();
 		PyExpression assignedValue = psi.findAssignedValue();
-		String docString = DocStringUtil.getDocStringValue(psi);
+		String fullDocString = DocStringUtil.getDocStringValue(psi);
+		String docString = PyFileElementType.truncateStubDocString(fullDocString);
+		boolean docStringTruncated = PyFileElementType.isStubDocStringTruncated(fullDocString);
+		int fullDocStringHash = PyFileElementType.getFullDocStringHash(fullDocString);
 		String typeComment = psi.getTypeCommentAnnotation();
 		for(CustomTargetExpressionStubType customStubType : getCustomStubTypes())
 		{
 			CustomTargetExpressionStub customStub = customStubType.createStub(psi);
 			if(customStub != null)
 			{
-				return new PyTargetExpressionStubImpl(name, docString, typeComment, customStub, parentStub);
+				return new PyTargetExpressionStubImpl(name, docString, docStringTruncated, fullDocStringHash, typeComment, customStub, parentStub);
 			}
 		}
 		PyTargetExpressionStub.InitializerType initializerType = PyTargetExpressionStub.InitializerType.Other;
@@ -109,7 +116,7 @@ public class PyTargetExpressionElementType extends PyStubElementType<PyTargetExp
 				initializer = ((PyReferenceExpression) callee).asQualifiedName();
 			}
 		}
-		return new PyTargetExpressionStubImpl(name, docString, initializerType, initializer, psi.isQualified(), typeComment, parentStub);
+		return new PyTargetExpressionStubImpl(name, docString, docStringTruncated, fullDocStringHash, initializerType, initializer, psi.isQualified(), typeComment, parentStub);
 	}
 
 	public void serialize(PyTargetExpressionStub stub, StubOutputStream stream) throws IOException
@@ -117,6 +124,11 @@ public class PyTargetExpressionElementType extends PyStubElementType<PyTargetExp
 		stream.writeName(stub.getName());
 		String docString = stub.getDocString();
 		stream.writeUTFFast(docString != null ? docString : "");
+		stream.writeBoolean(stub.isDocStringTruncated());
+		if(stub.isDocStringTruncated())
+		{
+			stream.writeInt(stub.getFullDocStringHash());
+		}
 		stream.writeVarInt(stub.getInitializerType().getIndex());
 		stream.writeName(stub.getTypeComment());
 		CustomTargetExpressionStub customStub = stub.getCustomStub(CustomTargetExpressionStub.class);
@@ -140,6 +152,8 @@ public class PyTargetExpressionElementType extends PyStubElementType<PyTargetExp
 		{
 			docString = null;
 		}
+		boolean docStringTruncated = stream.readBoolean();
+		int fullDocStringHash = docStringTruncated ? stream.readInt() : 0;
 		PyTargetExpressionStub.InitializerType initializerType = PyTargetExpressionStub.InitializerType.fromIndex(stream.readVarInt());
 		StringRef typeCommentRef = stream.readName();
 		String typeComment = typeCommentRef == null ? null : typeCommentRef.getString();
@@ -151,14 +165,14 @@ public class PyTargetExpressionElementType extends PyStubElementType<PyTargetExp
 				if(type.getClass().getCanonicalName().equals(typeName))
 				{
 					CustomTargetExpressionStub stub = type.deserializeStub(stream);
-					return new PyTargetExpressionStubImpl(name, docString, typeComment, stub, parentStub);
+					return new PyTargetExpressionStubImpl(name, docString, docStringTruncated, fullDocStringHash, typeComment, stub, parentStub);
 				}
 			}
 			throw new IOException("Unknown custom stub type " + typeName);
 		}
 		QualifiedName initializer = QualifiedName.deserialize(stream);
 		boolean isQualified = stream.readBoolean();
-		return new PyTargetExpressionStubImpl(name, docString, initializerType, initializer, isQualified, typeComment, parentStub);
+		return new PyTargetExpressionStubImpl(name, docString, docStringTruncated, fullDocStringHash, initializerType, initializer, isQualified, typeComment, parentStub);
 	}
 
 	public boolean shouldCreateStub(ASTNode node)
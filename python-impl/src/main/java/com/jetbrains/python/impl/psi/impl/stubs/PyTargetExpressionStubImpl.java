@@ -38,9 +38,17 @@ public class PyTargetExpressionStubImpl extends StubBase<PyTargetExpression> imp
 
 	@Nullable
 	private final String myDocString;
+	private final boolean myDocStringTruncated;
+	private final int myFullDocStringHash;
 	private final CustomTargetExpressionStub myCustomStub;
 
-	public PyTargetExpressionStubImpl(String name, @Nullable String docString, @Nullable String typeComment, CustomTargetExpressionStub customStub, StubElement parent)
+	public PyTargetExpressionStubImpl(String name,
+                                      @Nullable String docString,
+                                      boolean docStringTruncated,
+                                      int fullDocStringHash,
+                                      @Nullable String typeComment,
+                                      CustomTargetExpressionStub customStub,
+                                      StubElement parent)
 	{
 		super(parent, PyElementTypes.TARGET_EXPRESSION);
 		myName = name;
@@ -50,10 +58,14 @@ public class PyTargetExpressionStubImpl extends StubBase<PyTargetExpression> imp
 		myQualified = false;
 		myCustomStub = customStub;
 		myDocString = docString;
+		myDocStringTruncated = docStringTruncated;
+		myFullDocStringHash = fullDocStringHash;
 	}
 
 	public PyTargetExpressionStubImpl(String name,
                                       @Nullable String docString,
+                                      boolean docStringTruncated,
+                                      int fullDocStringHash,
                                       InitializerType initializerType,
                                       QualifiedName initializer,
                                       boolean qualified,
@@ -69,6 +81,8 @@ public class PyTargetExpressionStubImpl extends StubBase<PyTargetExpression> imp
 		myQualified = qualified;
 		myCustomStub = null;
 		myDocString = docString;
+		myDocStringTruncated = docStringTruncated;
+		myFullDocStringHash = fullDocStringHash;
 	}
 
 	public String getName()
@@ -110,6 +124,18 @@ public class PyTargetExpressionStubImpl extends StubBase<PyTargetExpression> imp
 		return myDocString;
 	}
 
+	@Override
+	public boolean isDocStringTruncated()
+	{
+		return myDocStringTruncated;
+	}
+
+	@Override
+	public int getFullDocStringHash()
+	{
+		return myFullDocStringHash;
+	}
+
 	@Nullable
 	@Override
 	public String getTypeComment()
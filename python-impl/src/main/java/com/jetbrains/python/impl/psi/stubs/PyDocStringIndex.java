@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.psi.stubs;
+
+import com.jetbrains.python.PythonFileType;
+import com.jetbrains.python.impl.psi.PyFileElementType;
+import com.jetbrains.python.psi.*;
+import com.jetbrains.python.psi.impl.PyPsiUtils;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataExternalizer;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileBasedIndexExtension;
+import consulo.language.psi.stub.FileContent;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the full text of docstrings that are too long for stubs, keyed by {@link String#hashCode()} of the text.
+ * <p>
+ * Class, function and target expression stubs store only the leading part of such docstrings together with the hash,
+ * so type providers that parse docstrings get the whole text without loading the AST of the file.
+ */
+@ExtensionImpl
+public class PyDocStringIndex extends FileBasedIndexExtension<String, String> {
+  public static final ID<String, String> NAME = ID.create("Py.docstring");
+
+  private final DataIndexer<String, String, FileContent> myDataIndexer = new DataIndexer<String, String, FileContent>() {
+    @Override
+    public Map<String, String> map(FileContent inputData) {
+      Map<String, String> results = new HashMap<>();
+      PsiFile file = inputData.getPsiFile();
+      if (file instanceof PyFile) {
+        file.accept(new PyRecursiveElementVisitor() {
+          @Override
+          public void visitPyClass(PyClass node) {
+            addDocString(node);
+            super.visitPyClass(node);
+          }
+
+          @Override
+          public void visitPyFunction(PyFunction node) {
+            addDocString(node);
+            super.visitPyFunction(node);
+          }
+
+          @Override
+          public void visitPyTargetExpression(PyTargetExpression node) {
+            addDocString(node);
+            super.visitPyTargetExpression(node);
+          }
+
+          private void addDocString(PyDocStringOwner owner) {
+            String docString = PyPsiUtils.strValue(owner.getDocStringExpression());
+            if (PyFileElementType.isStubDocStringTruncated(docString)) {
+              results.put(getKey(PyFileElementType.getFullDocStringHash(docString)), docString);
+            }
+          }
+        });
+      }
+      return results;
+    }
+  };
+
+  private final FileBasedIndex.InputFilter myInputFilter = new FileBasedIndex.InputFilter() {
+    @Override
+    public boolean acceptInput(@Nullable Project project, VirtualFile file) {
+      return file.getFileType() == PythonFileType.INSTANCE;
+    }
+  };
+
+  @Override
+  public ID<String, String> getName() {
+    return NAME;
+  }
+
+  @Override
+  public DataIndexer<String, String, FileContent> getIndexer() {
+    return myDataIndexer;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @Override
+  public DataExternalizer<String> getValueExternalizer() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return myInputFilter;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @Override
+  public int getVersion() {
+    return 0;
+  }
+
+  private static String getKey(int fullDocStringHash) {
+    return Integer.toString(fullDocStringHash);
+  }
+
+  /**
+   * @param stubDocString leading part of the docstring kept in the stub of the owner
+   * @return the whole docstring of the owner, or null if the file isn't indexed or several docstrings of the file match
+   */
+  @Nullable
+  public static String find(PsiElement owner, String stubDocString, int fullDocStringHash) {
+    PsiFile file = owner.getContainingFile();
+    VirtualFile virtualFile = file != null ? file.getVirtualFile() : null;
+    if (virtualFile == null) {
+      return null;
+    }
+    GlobalSearchScope scope = GlobalSearchScope.fileScope(owner.getProject(), virtualFile);
+    List<String> values = FileBasedIndex.getInstance().getValues(NAME, getKey(fullDocStringHash), scope);
+    String result = null;
+    for (String value : values) {
+      if (value.hashCode() != fullDocStringHash || !value.startsWith(stubDocString)) {
+        continue;
+      }
+      if (result != null && !result.equals(value)) {
+        return null;
+      }
+      result = value;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.impl.psi.stubs;
+
+import com.jetbrains.python.PyNames;
+import com.jetbrains.python.PythonFileType;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileContent;
+import consulo.language.psi.stub.ScalarIndexExtension;
+import consulo.project.Project;
+import consulo.util.io.FileUtil;
+import consulo.virtualFileSystem.VirtualFile;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Maps importable module names to Python files: a module file {@code foo.py} is indexed as {@code foo},
+ * a package {@code __init__.py} is indexed by the name of its directory.
+ * <p>
+ * Lets completion and auto-import match module names by prefix without creating PSI for every Python file in scope.
+ */
+@ExtensionImpl
+public class PyModuleNameIndex extends ScalarIndexExtension<String> {
+  public static final ID<String, Void> NAME = ID.create("Py.module.name");
+
+  private final DataIndexer<String, Void, FileContent> myDataIndexer = new DataIndexer<String, Void, FileContent>() {
+    @Override
+    public Map<String, Void> map(FileContent inputData) {
+      String name = getModuleName(inputData.getFile());
+      return name != null ? Collections.singletonMap(name, null) : Collections.emptyMap();
+    }
+  };
+
+  private final FileBasedIndex.InputFilter myInputFilter = new FileBasedIndex.InputFilter() {
+    @Override
+    public boolean acceptInput(@Nullable Project project, VirtualFile file) {
+      return file.getFileType() == PythonFileType.INSTANCE;
+    }
+  };
+
+  @Override
+  public ID<String, Void> getName() {
+    return NAME;
+  }
+
+  @Override
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return myDataIndexer;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return myInputFilter;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return false;
+  }
+
+  @Override
+  public int getVersion() {
+    return 0;
+  }
+
+  /**
+   * @return name under which the file can be imported: file name without extension, or the directory name for {@code __init__.py}
+   */
+  @Nullable
+  public static String getModuleName(VirtualFile file) {
+    if (PyNames.INIT_DOT_PY.equals(file.getName())) {
+      VirtualFile directory = file.getParent();
+      return directory != null ? directory.getName() : null;
+    }
+    return FileUtil.getNameWithoutExtension(file.getName());
+  }
+
+  /**
+   * @return Python files (module files or {@code __init__.py} of packages) importable under the given name
+   */
+  public static Collection<VirtualFile> find(String name, GlobalSearchScope scope) {
+    Collection<VirtualFile> files = FileBasedIndex.getInstance().getContainingFiles(NAME, name, scope);
+    List<VirtualFile> result = new ArrayList<>(files.size());
+    for (VirtualFile file : files) {
+      // Packages are keyed by their directory name, skip entries that are not updated after a rename yet
+      if (name.equals(getModuleName(file))) {
+        result.add(file);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return all indexed module names accepted by the condition, without touching the files that contain them
+   */
+  public static List<String> findNames(Project project, Predicate<String> condition) {
+    List<String> result = new ArrayList<>();
+    FileBasedIndex.getInstance().processAllKeys(NAME, name -> {
+      if (condition.test(name)) {
+        result.add(name);
+      }
+      return true;
+    }, project);
+    return result;
+  }
+}
@@ -17,12 +17,12 @@ package com.jetbrains.python.impl.psi.types;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.jetbrains.python.PyNames;
 import com.jetbrains.python.codeInsight.PyCustomMember;
 import com.jetbrains.python.impl.codeInsight.PyCustomMemberUtils;
 import com.jetbrains.python.impl.psi.PyUtil;
 import com.jetbrains.python.impl.psi.impl.PyBuiltinCache;
+import com.jetbrains.python.impl.psi.impl.PyClassImpl;
 import com.jetbrains.python.impl.psi.impl.PyResolveResultRater;
 import com.jetbrains.python.impl.psi.impl.ResolveResultList;
 import com.jetbrains.python.impl.psi.resolve.CompletionVariantsProcessor;
@@ -407,11 +407,11 @@ public class PyClassTypeImpl extends UserDataHolderBase implements PyClassType
 				{
 					return 0;
 				}
-				else if(t2 == null || t1 != null && Sets.newHashSet(t1.getAncestorTypes(context)).contains(t2))
+				else if(t2 == null || t1 != null && isAncestor(t2, t1, context))
 				{
 					return 1;
 				}
-				else if(t1 == null || Sets.newHashSet(t2.getAncestorTypes(context)).contains(t1))
+				else if(t1 == null || isAncestor(t1, t2, context))
 				{
 					return -1;
 				}
@@ -427,6 +427,18 @@ public class PyClassTypeImpl extends UserDataHolderBase implements PyClassType
 		}
 	}
 
+	/**
+	 * Checks ancestry through the per-context ancestor set of {@link PyClassImpl} when possible instead of copying ancestors every time.
+	 */
+	private static boolean isAncestor(PyClassLikeType ancestor, PyClassLikeType type, TypeEvalContext context)
+	{
+		if(type instanceof PyClassType && ((PyClassType) type).getPyClass() instanceof PyClassImpl)
+		{
+			return ((PyClassImpl) ((PyClassType) type).getPyClass()).getAncestorTypeSet(context).contains(ancestor);
+		}
+		return type.getAncestorTypes(context).contains(ancestor);
+	}
+
 	private static final class NotDerivedClassTypeException extends RuntimeException
 	{
 	}
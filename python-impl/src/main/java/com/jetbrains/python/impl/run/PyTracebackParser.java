@@ -33,7 +33,7 @@ public class PyTracebackParser extends TraceBackParserAdapter
 	public PyTracebackParser()
 	{
 		// File name can't start with number, can't be more then 200 chars long (its insane) and line number is also limited to int maxvalue
-		super(Pattern.compile("File \"([^0-9][^\"]{0,200})\", line (\\d{1,8})"));
+		super(Pattern.compile("File \"([^0-9][^\"]{0,200})\", line (\\d{1,8})"), "File \"");
 	}
 
 	@Override
@@ -32,6 +32,10 @@ public final class PyTestTracebackParser implements TraceBackParser
 	@Override
 	public LinkInTrace findLinkInTrace(String line)
 	{
+		if(!mayContainLink(line))
+		{
+			return null;
+		}
 		PyFilesStateMachine quoteMachine = new PyFilesStateMachine(true);
 		PyFilesStateMachine spaceMachine = new PyFilesStateMachine(false);
 
@@ -63,6 +67,22 @@ public final class PyTestTracebackParser implements TraceBackParser
 		return null;
 	}
 
+	/**
+	 * Machines report file only when it is followed by colon and line number
+	 */
+	@Override
+	public boolean mayContainLink(String line)
+	{
+		for(int i = line.indexOf(':'); i >= 0 && i < line.length() - 1; i = line.indexOf(':', i + 1))
+		{
+			if(Character.isDigit(line.charAt(i + 1)))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private static LinkInTrace createLinkInTrace(PyFilesStateMachine machine)
 	{
 		Pair<String, String> fileAndLine = machine.getFileAndLine();
@@ -35,6 +35,18 @@ public interface TraceBackParser
 	@Nullable
 	LinkInTrace findLinkInTrace(String line);
 
+	/**
+	 * Cheap check done before the search: parsers that look for something specific in line (like {@code File "})
+	 * should tell if it is there without running regexps.
+	 *
+	 * @param line line to search link in
+	 * @return false if {@link #findLinkInTrace(String)} can't find link in this line for sure
+	 */
+	default boolean mayContainLink(String line)
+	{
+		return true;
+	}
+
 	// TODO: use EP instead?
 	@SuppressWarnings("PublicStaticArrayField")
 	// Noone will change it, anyway.
@@ -32,13 +32,31 @@ public abstract class TraceBackParserAdapter implements TraceBackParser
 	 */
 	private static final int MAX_LINE_TO_PARSE = 5000;
 	private final Pattern myPattern;
+	@Nullable
+	private final String myMarker;
 
 	/**
 	 * @param pattern pattern to be used to match line.
 	 */
 	protected TraceBackParserAdapter(Pattern pattern)
+	{
+		this(pattern, null);
+	}
+
+	/**
+	 * @param pattern pattern to be used to match line.
+	 * @param marker  literal text every match of pattern contains: lines without it are not matched against pattern at all
+	 */
+	protected TraceBackParserAdapter(Pattern pattern, @Nullable String marker)
 	{
 		myPattern = pattern;
+		myMarker = marker;
+	}
+
+	@Override
+	public boolean mayContainLink(String line)
+	{
+		return myMarker == null || line.contains(myMarker);
 	}
 
 
@@ -52,6 +70,10 @@ public abstract class TraceBackParserAdapter implements TraceBackParser
 			//noinspection AssignmentToMethodParameter
 			line = line.substring(0, MAX_LINE_TO_PARSE);
 		}
+		if(!mayContainLink(line))
+		{
+			return null;
+		}
 		Matcher matcher = myPattern.matcher(line);
 		if(!matcher.find())
 		{
@@ -141,6 +141,7 @@ open module consulo.python.impl {
   exports com.jetbrains.python.impl.packaging.ui;
   exports com.jetbrains.python.impl.parsing;
   exports com.jetbrains.python.impl.patterns;
+  exports com.jetbrains.python.impl.profiler;
   exports com.jetbrains.python.impl.projectView;
   exports com.jetbrains.python.impl.psi;
   exports com.jetbrains.python.impl.psi.impl;
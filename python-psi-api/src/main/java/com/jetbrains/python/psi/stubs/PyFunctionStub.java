@@ -16,15 +16,34 @@
 package com.jetbrains.python.psi.stubs;
 
 import consulo.language.psi.stub.NamedStub;
+import org.jspecify.annotations.Nullable;
 import com.jetbrains.python.psi.PyFunction;
 
 public interface PyFunctionStub extends NamedStub<PyFunction>
 {
 	String getDocString();
 
+	/**
+	 * @return true if the docstring is too long to be kept in the stub completely
+	 * and {@link #getDocString()} returns only its leading part
+	 */
+	boolean isDocStringTruncated();
+
+	/**
+	 * @return {@link String#hashCode()} of the whole docstring when it is truncated, the key of the docstring index
+	 * the full text is read from
+	 */
+	int getFullDocStringHash();
+
 	String getDeprecationMessage();
 
 	String getTypeComment();
 
 	boolean isAsync();
+
+	/**
+	 * @return syntactic summary of the function return values or null if it cannot be summarized
+	 */
+	@Nullable
+	PyReturnTypeSummary getReturnTypeSummary();
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jetbrains.python.psi.stubs;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Syntactic summary of the values returned by a function, stored in {@link PyFunctionStub}.
+ * It lets the return type of a function from another file be approximated without loading its AST.
+ * <p>
+ * Functions whose body is only a placeholder, e.g. {@code pass} or {@code ...} in an abstract method, get no summary,
+ * so their return type stays unknown.
+ */
+public final class PyReturnTypeSummary
+{
+	public enum Kind
+	{
+		NONE,
+		SELF,
+		BOOL,
+		INT,
+		FLOAT,
+		COMPLEX,
+		BYTES,
+		UNICODE,
+		LIST,
+		DICT,
+		SET,
+		TUPLE
+	}
+
+	private final List<Kind> myReturns;
+	private final boolean myEndReachable;
+
+	public PyReturnTypeSummary(List<Kind> returns, boolean endReachable)
+	{
+		myReturns = Collections.unmodifiableList(returns);
+		myEndReachable = endReachable;
+	}
+
+	/**
+	 * @return kinds of the values of the return statements
+	 */
+	public List<Kind> getReturns()
+	{
+		return myReturns;
+	}
+
+	public boolean hasReturnStatements()
+	{
+		return !myReturns.isEmpty();
+	}
+
+	/**
+	 * @return true if the execution may fall off the end of the function body, which returns {@code None} implicitly
+	 */
+	public boolean isEndReachable()
+	{
+		return myEndReachable;
+	}
+}
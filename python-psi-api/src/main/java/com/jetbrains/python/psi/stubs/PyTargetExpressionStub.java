@@ -74,6 +74,18 @@ public interface PyTargetExpressionStub extends NamedStub<PyTargetExpression>
 	@Nullable
 	String getDocString();
 
+	/**
+	 * @return true if the docstring is too long to be kept in the stub completely
+	 * and {@link #getDocString()} returns only its leading part
+	 */
+	boolean isDocStringTruncated();
+
+	/**
+	 * @return {@link String#hashCode()} of the whole docstring when it is truncated, the key of the docstring index
+	 * the full text is read from
+	 */
+	int getFullDocStringHash();
+
 	@Nullable
 	String getTypeComment();
 }